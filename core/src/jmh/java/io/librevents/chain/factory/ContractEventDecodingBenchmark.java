@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.factory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.librevents.chain.converter.EventParameterConverter;
+import io.librevents.chain.converter.Web3jEventParameterConverter;
+import io.librevents.dto.event.filter.ContractEventSpecification;
+import io.librevents.dto.event.filter.ParameterDefinition;
+import io.librevents.dto.event.filter.ParameterType;
+import io.librevents.settings.LibreventsSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.web3j.abi.datatypes.Type;
+
+/**
+ * Compares decoding common static event parameters straight from their ABI words with decoding
+ * them into web3j types first.
+ *
+ * <p>Run with {@code ./gradlew :core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContractEventDecodingBenchmark {
+
+    // Transfer(address indexed from, address indexed to, uint256 value)
+    private static final List<String> TRANSFER_TOPICS =
+            List.of(
+                    "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef",
+                    "0x0000000000000000000000002250683dbe4e0b90395c3c5d7def87784a2b916c",
+                    "0x0000000000000000000000007a55a28856d43bba3c6a7e36f2cee9a82923e99b");
+
+    private static final String TRANSFER_DATA =
+            "0x00000000000000000000000000000000000000000000000000000000000f4240";
+
+    // Swap(address indexed sender, uint256, uint256, uint256, uint256, address indexed to)
+    private static final List<String> SWAP_TOPICS =
+            List.of(
+                    "0xd78ad95fa46c994b6551d0da85fc275fe613ce37657fb8d5e3d130840159d822",
+                    "0x0000000000000000000000002250683dbe4e0b90395c3c5d7def87784a2b916c",
+                    "0x0000000000000000000000007a55a28856d43bba3c6a7e36f2cee9a82923e99b");
+
+    private static final String SWAP_DATA =
+            "0x"
+                    + "0000000000000000000000000000000000000000000000000de0b6b3a7640000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000"
+                    + "00000000000000000000000000000000000000000000000000000000b2d05e00";
+
+    private ContractEventDecodingPlan wordTransferPlan;
+    private ContractEventDecodingPlan web3jTransferPlan;
+    private ContractEventDecodingPlan wordSwapPlan;
+    private ContractEventDecodingPlan web3jSwapPlan;
+
+    @Setup
+    public void setup() {
+        final Web3jEventParameterConverter converter =
+                new Web3jEventParameterConverter(
+                        new LibreventsSettings(false, "10000", 4, 1000, 10));
+        // Hides the word converters, so that every value is decoded into a web3j type first
+        final EventParameterConverter<Type> web3jConverter = converter::convert;
+
+        final ContractEventSpecification transfer =
+                createSpec("Transfer", List.of("ADDRESS", "ADDRESS"), List.of("UINT256"));
+        final ContractEventSpecification swap =
+                createSpec(
+                        "Swap",
+                        List.of("ADDRESS", "ADDRESS"),
+                        List.of("UINT256", "UINT256", "UINT256", "UINT256"));
+
+        wordTransferPlan = new ContractEventDecodingPlan(transfer, converter);
+        web3jTransferPlan = new ContractEventDecodingPlan(transfer, web3jConverter);
+        wordSwapPlan = new ContractEventDecodingPlan(swap, converter);
+        web3jSwapPlan = new ContractEventDecodingPlan(swap, web3jConverter);
+    }
+
+    @Benchmark
+    public void transferFromWords(Blackhole blackhole) {
+        decode(wordTransferPlan, TRANSFER_TOPICS, TRANSFER_DATA, blackhole);
+    }
+
+    @Benchmark
+    public void transferFromWeb3jTypes(Blackhole blackhole) {
+        decode(web3jTransferPlan, TRANSFER_TOPICS, TRANSFER_DATA, blackhole);
+    }
+
+    @Benchmark
+    public void swapFromWords(Blackhole blackhole) {
+        decode(wordSwapPlan, SWAP_TOPICS, SWAP_DATA, blackhole);
+    }
+
+    @Benchmark
+    public void swapFromWeb3jTypes(Blackhole blackhole) {
+        decode(web3jSwapPlan, SWAP_TOPICS, SWAP_DATA, blackhole);
+    }
+
+    private static void decode(
+            ContractEventDecodingPlan plan, List<String> topics, String data, Blackhole blackhole) {
+        blackhole.consume(plan.decodeIndexedParameters(topics));
+        blackhole.consume(plan.decodeNonIndexedParameters(data));
+    }
+
+    private static ContractEventSpecification createSpec(
+            String name, List<String> indexedTypes, List<String> nonIndexedTypes) {
+        final ContractEventSpecification spec = new ContractEventSpecification();
+        spec.setEventName(name);
+        spec.setIndexedParameterDefinitions(createDefinitions(indexedTypes, 0));
+        spec.setNonIndexedParameterDefinitions(
+                createDefinitions(nonIndexedTypes, indexedTypes.size()));
+
+        return spec;
+    }
+
+    private static List<ParameterDefinition> createDefinitions(List<String> types, int position) {
+        return IntStream.range(0, types.size())
+                .mapToObj(
+                        i ->
+                                new ParameterDefinition(
+                                        position + i, ParameterType.build(types.get(i))))
+                .toList();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.librevents.chain.service.domain.wrapper;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.librevents.chain.factory.DefaultTransactionDetailsFactory;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.Transaction;
+import io.librevents.dto.transaction.TransactionDetails;
+import io.librevents.dto.transaction.TransactionStatus;
+import io.librevents.utils.ModelMapperFactory;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.utils.Numeric;
+
+/**
+ * Compares converting a web3j block, and the details of its transactions, with the explicit
+ * mappings against the reflective ModelMapper mappings they replace.
+ *
+ * <p>Run with {@code ./gradlew :core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockMappingBenchmark {
+
+    private static final int TRANSACTIONS_PER_BLOCK = 150;
+
+    private static final int DISTINCT_ADDRESSES = 20;
+
+    private static final String NODE_NAME = "default";
+
+    private final ModelMapper modelMapper = ModelMapperFactory.getModelMapper();
+
+    private final DefaultTransactionDetailsFactory transactionDetailsFactory =
+            new DefaultTransactionDetailsFactory();
+
+    private EthBlock.Block ethBlock;
+
+    private Block block;
+
+    @Setup
+    public void setup() {
+        ethBlock = new EthBlock.Block();
+        ethBlock.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(19_000_000)));
+        ethBlock.setHash(hash(0));
+        ethBlock.setParentHash(hash(1));
+        ethBlock.setNonce("0x0000000000000000");
+        ethBlock.setMiner(address(0));
+        ethBlock.setDifficulty("0x0");
+        ethBlock.setTotalDifficulty("0xc70d815d562d3cfa955");
+        ethBlock.setSize("0x1d2c7");
+        ethBlock.setGasLimit("0x1c9c380");
+        ethBlock.setGasUsed("0xe4e1c0");
+        ethBlock.setTimestamp("0x65a4d3b7");
+        ethBlock.setUncles(List.of());
+        ethBlock.setSealFields(List.of());
+        ethBlock.setTransactions(
+                IntStream.range(0, TRANSACTIONS_PER_BLOCK)
+                        .mapToObj(this::createTransaction)
+                        .map(EthBlock.TransactionResult.class::cast)
+                        .toList());
+
+        block = new Web3jBlock(ethBlock, NODE_NAME);
+    }
+
+    @Benchmark
+    public void explicitBlock(Blackhole blackhole) {
+        blackhole.consume(new Web3jBlock(ethBlock, NODE_NAME));
+    }
+
+    @Benchmark
+    public void modelMapperBlock(Blackhole blackhole) {
+        final Web3jBlock mapped = modelMapper.map(ethBlock, Web3jBlock.class);
+
+        mapped.setTransactions(
+                ethBlock.getTransactions().stream()
+                        .map(tx -> (Transaction) modelMapper.map(tx.get(), Web3jTransaction.class))
+                        .toList());
+        mapped.setNodeName(NODE_NAME);
+
+        blackhole.consume(mapped);
+    }
+
+    @Benchmark
+    public void explicitTransactionDetails(Blackhole blackhole) {
+        for (Transaction transaction : block.getTransactions()) {
+            blackhole.consume(
+                    transactionDetailsFactory.createTransactionDetails(
+                            transaction, TransactionStatus.CONFIRMED, block));
+        }
+    }
+
+    @Benchmark
+    public void modelMapperTransactionDetails(Blackhole blackhole) {
+        for (Transaction transaction : block.getTransactions()) {
+            blackhole.consume(modelMapper.map(transaction, TransactionDetails.class));
+        }
+    }
+
+    private EthBlock.TransactionObject createTransaction(int index) {
+        final EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+        transaction.setHash(hash(index + 2));
+        transaction.setNonce(Numeric.encodeQuantity(BigInteger.valueOf(index)));
+        transaction.setBlockHash(ethBlock.getHash());
+        transaction.setBlockNumber(ethBlock.getNumberRaw());
+        transaction.setTransactionIndex(Numeric.encodeQuantity(BigInteger.valueOf(index)));
+        transaction.setFrom(address(index % DISTINCT_ADDRESSES));
+        transaction.setTo(address((index + 1) % DISTINCT_ADDRESSES));
+        transaction.setValue("0xde0b6b3a7640000");
+        transaction.setGasPrice("0x4a817c800");
+        transaction.setGas("0x5208");
+        transaction.setInput("0x");
+        transaction.setR(hash(index));
+        transaction.setS(hash(index + 1));
+        transaction.setV(27);
+
+        return transaction;
+    }
+
+    private static String hash(int seed) {
+        return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(seed), 64);
+    }
+
+    private static String address(int seed) {
+        return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(seed + 1), 40);
+    }
+}
@@ -29,7 +29,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @AllArgsConstructor
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class BroadcastingBlockListener implements BlockListener {
 
     private BlockchainEventBroadcaster eventBroadcaster;
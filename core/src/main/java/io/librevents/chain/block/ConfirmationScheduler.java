@@ -0,0 +1,344 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.librevents.chain.service.BlockchainService;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.BlockReorg;
+import io.librevents.chain.service.domain.TransactionReceipt;
+import io.librevents.chain.settings.Node;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.dto.event.ContractEventDetails;
+import io.librevents.dto.event.ContractEventStatus;
+import io.librevents.dto.transaction.TransactionDetails;
+import io.librevents.dto.transaction.TransactionStatus;
+import io.librevents.integration.broadcast.blockchain.BlockchainEventBroadcaster;
+import io.librevents.monitoring.LibreventsValueMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.web3j.utils.Numeric;
+
+/**
+ * Confirms the unconfirmed events and transactions of every node with a single block listener.
+ *
+ * <p>Pending confirmations are indexed by the block in which they reach the configured number of
+ * confirmations, and grouped by the hash of the block they were mined in. They are only checked
+ * once, when their target block arrives, and a single receipt lookup tells whether the block of
+ * the whole group is still canonical.
+ *
+ * <p>Items whose block is found to be orphaned, either by the receipt check or by a detected
+ * reorg, are only invalidated if their block is still not canonical after waiting the configured
+ * number of blocks before invalidating.
+ */
+@Slf4j
+@Component
+public class ConfirmationScheduler implements ReorgListener {
+
+    private final Map<String, NodeConfirmations> nodeConfirmations = new ConcurrentHashMap<>();
+    private final ChainServicesContainer chainServicesContainer;
+    private final BlockchainEventBroadcaster eventBroadcaster;
+    private final NodeSettings nodeSettings;
+    private final LibreventsValueMonitor valueMonitor;
+
+    public ConfirmationScheduler(
+            ChainServicesContainer chainServicesContainer,
+            BlockchainEventBroadcaster eventBroadcaster,
+            NodeSettings nodeSettings,
+            LibreventsValueMonitor valueMonitor) {
+        this.chainServicesContainer = chainServicesContainer;
+        this.eventBroadcaster = eventBroadcaster;
+        this.nodeSettings = nodeSettings;
+        this.valueMonitor = valueMonitor;
+    }
+
+    /**
+     * Broadcasts the event as CONFIRMED once its block has enough confirmations, or as INVALIDATED
+     * if its block is no longer part of the canonical chain by then.
+     *
+     * @param eventDetails The unconfirmed event
+     */
+    public void scheduleEventConfirmation(ContractEventDetails eventDetails) {
+        schedule(
+                eventDetails.getNodeName(),
+                eventDetails.getBlockNumber(),
+                eventDetails.getBlockHash(),
+                new PendingConfirmation(
+                        eventDetails.getTransactionHash(),
+                        () -> broadcastEvent(eventDetails, ContractEventStatus.CONFIRMED),
+                        () -> broadcastEvent(eventDetails, ContractEventStatus.INVALIDATED)));
+    }
+
+    /**
+     * Broadcasts the transaction as CONFIRMED once its block has enough confirmations, or as
+     * INVALIDATED if its block is no longer part of the canonical chain by then.
+     *
+     * @param txDetails The unconfirmed transaction
+     * @param statusesToFilter The statuses that should be broadcast
+     * @param onConfirmed Invoked once the transaction has been confirmed
+     */
+    public void scheduleTransactionConfirmation(
+            TransactionDetails txDetails,
+            List<TransactionStatus> statusesToFilter,
+            Runnable onConfirmed) {
+        schedule(
+                txDetails.getNodeName(),
+                Numeric.toBigInt(txDetails.getBlockNumber()),
+                txDetails.getBlockHash(),
+                new PendingConfirmation(
+                        txDetails.getHash(),
+                        () -> {
+                            broadcastTransaction(
+                                    txDetails, TransactionStatus.CONFIRMED, statusesToFilter);
+                            onConfirmed.run();
+                        },
+                        () ->
+                                broadcastTransaction(
+                                        txDetails,
+                                        TransactionStatus.INVALIDATED,
+                                        statusesToFilter)));
+    }
+
+    @Override
+    public void onBlock(Block block) {
+        final NodeConfirmations node = nodeConfirmations.get(block.getNodeName());
+
+        if (node == null) {
+            return;
+        }
+
+        node.pollDue(block.getNumber()).forEach(group -> checkConfirmations(block, group));
+    }
+
+    @Override
+    public void onReorg(BlockReorg reorg) {
+        final NodeConfirmations node = nodeConfirmations.get(reorg.getNodeName());
+
+        if (node == null) {
+            return;
+        }
+
+        node.pollOrphaned(reorg.getOrphanedBlockHashes())
+                .forEach(group -> invalidateOrDelay(reorg.getForkBlockNumber(), group));
+    }
+
+    private void schedule(
+            String nodeName,
+            BigInteger blockNumber,
+            String blockHash,
+            PendingConfirmation confirmation) {
+        final Node node = nodeSettings.getNode(nodeName);
+        final BigInteger targetBlock = blockNumber.add(node.getBlocksToWaitForConfirmation());
+
+        getNodeConfirmations(nodeName).add(targetBlock, blockHash, confirmation);
+    }
+
+    private void checkConfirmations(Block block, BlockConfirmations group) {
+        final BigInteger currentBlock = block.getNumber();
+        final TransactionReceipt receipt;
+
+        try {
+            // Every pending item of the group was mined in the same block, so one receipt is
+            // enough to know whether that block is still canonical
+            receipt =
+                    getBlockchainService(group.nodeName)
+                            .getTransactionReceipt(
+                                    group.confirmations.getFirst().transactionHash());
+        } catch (Exception e) {
+            log.error("Unable to check the confirmations of block {}", group.blockHash, e);
+            getNodeConfirmations(group.nodeName)
+                    .reschedule(currentBlock.add(BigInteger.ONE), group);
+            return;
+        }
+
+        if (receipt == null && !group.missingTxRetried) {
+            // The node may not know the transaction momentarily, give it a chance to reappear
+            final Node node = nodeSettings.getNode(group.nodeName);
+
+            group.missingTxRetried = true;
+            getNodeConfirmations(group.nodeName)
+                    .reschedule(currentBlock.add(node.getBlocksToWaitForMissingTx()), group);
+            return;
+        }
+
+        if (receipt != null && group.blockHash.equalsIgnoreCase(receipt.getBlockHash())) {
+            log.debug(
+                    "Block {} confirmed on node {}, confirming {} items",
+                    group.blockHash,
+                    group.nodeName,
+                    group.confirmations.size());
+            group.confirmations.forEach(confirmation -> confirmation.onConfirmed().run());
+        } else {
+            invalidateOrDelay(currentBlock, group);
+        }
+    }
+
+    private void invalidateOrDelay(BigInteger currentBlock, BlockConfirmations group) {
+        final Node node = nodeSettings.getNode(group.nodeName);
+        final BigInteger blocksToWait = node.getBlocksToWaitBeforeInvalidating();
+
+        if (group.invalidationDelayed || blocksToWait.signum() <= 0) {
+            invalidate(group);
+            return;
+        }
+
+        // The block may become canonical again, check it once more after the configured wait,
+        // and never before the items would have had enough confirmations
+        group.invalidationDelayed = true;
+        getNodeConfirmations(group.nodeName)
+                .reschedule(currentBlock.add(blocksToWait).max(group.confirmationBlock), group);
+    }
+
+    private void invalidate(BlockConfirmations group) {
+        log.info(
+                "Block {} orphaned on node {}, invalidating {} items",
+                group.blockHash,
+                group.nodeName,
+                group.confirmations.size());
+        group.confirmations.forEach(confirmation -> confirmation.onInvalidated().run());
+    }
+
+    private void broadcastEvent(ContractEventDetails eventDetails, ContractEventStatus status) {
+        eventDetails.setStatus(status);
+        eventBroadcaster.broadcastContractEvent(eventDetails);
+    }
+
+    private void broadcastTransaction(
+            TransactionDetails txDetails,
+            TransactionStatus status,
+            List<TransactionStatus> statusesToFilter) {
+        txDetails.setStatus(status);
+
+        if (statusesToFilter.contains(status)) {
+            eventBroadcaster.broadcastTransaction(txDetails);
+        }
+    }
+
+    private BlockchainService getBlockchainService(String nodeName) {
+        return chainServicesContainer.getNodeServices(nodeName).getBlockchainService();
+    }
+
+    private NodeConfirmations getNodeConfirmations(String nodeName) {
+        return nodeConfirmations.computeIfAbsent(
+                nodeName,
+                name ->
+                        new NodeConfirmations(
+                                name,
+                                valueMonitor.monitor(
+                                        "pendingConfirmations", name, new AtomicLong(0))));
+    }
+
+    private record PendingConfirmation(
+            String transactionHash, Runnable onConfirmed, Runnable onInvalidated) {}
+
+    private static class BlockConfirmations {
+
+        private final String nodeName;
+        private final String blockHash;
+        // The block in which the items of the group reach the configured confirmations
+        private final BigInteger confirmationBlock;
+        private final List<PendingConfirmation> confirmations = new ArrayList<>();
+        private boolean missingTxRetried;
+        private boolean invalidationDelayed;
+
+        private BlockConfirmations(
+                String nodeName, String blockHash, BigInteger confirmationBlock) {
+            this.nodeName = nodeName;
+            this.blockHash = blockHash;
+            this.confirmationBlock = confirmationBlock;
+        }
+    }
+
+    private static class NodeConfirmations {
+
+        private final String nodeName;
+        // Keyed by target block, then by the hash of the block the items were mined in
+        private final NavigableMap<BigInteger, Map<String, BlockConfirmations>> pending =
+                new TreeMap<>();
+        private final AtomicLong pendingCount;
+
+        private NodeConfirmations(String nodeName, AtomicLong pendingCount) {
+            this.nodeName = nodeName;
+            this.pendingCount = pendingCount;
+        }
+
+        private synchronized void add(
+                BigInteger targetBlock, String blockHash, PendingConfirmation confirmation) {
+            pending.computeIfAbsent(targetBlock, target -> new LinkedHashMap<>())
+                    .computeIfAbsent(
+                            blockHash.toLowerCase(),
+                            hash -> new BlockConfirmations(nodeName, blockHash, targetBlock))
+                    .confirmations
+                    .add(confirmation);
+            pendingCount.incrementAndGet();
+        }
+
+        private synchronized void reschedule(BigInteger targetBlock, BlockConfirmations group) {
+            final Map<String, BlockConfirmations> groups =
+                    pending.computeIfAbsent(targetBlock, target -> new LinkedHashMap<>());
+            final BlockConfirmations existing =
+                    groups.putIfAbsent(group.blockHash.toLowerCase(), group);
+
+            if (existing != null) {
+                existing.confirmations.addAll(group.confirmations);
+                existing.missingTxRetried |= group.missingTxRetried;
+                existing.invalidationDelayed |= group.invalidationDelayed;
+            }
+            pendingCount.addAndGet(group.confirmations.size());
+        }
+
+        private synchronized List<BlockConfirmations> pollDue(BigInteger blockNumber) {
+            final Map<BigInteger, Map<String, BlockConfirmations>> due =
+                    pending.headMap(blockNumber, true);
+            final List<BlockConfirmations> groups = new ArrayList<>();
+
+            due.values().forEach(byHash -> groups.addAll(byHash.values()));
+            due.clear();
+
+            groups.forEach(group -> pendingCount.addAndGet(-group.confirmations.size()));
+
+            return groups;
+        }
+
+        private synchronized List<BlockConfirmations> pollOrphaned(Collection<String> blockHashes) {
+            final List<BlockConfirmations> groups = new ArrayList<>();
+
+            pending.values()
+                    .forEach(
+                            byHash ->
+                                    blockHashes.stream()
+                                            .map(hash -> byHash.remove(hash.toLowerCase()))
+                                            .filter(Objects::nonNull)
+                                            .forEach(groups::add));
+            pending.values().removeIf(Map::isEmpty);
+
+            groups.forEach(group -> pendingCount.addAndGet(-group.confirmations.size()));
+
+            return groups;
+        }
+    }
+}
@@ -24,10 +24,10 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 @Component
 @Slf4j
-public class EventProcessingBlockListener implements BlockListener {
+public class EventProcessingBlockListener implements PreparingBlockListener {
 
     @Lazy private SubscriptionService subscriptionService;
 
@@ -41,6 +41,12 @@ public class EventProcessingBlockListener implements BlockListener {
         this.contractEventProcessor = contractEventProcessor;
     }
 
+    @Override
+    public void prepareBlock(Block block) {
+        contractEventProcessor.prepareLogsInBlock(
+                block, subscriptionService.listContractEventFilters());
+    }
+
     @Override
     public void onBlock(Block block) {
         contractEventProcessor.processLogsInBlock(
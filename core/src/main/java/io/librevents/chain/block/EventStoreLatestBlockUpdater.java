@@ -15,14 +15,21 @@
 package io.librevents.chain.block;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import io.librevents.chain.factory.BlockDetailsFactory;
 import io.librevents.chain.service.container.ChainServicesContainer;
 import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.strategy.AbstractBlockSubscriptionStrategy;
 import io.librevents.integration.eventstore.SaveableEventStore;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlock;
+import io.librevents.model.RecentBlockEntry;
 import io.librevents.monitoring.LibreventsValueMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
@@ -33,6 +40,9 @@ import org.springframework.core.annotation.Order;
  *
  * <p>Only gets registered if a SaveableEventStore exists in the context.
  *
+ * <p>The recent blocks of the node are saved alongside, writing only the blocks that were not
+ * saved yet: the new block, plus its new ancestors after a reorg.
+ *
  * @author Craig Williams craig.williams@consensys.net
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
@@ -41,7 +51,9 @@ public class EventStoreLatestBlockUpdater implements BlockListener {
     private SaveableEventStore saveableEventStore;
 
     private BlockDetailsFactory blockDetailsFactory;
+    private ChainServicesContainer chainServicesContainer;
     private Map<String, AtomicLong> latestBlockMap;
+    private Map<String, Set<String>> savedRecentBlockHashes = new ConcurrentHashMap<>();
 
     @Autowired
     public EventStoreLatestBlockUpdater(
@@ -52,6 +64,7 @@ public class EventStoreLatestBlockUpdater implements BlockListener {
         this.saveableEventStore = saveableEventStore;
         this.latestBlockMap = new HashMap<>();
         this.blockDetailsFactory = blockDetailsFactory;
+        this.chainServicesContainer = chainServicesContainer;
 
         chainServicesContainer
                 .getNodeNames()
@@ -65,7 +78,41 @@ public class EventStoreLatestBlockUpdater implements BlockListener {
 
     @Override
     public void onBlock(Block block) {
-        saveableEventStore.save(new LatestBlock(blockDetailsFactory.createBlockDetails(block)));
+        final LatestBlock latestBlock =
+                new LatestBlock(blockDetailsFactory.createBlockDetails(block));
+
+        saveableEventStore.save(latestBlock);
+        saveRecentBlocks(block.getNodeName());
         latestBlockMap.get(block.getNodeName()).set(block.getNumber().longValue());
     }
+
+    private void saveRecentBlocks(String nodeName) {
+        final List<RecentBlock> recentBlocks =
+                chainServicesContainer
+                        .getNodeServices(nodeName)
+                        .getBlockSubscriptionStrategy()
+                        .getRecentBlocks();
+        final Set<String> savedHashes =
+                savedRecentBlockHashes.getOrDefault(nodeName, Set.of());
+
+        final List<RecentBlockEntry> newEntries =
+                recentBlocks.stream()
+                        .filter(recentBlock -> !savedHashes.contains(recentBlock.getHash()))
+                        .map(
+                                recentBlock ->
+                                        new RecentBlockEntry(
+                                                nodeName,
+                                                recentBlock,
+                                                AbstractBlockSubscriptionStrategy
+                                                        .RECENT_BLOCKS_TO_KEEP))
+                        .toList();
+
+        if (!newEntries.isEmpty()) {
+            saveableEventStore.saveRecentBlocks(newEntries);
+        }
+
+        savedRecentBlockHashes.put(
+                nodeName,
+                recentBlocks.stream().map(RecentBlock::getHash).collect(Collectors.toSet()));
+    }
 }
@@ -26,7 +26,7 @@ import org.springframework.stereotype.Component;
  *
  * @author Craig Williams craig.williams@consensys.net
  */
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 @Component
 public class LoggingBlockListener implements BlockListener {
 
@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import io.librevents.chain.service.domain.Block;
+
+/**
+ * A block listener that can do the expensive part of its work ahead of time, on a stage of the
+ * block subscription of its own, while the blocks before it are still being passed to the
+ * listeners.
+ */
+public interface PreparingBlockListener extends BlockListener {
+
+    /**
+     * Called in order for every block, before the block is passed to {@link #onBlock(Block)} but
+     * possibly before the previous blocks have been.
+     *
+     * @param block The new block
+     */
+    void prepareBlock(Block block);
+}
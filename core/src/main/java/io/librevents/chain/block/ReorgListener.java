@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import io.librevents.chain.service.domain.BlockReorg;
+
+/**
+ * A block listener that is also notified of the reorgs detected by the block subscription, so
+ * that it can discard everything it knows about the orphaned blocks at once.
+ */
+public interface ReorgListener extends BlockListener {
+
+    /**
+     * Called once per reorg, before the block that revealed it is passed to the listeners.
+     *
+     * @param reorg The reorg, with the hashes of the orphaned blocks
+     */
+    void onReorg(BlockReorg reorg);
+}
@@ -15,6 +15,7 @@
 package io.librevents.chain.block.tx;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -24,18 +25,19 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.librevents.chain.block.ConfirmationScheduler;
 import io.librevents.chain.block.tx.criteria.TransactionMatchingCriteria;
 import io.librevents.chain.factory.TransactionDetailsFactory;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.block.BlockCache;
 import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
 import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.Transaction;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.chain.service.domain.io.ContractResultResponse;
 import io.librevents.chain.service.domain.io.StateChangeResponse;
 import io.librevents.chain.service.domain.wrapper.HederaBlock;
-import io.librevents.chain.service.strategy.BlockSubscriptionStrategy;
 import io.librevents.chain.settings.Node;
 import io.librevents.chain.settings.NodeSettings;
 import io.librevents.dto.transaction.TransactionDetails;
@@ -65,12 +67,18 @@ public class DefaultTransactionMonitoringBlockListener
 
     private NodeSettings nodeSettings;
 
+    private ConfirmationScheduler confirmationScheduler;
+
+    // Matches found while processing a block, handled once the whole block has been matched
+    private List<MatchedTransaction> blockMatches;
+
     public DefaultTransactionMonitoringBlockListener(
             ChainServicesContainer chainServicesContainer,
             BlockchainEventBroadcaster broadcaster,
             TransactionDetailsFactory transactionDetailsFactory,
             BlockCache blockCache,
-            NodeSettings nodeSettings) {
+            NodeSettings nodeSettings,
+            ConfirmationScheduler confirmationScheduler) {
         this.criteria = new ConcurrentHashMap<>();
 
         this.chainServicesContainer = chainServicesContainer;
@@ -79,6 +87,7 @@ public class DefaultTransactionMonitoringBlockListener
         this.transactionDetailsFactory = transactionDetailsFactory;
         this.blockCache = blockCache;
         this.nodeSettings = nodeSettings;
+        this.confirmationScheduler = confirmationScheduler;
     }
 
     @Override
@@ -105,6 +114,7 @@ public class DefaultTransactionMonitoringBlockListener
             }
 
             criteria.get(nodeName).add(matchingCriteria);
+            setFullTransactionObjects(nodeName, true);
 
             // Check if any cached blocks match
             // Note, this makes sense for tx hash but maybe doesn't for some other matchers?
@@ -127,20 +137,71 @@ public class DefaultTransactionMonitoringBlockListener
 
     @Override
     public void removeMatchingCriteria(TransactionMatchingCriteria matchingCriteria) {
-        criteria.get(matchingCriteria.getNodeName()).remove(matchingCriteria);
+
+        lock.lock();
+
+        try {
+            final List<TransactionMatchingCriteria> nodeCriteria =
+                    criteria.get(matchingCriteria.getNodeName());
+
+            nodeCriteria.remove(matchingCriteria);
+
+            // Under the lock, so that a concurrent add can not be switched back to headers only
+            if (nodeCriteria.isEmpty()) {
+                setFullTransactionObjects(matchingCriteria.getNodeName(), false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks are only requested with their transaction objects while the node has transactions to
+     * monitor, otherwise their headers are enough.
+     */
+    private void setFullTransactionObjects(String nodeName, boolean fullTransactionObjects) {
+        final NodeServices nodeServices = chainServicesContainer.getNodeServices(nodeName);
+
+        if (nodeServices != null && nodeServices.getBlockSubscriptionStrategy() != null) {
+            nodeServices
+                    .getBlockSubscriptionStrategy()
+                    .setFullTransactionObjects(fullTransactionObjects);
+        }
     }
 
     private void processBlock(Block block) {
-        block.getTransactions().forEach(tx -> broadcastIfMatched(tx, block));
+        final List<TransactionMatchingCriteria> nodeCriteria = criteria.get(block.getNodeName());
+
+        // Reading the transactions of a header only block loads them from the node
+        if (nodeCriteria == null || nodeCriteria.isEmpty()) {
+            return;
+        }
+
+        final List<MatchedTransaction> matches = new ArrayList<>();
+        blockMatches = matches;
+
+        try {
+            block.getTransactions().forEach(tx -> broadcastIfMatched(tx, block));
+        } finally {
+            blockMatches = null;
+        }
+
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        // Every match needs the receipt of its transaction
+        getBlockchainService(block.getNodeName())
+                .prefetchTransactionReceipts(block, matches.size());
+
+        matches.stream()
+                .filter(match -> isStillMonitored(match.matchingCriteria()))
+                .forEach(match -> processMatch(match.txDetails(), match.matchingCriteria()));
     }
 
     protected void broadcastIfMatched(
             Transaction tx, Block block, List<TransactionMatchingCriteria> criteriaToCheck) {
 
-        final TransactionDetails txDetails =
-                transactionDetailsFactory.createTransactionDetails(
-                        tx, TransactionStatus.CONFIRMED, block); // CONFIRMED by default
-
         if (block instanceof HederaBlock hederaBlock && tx.getTo() == null) {
             List<String> addresses =
                     hederaBlock.getContractResults().stream()
@@ -153,16 +214,24 @@ public class DefaultTransactionMonitoringBlockListener
                             .toList();
             addresses.forEach(
                     address -> {
+                        // Matches are handled after the whole block, so each address needs its
+                        // own details
+                        final TransactionDetails txDetails = createTransactionDetails(tx, block);
                         txDetails.setTo(address);
                         // Only broadcast once, even if multiple matching criteria apply
                         checkTxCriteria(criteriaToCheck, txDetails);
                     });
         } else {
             // Only broadcast once, even if multiple matching criteria apply
-            checkTxCriteria(criteriaToCheck, txDetails);
+            checkTxCriteria(criteriaToCheck, createTransactionDetails(tx, block));
         }
     }
 
+    private TransactionDetails createTransactionDetails(Transaction tx, Block block) {
+        return transactionDetailsFactory.createTransactionDetails(
+                tx, TransactionStatus.CONFIRMED, block); // CONFIRMED by default
+    }
+
     private void checkTxCriteria(
             List<TransactionMatchingCriteria> criteriaToCheck, TransactionDetails txDetails) {
         criteriaToCheck.stream()
@@ -179,26 +248,26 @@ public class DefaultTransactionMonitoringBlockListener
 
     protected void onTransactionMatched(
             TransactionDetails txDetails, TransactionMatchingCriteria matchingCriteria) {
+        if (blockMatches != null) {
+            blockMatches.add(new MatchedTransaction(txDetails, matchingCriteria));
+        } else {
+            processMatch(txDetails, matchingCriteria);
+        }
+    }
 
+    private void processMatch(
+            TransactionDetails txDetails, TransactionMatchingCriteria matchingCriteria) {
         final Node node = nodeSettings.getNode(txDetails.getNodeName());
-        final BlockchainService blockchainService = getBlockchainService(txDetails.getNodeName());
-        final BlockSubscriptionStrategy blockSubscription =
-                getBlockSubscriptionStrategy(txDetails.getNodeName());
 
         final boolean isSuccess = isSuccessTransaction(txDetails);
 
         if (isSuccess && shouldWaitBeforeConfirmation(node)) {
             txDetails.setStatus(TransactionStatus.UNCONFIRMED);
 
-            blockSubscription.addBlockListener(
-                    new TransactionConfirmationBlockListener(
-                            txDetails,
-                            blockchainService,
-                            blockSubscription,
-                            broadcaster,
-                            node,
-                            matchingCriteria.getStatuses(),
-                            () -> onConfirmed(txDetails, matchingCriteria)));
+            confirmationScheduler.scheduleTransactionConfirmation(
+                    txDetails,
+                    matchingCriteria.getStatuses(),
+                    () -> onConfirmed(txDetails, matchingCriteria));
 
             broadcastTransaction(txDetails, matchingCriteria);
 
@@ -243,6 +312,12 @@ public class DefaultTransactionMonitoringBlockListener
         return !receipt.getStatus().equals("0x0");
     }
 
+    private boolean isStillMonitored(TransactionMatchingCriteria matchingCriteria) {
+        // One time criteria may have been removed by an earlier match of the same block
+        return !matchingCriteria.isOneTimeMatch()
+                || criteria.get(matchingCriteria.getNodeName()).contains(matchingCriteria);
+    }
+
     private boolean shouldWaitBeforeConfirmation(Node node) {
         return !node.getBlocksToWaitForConfirmation().equals(BigInteger.ZERO);
     }
@@ -251,10 +326,6 @@ public class DefaultTransactionMonitoringBlockListener
         return chainServicesContainer.getNodeServices(nodeName).getBlockchainService();
     }
 
-    private BlockSubscriptionStrategy getBlockSubscriptionStrategy(String nodeName) {
-        return chainServicesContainer.getNodeServices(nodeName).getBlockSubscriptionStrategy();
-    }
-
     private void onConfirmed(
             TransactionDetails txDetails, TransactionMatchingCriteria matchingCriteria) {
         if (matchingCriteria.isOneTimeMatch()) {
@@ -279,4 +350,7 @@ public class DefaultTransactionMonitoringBlockListener
                         Numeric.toBigInt(txDetails.getBlockNumber()),
                         txDetails.getInput());
     }
+
+    private record MatchedTransaction(
+            TransactionDetails txDetails, TransactionMatchingCriteria matchingCriteria) {}
 }
@@ -16,14 +16,17 @@ package io.librevents.chain.config;
 
 import java.net.*;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import io.librevents.chain.config.factory.ContractEventDetailsFactoryFactoryBean;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.HederaService;
 import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.service.endpoint.BatchingWeb3jService;
+import io.librevents.chain.service.endpoint.LoadBalancedWeb3jService;
 import io.librevents.chain.service.health.NodeHealthCheckService;
 import io.librevents.chain.service.health.WebSocketHealthCheckService;
 import io.librevents.chain.service.health.strategy.HttpReconnectionStrategy;
@@ -46,6 +49,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.http.LibreventsHttpService;
 import org.web3j.protocol.websocket.LibreventsWebSocketService;
 import org.web3j.protocol.websocket.WebSocketClient;
 import org.web3j.protocol.websocket.WebSocketService;
@@ -252,18 +256,7 @@ public class NodeBeanRegistrationStrategy {
     private Web3jService buildWeb3jService(Node node) {
         Web3jService web3jService = null;
 
-        Map<String, String> authHeaders;
-        if (node.getUsername() != null && node.getPassword() != null) {
-            authHeaders = new HashMap<>();
-            authHeaders.put(
-                    "Authorization",
-                    "Basic "
-                            + DatatypeConverter.printBase64Binary(
-                                    String.format("%s:%s", node.getUsername(), node.getPassword())
-                                            .getBytes()));
-        } else {
-            authHeaders = null;
-        }
+        final Map<String, String> authHeaders = buildAuthHeaders(node);
 
         if (isWebSocketUrl(node.getUrl())) {
             final URI uri = parseURI(node.getUrl());
@@ -283,36 +276,104 @@ public class NodeBeanRegistrationStrategy {
 
             web3jService = wsService;
         } else {
-
-            CookieManager cookieManager = new CookieManager();
-            cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-
-            ConnectionPool pool =
-                    new ConnectionPool(
-                            node.getMaxIdleConnections(),
-                            node.getKeepAliveDuration(),
-                            TimeUnit.MILLISECONDS);
-            OkHttpClient client =
-                    globalOkHttpClient
-                            .newBuilder()
-                            .connectionPool(pool)
-                            .cookieJar(new JavaNetCookieJar(cookieManager))
-                            .readTimeout(node.getReadTimeout(), TimeUnit.MILLISECONDS)
-                            .connectTimeout(node.getConnectionTimeout(), TimeUnit.MILLISECONDS)
-                            .build();
-            HttpService httpService = new HttpService(node.getUrl(), client, false);
-            if (authHeaders != null) {
-                httpService.addHeaders(authHeaders);
-            }
-            web3jService = httpService;
+            web3jService = buildHttpService(node.getUrl(), buildHttpClient(node), authHeaders);
         }
 
         return web3jService;
     }
 
+    private Map<String, String> buildAuthHeaders(Node node) {
+        if (node.getUsername() == null || node.getPassword() == null) {
+            return null;
+        }
+
+        final Map<String, String> authHeaders = new HashMap<>();
+        authHeaders.put(
+                "Authorization",
+                "Basic "
+                        + DatatypeConverter.printBase64Binary(
+                                String.format("%s:%s", node.getUsername(), node.getPassword())
+                                        .getBytes()));
+
+        return authHeaders;
+    }
+
+    private OkHttpClient buildHttpClient(Node node) {
+        CookieManager cookieManager = new CookieManager();
+        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+
+        ConnectionPool pool =
+                new ConnectionPool(
+                        node.getMaxIdleConnections(),
+                        node.getKeepAliveDuration(),
+                        TimeUnit.MILLISECONDS);
+
+        return globalOkHttpClient
+                .newBuilder()
+                .connectionPool(pool)
+                .cookieJar(new JavaNetCookieJar(cookieManager))
+                .readTimeout(node.getReadTimeout(), TimeUnit.MILLISECONDS)
+                .connectTimeout(node.getConnectionTimeout(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private HttpService buildHttpService(
+            String url, OkHttpClient client, Map<String, String> authHeaders) {
+        HttpService httpService = new LibreventsHttpService(url, client);
+        if (authHeaders != null) {
+            httpService.addHeaders(authHeaders);
+        }
+        return httpService;
+    }
+
     private Web3j buildWeb3j(Node node, Web3jService web3jService) {
+        final Web3jService primaryService =
+                isWebSocketUrl(node.getUrl()) ? web3jService : withBatching(node, web3jService);
+        final List<String> readUrls =
+                node.getReadUrls() == null
+                        ? List.of()
+                        : node.getReadUrls().stream().filter(url -> !url.isBlank()).toList();
+
+        if (readUrls.isEmpty()) {
+            return Web3j.build(
+                    primaryService, node.getPollingInterval(), Async.defaultExecutorService());
+        }
 
-        return Web3j.build(web3jService, node.getPollingInterval(), Async.defaultExecutorService());
+        // The read endpoints share a connection pool, the primary one keeps its own
+        final OkHttpClient readClient = buildHttpClient(node);
+        final Map<String, String> authHeaders = buildAuthHeaders(node);
+        final Map<String, Web3jService> readServices = new LinkedHashMap<>();
+
+        readUrls.forEach(
+                url ->
+                        readServices.put(
+                                url,
+                                withBatching(
+                                        node, buildHttpService(url, readClient, authHeaders))));
+
+        final Web3jService loadBalancedService =
+                new LoadBalancedWeb3jService(
+                        node.getName(),
+                        node.getUrl(),
+                        primaryService,
+                        readServices,
+                        node.getHedgePercentile() != null ? node.getHedgePercentile() : 0,
+                        node.getPollingInterval());
+
+        return Web3j.build(
+                loadBalancedService, node.getPollingInterval(), Async.defaultExecutorService());
+    }
+
+    private Web3jService withBatching(Node node, Web3jService httpService) {
+        if (node.getRpcBatchWindow() == null || node.getRpcBatchWindow() <= 0) {
+            return httpService;
+        }
+
+        return new BatchingWeb3jService(
+                node.getName(),
+                httpService,
+                node.getRpcBatchWindow(),
+                node.getRpcBatchSize() != null ? node.getRpcBatchSize() : 1);
     }
 
     private String buildHederaService(BeanDefinitionRegistry registry, Node node) {
@@ -323,8 +384,7 @@ public class NodeBeanRegistrationStrategy {
         builder.addConstructorArgReference("defaultEventStoreService");
         builder.addConstructorArgReference("objectMapper");
         builder.addConstructorArgValue(node);
-        builder.addConstructorArgValue(Executors.newScheduledThreadPool(10));
-        builder.addConstructorArgReference("modelMapper");
+        builder.addConstructorArgReference("hederaBlockScheduler");
         builder.addConstructorArgValue(globalOkHttpClient);
         final String beanName = String.format(HEDERA_SERVICE_BEAN_NAME, node.getName());
         registry.registerBeanDefinition(beanName, builder.getBeanDefinition());
@@ -350,6 +410,10 @@ public class NodeBeanRegistrationStrategy {
             builder.addConstructorArgValue(node.getPollingInterval());
         }
 
+        builder.addPropertyValue("catchUpPrefetchWindow", node.getCatchUpPrefetchWindow())
+                .addPropertyValue("blockQueueCapacity", node.getBlockQueueCapacity())
+                .addPropertyReference("valueMonitor", "eventeumValueMonitor");
+
         final String beanName = String.format(NODE_BLOCK_SUB_STRATEGY_BEAN_NAME, node.getName());
         registry.registerBeanDefinition(beanName, builder.getBeanDefinition());
 
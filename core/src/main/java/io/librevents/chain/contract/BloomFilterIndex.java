@@ -0,0 +1,185 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.contract;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.librevents.chain.util.BloomFilterUtil;
+import io.librevents.chain.util.BloomFilterUtil.BloomMask;
+import io.librevents.chain.util.Web3jUtil;
+import io.librevents.dto.event.filter.ContractEventFilter;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+/**
+ * A per node index of the bloom masks of the registered contract event filters.
+ *
+ * <p>The address and event signature masks of a filter are computed once, when the filter is
+ * added. Filters are grouped by contract address, so the address bits of a block bloom are only
+ * tested once for all the filters of a contract.
+ */
+@Component
+public class BloomFilterIndex {
+
+    // Keyed by node name
+    private final Map<String, NodeIndex> nodeIndexes = new ConcurrentHashMap<>();
+
+    public void addFilter(ContractEventFilter filter) {
+        getNodeIndex(filter.getNode()).add(new CompiledFilter(filter));
+    }
+
+    public void removeFilter(ContractEventFilter filter) {
+        final NodeIndex nodeIndex = nodeIndexes.get(filter.getNode());
+
+        if (nodeIndex != null) {
+            nodeIndex.remove(filter.getId());
+        }
+    }
+
+    public void removeNode(String nodeName) {
+        nodeIndexes.remove(nodeName);
+    }
+
+    /**
+     * @param nodeName The node of the block
+     * @param logsBloom The logs bloom of the block
+     * @param filters The candidate filters, indexed on the fly if they were never added
+     * @return The candidate filters of the node that may have logs in the block, in order
+     */
+    public List<ContractEventFilter> getFiltersInBloom(
+            String nodeName, String logsBloom, Collection<ContractEventFilter> filters) {
+        final List<ContractEventFilter> nodeFilters =
+                filters.stream().filter(filter -> nodeName.equals(filter.getNode())).toList();
+
+        if (nodeFilters.isEmpty()) {
+            return nodeFilters;
+        }
+
+        final NodeIndex nodeIndex = getNodeIndex(nodeName);
+        nodeFilters.stream().filter(filter -> !nodeIndex.contains(filter)).forEach(this::addFilter);
+
+        final long[] bloomWords = BloomFilterUtil.toBloomWords(logsBloom);
+        final Set<String> matchingIds = new HashSet<>();
+
+        nodeIndex.groups.values().stream()
+                .filter(group -> group.addressMask.matches(bloomWords))
+                .flatMap(group -> group.filters.values().stream())
+                .filter(compiled -> compiled.eventSignatureMask.matches(bloomWords))
+                .forEach(compiled -> matchingIds.add(compiled.filter.getId()));
+
+        return nodeFilters.stream().filter(filter -> matchingIds.contains(filter.getId())).toList();
+    }
+
+    /**
+     * @param filter The filter, indexed on the fly if it was never added
+     * @param logsBloom A block or transaction logs bloom
+     * @return Whether the filter may have logs in the bloom
+     */
+    public boolean isFilterInBloom(ContractEventFilter filter, String logsBloom) {
+        final NodeIndex nodeIndex = getNodeIndex(filter.getNode());
+
+        if (!nodeIndex.contains(filter)) {
+            addFilter(filter);
+        }
+
+        final CompiledFilter compiled = nodeIndex.get(filter);
+        final long[] bloomWords = BloomFilterUtil.toBloomWords(logsBloom);
+
+        return compiled != null
+                && compiled.group.addressMask.matches(bloomWords)
+                && compiled.eventSignatureMask.matches(bloomWords);
+    }
+
+    private NodeIndex getNodeIndex(String nodeName) {
+        return nodeIndexes.computeIfAbsent(nodeName, name -> new NodeIndex());
+    }
+
+    private static class NodeIndex {
+
+        // Keyed by lower case contract address
+        private final Map<String, AddressGroup> groups = new ConcurrentHashMap<>();
+        // Keyed by filter id
+        private final Map<String, CompiledFilter> filters = new ConcurrentHashMap<>();
+
+        private synchronized void add(CompiledFilter compiled) {
+            remove(compiled.filter.getId());
+
+            compiled.group = groups.computeIfAbsent(compiled.address, AddressGroup::new);
+            compiled.group.filters.put(compiled.filter.getId(), compiled);
+            filters.put(compiled.filter.getId(), compiled);
+        }
+
+        private synchronized void remove(String filterId) {
+            final CompiledFilter removed = filters.remove(filterId);
+
+            if (removed != null) {
+                removed.group.filters.remove(filterId);
+
+                if (removed.group.filters.isEmpty()) {
+                    groups.remove(removed.address);
+                }
+            }
+        }
+
+        private CompiledFilter get(ContractEventFilter filter) {
+            return filters.get(filter.getId());
+        }
+
+        private boolean contains(ContractEventFilter filter) {
+            final CompiledFilter compiled = get(filter);
+
+            // A filter updated with the same id is a different instance and must be recompiled
+            return compiled != null && compiled.filter == filter;
+        }
+    }
+
+    private static class AddressGroup {
+
+        private final BloomMask addressMask;
+        // Keyed by filter id
+        private final Map<String, CompiledFilter> filters = new ConcurrentHashMap<>();
+
+        private AddressGroup(String address) {
+            this.addressMask =
+                    BloomFilterUtil.getBloomMask(
+                            Hash.sha3(Numeric.hexStringToByteArray(address)));
+        }
+    }
+
+    private static class CompiledFilter {
+
+        private final ContractEventFilter filter;
+        private final String address;
+        private final BloomMask eventSignatureMask;
+        private AddressGroup group;
+
+        private CompiledFilter(ContractEventFilter filter) {
+            this.filter = filter;
+            this.address = filter.getContractAddress().toLowerCase();
+            this.eventSignatureMask =
+                    BloomFilterUtil.getBloomMask(
+                            Hash.sha3(
+                                    Numeric.hexStringToByteArray(
+                                            Web3jUtil.getSignature(
+                                                    filter.getEventSpecification()))));
+        }
+    }
+}
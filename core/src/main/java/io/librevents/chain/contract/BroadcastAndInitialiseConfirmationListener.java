@@ -16,12 +16,10 @@ package io.librevents.chain.contract;
 
 import java.math.BigInteger;
 
-import io.librevents.chain.block.BlockListener;
-import io.librevents.chain.block.EventConfirmationBlockListener;
+import io.librevents.chain.block.ConfirmationScheduler;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.container.ChainServicesContainer;
 import io.librevents.chain.service.domain.TransactionReceipt;
-import io.librevents.chain.service.strategy.BlockSubscriptionStrategy;
 import io.librevents.chain.settings.ChainType;
 import io.librevents.chain.settings.Node;
 import io.librevents.chain.settings.NodeSettings;
@@ -33,11 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /**
- * A contract event listener that initialises a block listener after being passed an unconfirmed
- * event.
+ * A contract event listener that schedules the confirmation of an event after being passed an
+ * unconfirmed event.
  *
- * <p>This created block listener counts blocks since the event was first fired and broadcasts a
- * CONFIRMED event once the configured number of blocks have passed.
+ * <p>The confirmation scheduler broadcasts a CONFIRMED event once the configured number of blocks
+ * have passed since the block of the event.
  *
  * @author Craig Williams craig.williams@consensys.net
  */
@@ -48,16 +46,19 @@ public class BroadcastAndInitialiseConfirmationListener extends BaseContractEven
     private final ChainServicesContainer chainServicesContainer;
     private final BlockchainEventBroadcaster eventBroadcaster;
     private final NodeSettings nodeSettings;
+    private final ConfirmationScheduler confirmationScheduler;
 
     public BroadcastAndInitialiseConfirmationListener(
             ChainServicesContainer chainServicesContainer,
             BlockchainEventBroadcaster eventBroadcaster,
             NodeSettings nodeSettings,
-            EventStore eventStore) {
+            EventStore eventStore,
+            ConfirmationScheduler confirmationScheduler) {
         super(eventStore);
         this.chainServicesContainer = chainServicesContainer;
         this.eventBroadcaster = eventBroadcaster;
         this.nodeSettings = nodeSettings;
+        this.confirmationScheduler = confirmationScheduler;
     }
 
     @Override
@@ -70,10 +71,9 @@ public class BroadcastAndInitialiseConfirmationListener extends BaseContractEven
                     && eventDetails.getStatus() == ContractEventStatus.UNCONFIRMED
                     && !shouldInstantlyConfirm(eventDetails)) {
                 log.info(
-                        "Registering an EventConfirmationBlockListener for event: {}",
+                        "Scheduling the confirmation of event: {}",
                         eventDetails.getEventIdentifier());
-                getBlockSubscriptionStrategy(eventDetails)
-                        .addBlockListener(createEventConfirmationBlockListener(eventDetails, node));
+                confirmationScheduler.scheduleEventConfirmation(eventDetails);
             } else {
                 eventDetails.setStatus(ContractEventStatus.CONFIRMED);
             }
@@ -81,29 +81,12 @@ public class BroadcastAndInitialiseConfirmationListener extends BaseContractEven
         }
     }
 
-    protected BlockListener createEventConfirmationBlockListener(
-            ContractEventDetails eventDetails, Node node) {
-        return new EventConfirmationBlockListener(
-                eventDetails,
-                getBlockchainService(eventDetails),
-                getBlockSubscriptionStrategy(eventDetails),
-                eventBroadcaster,
-                node);
-    }
-
     private BlockchainService getBlockchainService(ContractEventDetails eventDetails) {
         return chainServicesContainer
                 .getNodeServices(eventDetails.getNodeName())
                 .getBlockchainService();
     }
 
-    private BlockSubscriptionStrategy getBlockSubscriptionStrategy(
-            ContractEventDetails eventDetails) {
-        return chainServicesContainer
-                .getNodeServices(eventDetails.getNodeName())
-                .getBlockSubscriptionStrategy();
-    }
-
     private boolean shouldInstantlyConfirm(ContractEventDetails eventDetails) {
         final BlockchainService blockchainService = getBlockchainService(eventDetails);
         final Node node = nodeSettings.getNode(blockchainService.getNodeName());
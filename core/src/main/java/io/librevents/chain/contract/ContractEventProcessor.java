@@ -24,5 +24,14 @@ public interface ContractEventProcessor {
 
     void processLogsInBlock(Block block, List<ContractEventFilter> contractEventFilters);
 
+    /**
+     * Matches, retrieves and decodes the events of a block ahead of time, so that processing the
+     * block later on only needs to pass them to the listeners.
+     *
+     * @param block The block
+     * @param contractEventFilters The filters that the block will be processed with
+     */
+    void prepareLogsInBlock(Block block, List<ContractEventFilter> contractEventFilters);
+
     void processContractEvent(ContractEventDetails contractEventDetails);
 }
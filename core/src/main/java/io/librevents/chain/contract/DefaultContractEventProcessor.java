@@ -14,8 +14,16 @@
 
 package io.librevents.chain.contract;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.HederaService;
 import io.librevents.chain.service.container.ChainServicesContainer;
@@ -24,8 +32,10 @@ import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.io.ContractResultResponse;
 import io.librevents.chain.service.domain.io.HederaLogResponse;
 import io.librevents.chain.service.domain.wrapper.HederaBlock;
+import io.librevents.chain.settings.EventPartitionKey;
+import io.librevents.chain.settings.LogFetchStrategy;
+import io.librevents.chain.settings.NodeSettings;
 import io.librevents.chain.settings.NodeType;
-import io.librevents.chain.util.BloomFilterUtil;
 import io.librevents.chain.util.Web3jUtil;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
@@ -42,35 +52,202 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
 
     public static final String EVENT_EXECUTOR_NAME = "EVENT";
 
+    private static final int PREPARED_BLOCKS_TO_KEEP = 256;
+
     protected ChainServicesContainer chainServices;
 
     private AsyncTaskService asyncTaskService;
 
     private List<ContractEventListener> contractEventListeners;
 
+    private NodeSettings nodeSettings;
+
+    private BloomFilterIndex bloomFilterIndex;
+
+    // Keyed by node and block hash, blocks that are never processed are eventually evicted
+    private final Cache<String, PreparedEvents> preparedEvents =
+            CacheBuilder.newBuilder().maximumSize(PREPARED_BLOCKS_TO_KEEP).build();
+
+    // The executor names of the event partitions of each node, built once per node
+    private final Map<String, String[]> partitionExecutorNames = new ConcurrentHashMap<>();
+
     @Override
     public void processLogsInBlock(Block block, List<ContractEventFilter> contractEventFilters) {
+        final String nodeName = block.getNodeName();
+        final int eventPartitions = getEventPartitions(nodeName);
+
+        if (eventPartitions <= 1) {
+            processLogsInBlock(block, contractEventFilters, this::triggerListeners);
+            return;
+        }
+
+        // Events are still matched and decoded in order, only the listeners run in partitions
+        final List<ContractEventDetails> events = new ArrayList<>();
+        processLogsInBlock(block, contractEventFilters, events::add);
+
+        triggerListenersInPartitions(nodeName, events, contractEventFilters, eventPartitions);
+    }
+
+    @Override
+    public void prepareLogsInBlock(Block block, List<ContractEventFilter> contractEventFilters) {
+        if (block.getHash() == null) {
+            return;
+        }
+
+        final List<ContractEventDetails> events = new ArrayList<>();
+        collectEvents(block, contractEventFilters, events::add);
+
+        preparedEvents.put(
+                getPreparedEventsKey(block),
+                new PreparedEvents(new ArrayList<>(contractEventFilters), events));
+    }
+
+    private void processLogsInBlock(
+            Block block,
+            List<ContractEventFilter> contractEventFilters,
+            Consumer<ContractEventDetails> eventConsumer) {
+        final List<ContractEventDetails> prepared =
+                takePreparedEvents(block, contractEventFilters);
+
         asyncTaskService
                 .executeWithCompletableFuture(
                         ExecutorNameFactory.build(EVENT_EXECUTOR_NAME, block.getNodeName()),
                         () -> {
-                            final NodeServices nodeServices =
-                                    this.chainServices.getNodeServices(block.getNodeName());
-                            final NodeType nodeType = NodeType.valueOf(nodeServices.getNodeType());
-                            if (nodeType == NodeType.MIRROR) {
-                                this.processLogsInMirrorNodeBlock(block, contractEventFilters);
+                            if (prepared != null) {
+                                prepared.forEach(eventConsumer);
                                 return;
                             }
-                            contractEventFilters.forEach(
-                                    filter ->
-                                            processLogsForFilter(
-                                                    filter,
-                                                    block,
-                                                    nodeServices.getBlockchainService()));
+                            collectEvents(block, contractEventFilters, eventConsumer);
                         })
                 .join();
     }
 
+    private void collectEvents(
+            Block block,
+            List<ContractEventFilter> contractEventFilters,
+            Consumer<ContractEventDetails> eventConsumer) {
+        final NodeServices nodeServices = this.chainServices.getNodeServices(block.getNodeName());
+        final NodeType nodeType = NodeType.valueOf(nodeServices.getNodeType());
+        if (nodeType == NodeType.MIRROR) {
+            this.processLogsInMirrorNodeBlock(block, contractEventFilters, eventConsumer);
+            return;
+        }
+        if (getLogFetchStrategy(block.getNodeName()) == LogFetchStrategy.BLOCK) {
+            this.processLogsForFilters(
+                    contractEventFilters,
+                    block,
+                    nodeServices.getBlockchainService(),
+                    eventConsumer);
+            return;
+        }
+        final BlockchainService blockchainService = nodeServices.getBlockchainService();
+        getFiltersInBlock(contractEventFilters, block)
+                .forEach(
+                        filter ->
+                                blockchainService
+                                        .getEventsForFilter(filter, block)
+                                        .forEach(eventConsumer));
+    }
+
+    /**
+     * @return The events prepared for the block, or null if the block was not prepared or the
+     *     filters have changed since
+     */
+    private List<ContractEventDetails> takePreparedEvents(
+            Block block, List<ContractEventFilter> contractEventFilters) {
+        if (block.getHash() == null) {
+            return null;
+        }
+
+        final PreparedEvents prepared =
+                preparedEvents.asMap().remove(getPreparedEventsKey(block));
+
+        return prepared != null && prepared.filters().equals(contractEventFilters)
+                ? prepared.events()
+                : null;
+    }
+
+    private String getPreparedEventsKey(Block block) {
+        return block.getNodeName() + "-" + block.getHash().toLowerCase();
+    }
+
+    /**
+     * Hands the events of a block to the listeners on one executor per partition, keeping the
+     * order of the events of each partition key, and waits for every partition to finish.
+     */
+    private void triggerListenersInPartitions(
+            String nodeName,
+            List<ContractEventDetails> events,
+            List<ContractEventFilter> contractEventFilters,
+            int eventPartitions) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final EventPartitionKey partitionKey = getEventPartitionKey(nodeName);
+        final Map<String, ContractEventFilter> filtersById = new HashMap<>();
+        contractEventFilters.forEach(filter -> filtersById.putIfAbsent(filter.getId(), filter));
+
+        final Map<Integer, List<ContractEventDetails>> partitions = new HashMap<>();
+        events.forEach(
+                event -> {
+                    final String key = getPartitionKey(event, partitionKey, filtersById);
+
+                    partitions
+                            .computeIfAbsent(
+                                    Math.floorMod(key.hashCode(), eventPartitions),
+                                    partition -> new ArrayList<>())
+                            .add(event);
+                });
+
+        final List<CompletableFuture<Void>> partitionsDone = new ArrayList<>();
+        partitions.forEach(
+                (partition, partitionEvents) ->
+                        partitionsDone.add(
+                                asyncTaskService.executeWithCompletableFuture(
+                                        getPartitionExecutorName(
+                                                nodeName, partition, eventPartitions),
+                                        () -> partitionEvents.forEach(this::triggerListeners))));
+
+        CompletableFuture.allOf(partitionsDone.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private String getPartitionKey(
+            ContractEventDetails event,
+            EventPartitionKey partitionKey,
+            Map<String, ContractEventFilter> filtersById) {
+        if (partitionKey == EventPartitionKey.CORRELATION_ID) {
+            final ContractEventFilter filter = filtersById.get(event.getFilterId());
+
+            if (filter != null && filter.getCorrelationIdStrategy() != null) {
+                final String correlationId =
+                        filter.getCorrelationIdStrategy().getCorrelationId(event);
+
+                if (correlationId != null) {
+                    return correlationId;
+                }
+            }
+        }
+
+        return event.getAddress() != null ? event.getAddress().toLowerCase() : "";
+    }
+
+    private String getPartitionExecutorName(String nodeName, int partition, int eventPartitions) {
+        String[] names = partitionExecutorNames.get(nodeName);
+
+        if (names == null || names.length != eventPartitions) {
+            final String executorName = ExecutorNameFactory.build(EVENT_EXECUTOR_NAME, nodeName);
+
+            names = new String[eventPartitions];
+            for (int i = 0; i < eventPartitions; i++) {
+                names[i] = executorName + "-" + i;
+            }
+            partitionExecutorNames.put(nodeName, names);
+        }
+
+        return names[partition];
+    }
+
     @Override
     public void processContractEvent(ContractEventDetails contractEventDetails) {
         asyncTaskService
@@ -82,9 +259,7 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
     }
 
     protected boolean isEventFilterInBloomFilter(ContractEventFilter filter, String logsBloom) {
-        final BloomFilterUtil.BloomFilterBits bloomBits = BloomFilterUtil.getBloomBits(filter);
-
-        return BloomFilterUtil.bloomFilterMatch(logsBloom, bloomBits);
+        return bloomFilterIndex.isFilterInBloom(filter, logsBloom);
     }
 
     protected BlockchainService getBlockchainService(String nodeName) {
@@ -97,12 +272,21 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
 
     protected void processLogsInMirrorNodeBlock(
             Block block, List<ContractEventFilter> contractEventFilters) {
+        processLogsInMirrorNodeBlock(block, contractEventFilters, this::triggerListeners);
+    }
+
+    private void processLogsInMirrorNodeBlock(
+            Block block,
+            List<ContractEventFilter> contractEventFilters,
+            Consumer<ContractEventDetails> eventConsumer) {
         final HederaService hederaService = getHederaService(block.getNodeName());
         List<ContractResultResponse> contractResultResponseList =
                 ((HederaBlock) block).getContractResults();
         if (contractResultResponseList != null && !contractResultResponseList.isEmpty()) {
             contractResultResponseList.forEach(
-                    res -> processTransactionData(hederaService, res, contractEventFilters));
+                    res ->
+                            processTransactionData(
+                                    hederaService, res, contractEventFilters, eventConsumer));
         }
     }
 
@@ -110,22 +294,41 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
         contractEventListeners.forEach(listener -> triggerListener(listener, contractEvent));
     }
 
-    private void processLogsForFilter(
-            ContractEventFilter filter, Block block, BlockchainService blockchainService) {
+    protected LogFetchStrategy getLogFetchStrategy(String nodeName) {
+        return nodeSettings.getNode(nodeName).getLogFetchStrategy();
+    }
+
+    protected int getEventPartitions(String nodeName) {
+        final Integer eventPartitions = nodeSettings.getNode(nodeName).getEventPartitions();
+
+        return eventPartitions != null ? eventPartitions : 1;
+    }
+
+    protected EventPartitionKey getEventPartitionKey(String nodeName) {
+        final EventPartitionKey partitionKey =
+                nodeSettings.getNode(nodeName).getEventPartitionKey();
+
+        return partitionKey != null ? partitionKey : EventPartitionKey.CONTRACT_ADDRESS;
+    }
+
+    private void processLogsForFilters(
+            List<ContractEventFilter> filters,
+            Block block,
+            BlockchainService blockchainService,
+            Consumer<ContractEventDetails> eventConsumer) {
+        final List<ContractEventFilter> filtersInBlock = getFiltersInBlock(filters, block);
 
-        if (block.getNodeName().equals(filter.getNode())
-                && isEventFilterInBloomFilter(filter, block.getLogsBloom())) {
-            blockchainService
-                    .getEventsForFilter(filter, block.getNumber())
-                    .forEach(
-                            event -> {
-                                event.setTimestamp(block.getTimestamp());
-                                event.setBlockTimestamp(block.getTimestamp());
-                                triggerListeners(event);
-                            });
+        if (!filtersInBlock.isEmpty()) {
+            blockchainService.getEventsForFilters(filtersInBlock, block).forEach(eventConsumer);
         }
     }
 
+    private List<ContractEventFilter> getFiltersInBlock(
+            List<ContractEventFilter> filters, Block block) {
+        return bloomFilterIndex.getFiltersInBloom(
+                block.getNodeName(), block.getLogsBloom(), filters);
+    }
+
     private void triggerListener(
             ContractEventListener listener, ContractEventDetails contractEventDetails) {
         try {
@@ -143,15 +346,17 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
             ContractEventFilter filter,
             HederaService hederaService,
             HederaLogResponse hederaLogResponse,
-            ContractResultResponse contractResult) {
-        triggerListeners(
+            ContractResultResponse contractResult,
+            Consumer<ContractEventDetails> eventConsumer) {
+        eventConsumer.accept(
                 hederaService.getEventForFilter(filter, hederaLogResponse, contractResult));
     }
 
     private void processTransactionData(
             HederaService hederaService,
             ContractResultResponse contractResult,
-            List<ContractEventFilter> contractEventFilters) {
+            List<ContractEventFilter> contractEventFilters,
+            Consumer<ContractEventDetails> eventConsumer) {
         contractResult
                 .getLogs()
                 .forEach(
@@ -165,7 +370,8 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
                                                         filter,
                                                         hederaService,
                                                         hederaLogResponse,
-                                                        contractResult);
+                                                        contractResult,
+                                                        eventConsumer);
                                             }
                                         }));
     }
@@ -178,4 +384,7 @@ public class DefaultContractEventProcessor implements ContractEventProcessor {
     private boolean isContractFromEventFilter(HederaLogResponse log, ContractEventFilter filter) {
         return filter.getContractAddress().equalsIgnoreCase(log.getAddress());
     }
+
+    private record PreparedEvents(
+            List<ContractEventFilter> filters, List<ContractEventDetails> events) {}
 }
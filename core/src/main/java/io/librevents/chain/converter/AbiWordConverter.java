@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.converter;
+
+import io.librevents.dto.event.parameter.EventParameter;
+
+/**
+ * A converter that reads a value of a static ABI type straight from the hex encoded 32 byte word
+ * that holds it, such as a word of the log data or an indexed topic.
+ */
+public interface AbiWordConverter {
+
+    /**
+     * @param hex The hex encoded ABI data
+     * @param offset The index of the first hex character of the word
+     * @return The converted value
+     */
+    EventParameter convert(String hex, int offset);
+}
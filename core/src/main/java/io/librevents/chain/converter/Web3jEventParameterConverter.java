@@ -38,7 +38,12 @@ import org.web3j.utils.Numeric;
 @Component("web3jEventParameterConverter")
 public class Web3jEventParameterConverter implements EventParameterConverter<Type> {
 
+    // Hex characters in an ABI word
+    private static final int WORD_LENGTH = 64;
+    private static final int ADDRESS_LENGTH = 40;
+
     private final Map<String, EventParameterConverter<Type>> typeConverters = new HashMap<>();
+    private final Map<String, AbiWordConverter> wordConverters = new HashMap<>();
     private final LibreventsSettings settings;
 
     public Web3jEventParameterConverter(LibreventsSettings settings) {
@@ -51,6 +56,7 @@ public class Web3jEventParameterConverter implements EventParameterConverter<Typ
         registerNumberConverters("uint");
         registerNumberConverters("int");
         registerBytesConverters();
+        registerWordConverters();
 
         typeConverters.put("byte", this::convertBytesType);
         typeConverters.put(
@@ -78,19 +84,41 @@ public class Web3jEventParameterConverter implements EventParameterConverter<Typ
 
     @Override
     public EventParameter convert(Type toConvert) {
+        return getTypeConverter(toConvert).convert(toConvert);
+    }
+
+    /**
+     * Resolves the converter of a type, so that values of the same type can be converted without
+     * looking the converter up again.
+     *
+     * @param type A value of the type to convert
+     * @return The converter for values of the same type
+     */
+    public EventParameterConverter<Type> getTypeConverter(Type type) {
         final EventParameterConverter<Type> typeConverter =
-                typeConverters.get(toConvert.getTypeAsString().toLowerCase());
+                typeConverters.get(type.getTypeAsString().toLowerCase());
 
         if (typeConverter == null) {
             // Type might be an array, in which case the type will be the array type class
-            if (toConvert instanceof Array<?> theArray) {
-                return convertArray(theArray);
+            if (type instanceof Array<?>) {
+                return toConvert -> convertArray((Array<?>) toConvert);
             }
 
-            throw new TypeConversionException("Unsupported type: " + toConvert.getTypeAsString());
+            throw new TypeConversionException("Unsupported type: " + type.getTypeAsString());
         }
 
-        return typeConverter.convert(toConvert);
+        return typeConverter;
+    }
+
+    /**
+     * Resolves a converter that reads values of a static type straight from their hex encoded ABI
+     * word, producing the same parameters as {@link #convert(Type)} without decoding web3j types.
+     *
+     * @param abiType The ABI name of the type, e.g. uint256
+     * @return The converter, or null if values of the type have to be decoded by web3j
+     */
+    public AbiWordConverter getWordConverter(String abiType) {
+        return wordConverters.get(abiType.toLowerCase());
     }
 
     private void registerNumberConverters(String prefix) {
@@ -109,6 +137,48 @@ public class Web3jEventParameterConverter implements EventParameterConverter<Typ
         }
     }
 
+    private void registerWordConverters() {
+        wordConverters.put(
+                "address",
+                (hex, offset) ->
+                        new StringParameter(
+                                "address",
+                                Keys.toChecksumAddress(
+                                        hex.substring(
+                                                offset + WORD_LENGTH - ADDRESS_LENGTH,
+                                                offset + WORD_LENGTH))));
+        wordConverters.put(
+                "bool",
+                (hex, offset) ->
+                        new NumberParameter(
+                                "bool", isOne(hex, offset) ? BigInteger.ONE : BigInteger.ZERO));
+
+        for (int i = 8; i <= 256; i = i + 8) {
+            final String type = "uint" + i;
+            // Like web3j, only the low bits of the type size are read
+            final int start = WORD_LENGTH - i / 4;
+
+            wordConverters.put(
+                    type,
+                    (hex, offset) ->
+                            new NumberParameter(
+                                    type,
+                                    new BigInteger(
+                                            hex.substring(offset + start, offset + WORD_LENGTH),
+                                            16)));
+        }
+
+        for (int i = 1; i <= 32; i = i + 1) {
+            final String type = "bytes" + i;
+            final int length = i * 2;
+
+            wordConverters.put(
+                    type,
+                    (hex, offset) ->
+                            convertBytesWord(type, hex.substring(offset, offset + length)));
+        }
+    }
+
     private EventParameter<?> convertArray(Array<?> toConvert) {
         final ArrayList<EventParameter<?>> convertedArray = new ArrayList<>();
 
@@ -129,6 +199,27 @@ public class Web3jEventParameterConverter implements EventParameterConverter<Typ
                 trim(Numeric.toHexString((byte[]) bytesType.getValue())));
     }
 
+    private EventParameter convertBytesWord(String type, String hexBytes) {
+        if (settings.isBytesToAscii()) {
+            return new StringParameter(
+                    type, trim(new String(Numeric.hexStringToByteArray(hexBytes))));
+        }
+
+        return new StringParameter(type, trim("0x" + hexBytes.toLowerCase()));
+    }
+
+    private static boolean isOne(String hex, int offset) {
+        final int last = offset + WORD_LENGTH - 1;
+
+        for (int i = offset; i < last; i++) {
+            if (hex.charAt(i) != '0') {
+                return false;
+            }
+        }
+
+        return hex.charAt(last) == '1';
+    }
+
     private String trim(String toTrim) {
         return toTrim.trim().replace("\\u0000", "");
     }
@@ -0,0 +1,219 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import io.librevents.chain.converter.AbiWordConverter;
+import io.librevents.chain.converter.EventParameterConverter;
+import io.librevents.chain.converter.Web3jEventParameterConverter;
+import io.librevents.chain.util.Web3jUtil;
+import io.librevents.dto.event.filter.ContractEventSpecification;
+import io.librevents.dto.event.filter.ParameterDefinition;
+import io.librevents.dto.event.parameter.EventParameter;
+import org.springframework.util.StringUtils;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.utils.Numeric;
+
+/**
+ * Everything needed to decode the logs of a contract event specification, resolved once.
+ *
+ * <p>The type references are ordered and the event signature computed when the plan is built.
+ * The converter of each parameter is resolved from the first value decoded at that position, so
+ * decoding a log does no sorting, no reflection and no converter lookups.
+ *
+ * <p>Values of common static types, such as addresses, unsigned integers, fixed size bytes and
+ * booleans, are converted straight from their hex encoded ABI word without creating web3j types.
+ * The non indexed parameters only take that path when all of them are such types, otherwise the
+ * data is decoded by web3j.
+ */
+class ContractEventDecodingPlan {
+
+    // Hex characters in an ABI word
+    private static final int WORD_LENGTH = 64;
+
+    private final String signature;
+    private final List<TypeReference<Type>> nonIndexedTypes;
+    private final List<TypeReference<?>> indexedTypes;
+    // Null when any of the non indexed parameters has to be decoded by web3j
+    private final AbiWordConverter[] nonIndexedWordConverters;
+    // Null entries have to be decoded by web3j
+    private final AbiWordConverter[] indexedWordConverters;
+    private final ParameterConverters nonIndexedConverters;
+    private final ParameterConverters indexedConverters;
+
+    ContractEventDecodingPlan(
+            ContractEventSpecification eventSpec, EventParameterConverter<Type> converter) {
+        this.signature = Web3jUtil.getSignature(eventSpec);
+
+        if (StringUtils.hasLength(eventSpec.getWeb3EventSmartContractClass())) {
+            final Event event =
+                    Web3jUtil.getEventFromWeb3SmartContractClassName(
+                            eventSpec.getWeb3EventSmartContractClass(), eventSpec.getEventName());
+
+            this.nonIndexedTypes = event.getNonIndexedParameters();
+            this.indexedTypes = new ArrayList<>(event.getIndexedParameters());
+        } else {
+            this.nonIndexedTypes =
+                    Utils.convert(
+                            Web3jUtil.getTypeReferencesFromParameterDefinitions(
+                                    sortByPosition(eventSpec.getNonIndexedParameterDefinitions())));
+            this.indexedTypes =
+                    Web3jUtil.getTypeReferencesFromParameterDefinitions(
+                            eventSpec.getIndexedParameterDefinitions());
+        }
+
+        this.nonIndexedConverters = new ParameterConverters(nonIndexedTypes.size(), converter);
+        this.indexedConverters = new ParameterConverters(indexedTypes.size(), converter);
+        this.indexedWordConverters = getWordConverters(indexedTypes, converter);
+
+        final AbiWordConverter[] wordConverters = getWordConverters(nonIndexedTypes, converter);
+        this.nonIndexedWordConverters =
+                Arrays.stream(wordConverters).allMatch(Objects::nonNull) ? wordConverters : null;
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    List<EventParameter> decodeNonIndexedParameters(String data) {
+        if (nonIndexedTypes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final int start = Numeric.containsHexPrefix(data) ? 2 : 0;
+
+        if (nonIndexedWordConverters != null
+                && data.length() >= start + nonIndexedWordConverters.length * WORD_LENGTH) {
+            final List<EventParameter> parameters =
+                    new ArrayList<>(nonIndexedWordConverters.length);
+
+            for (int i = 0; i < nonIndexedWordConverters.length; i++) {
+                parameters.add(nonIndexedWordConverters[i].convert(data, start + i * WORD_LENGTH));
+            }
+
+            return parameters;
+        }
+
+        final List<Type> values = FunctionReturnDecoder.decode(data, nonIndexedTypes);
+        final List<EventParameter> parameters = new ArrayList<>(values.size());
+
+        for (int i = 0; i < values.size(); i++) {
+            parameters.add(nonIndexedConverters.convert(i, values.get(i)));
+        }
+
+        return parameters;
+    }
+
+    List<EventParameter> decodeIndexedParameters(List<String> topics) {
+        // The first topic is the event signature
+        final int count = Math.min(indexedTypes.size(), topics.size() - 1);
+
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<EventParameter> parameters = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final String topic = topics.get(i + 1);
+            final AbiWordConverter wordConverter = indexedWordConverters[i];
+            final int start = Numeric.containsHexPrefix(topic) ? 2 : 0;
+
+            if (wordConverter != null && topic.length() == start + WORD_LENGTH) {
+                parameters.add(wordConverter.convert(topic, start));
+            } else {
+                final Type value =
+                        FunctionReturnDecoder.decodeIndexedValue(topic, indexedTypes.get(i));
+
+                parameters.add(indexedConverters.convert(i, value));
+            }
+        }
+
+        return parameters;
+    }
+
+    private static AbiWordConverter[] getWordConverters(
+            List<? extends TypeReference<?>> types, EventParameterConverter<Type> converter) {
+        final AbiWordConverter[] wordConverters = new AbiWordConverter[types.size()];
+
+        if (converter instanceof Web3jEventParameterConverter web3jConverter) {
+            for (int i = 0; i < wordConverters.length; i++) {
+                final String typeName = getTypeName(types.get(i));
+
+                wordConverters[i] =
+                        typeName != null ? web3jConverter.getWordConverter(typeName) : null;
+            }
+        }
+
+        return wordConverters;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static String getTypeName(TypeReference<?> type) {
+        try {
+            return Utils.getTypeName((TypeReference) type);
+        } catch (UnsupportedOperationException e) {
+            // Left to web3j
+            return null;
+        }
+    }
+
+    private static List<ParameterDefinition> sortByPosition(List<ParameterDefinition> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<ParameterDefinition> ordered = new ArrayList<>(definitions);
+        ordered.sort(Comparator.comparing(ParameterDefinition::getPosition));
+
+        return ordered;
+    }
+
+    private static class ParameterConverters {
+
+        private final EventParameterConverter<Type> converter;
+        private final EventParameterConverter<Type>[] resolved;
+
+        @SuppressWarnings("unchecked")
+        private ParameterConverters(int size, EventParameterConverter<Type> converter) {
+            this.converter = converter;
+            this.resolved = new EventParameterConverter[size];
+        }
+
+        private EventParameter convert(int position, Type value) {
+            EventParameterConverter<Type> positionConverter = resolved[position];
+
+            if (positionConverter == null) {
+                positionConverter =
+                        converter instanceof Web3jEventParameterConverter web3jConverter
+                                ? web3jConverter.getTypeConverter(value)
+                                : converter;
+                resolved[position] = positionConverter;
+            }
+
+            return positionConverter.convert(value);
+        }
+    }
+}
@@ -16,6 +16,7 @@ package io.librevents.chain.factory;
 
 import java.math.BigInteger;
 
+import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
@@ -35,6 +36,19 @@ public interface ContractEventDetailsFactory {
             EthBlock ethBlock,
             TransactionReceipt transactionReceipt);
 
+    /**
+     * Creates the event details using the block that the log was emitted in, which has already
+     * been obtained by the caller.
+     *
+     * @param eventFilter The event filter that matched the log
+     * @param log The Web3J log
+     * @param block The block that contains the log
+     * @param from The sender of the transaction that emitted the log
+     * @return The contract event details
+     */
+    ContractEventDetails createEventDetails(
+            ContractEventFilter eventFilter, Log log, Block block, String from);
+
     ContractEventDetails createEventDetails(
             ContractEventFilter eventFilter,
             Log log,
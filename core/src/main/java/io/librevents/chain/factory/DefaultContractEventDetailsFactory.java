@@ -15,25 +15,23 @@
 package io.librevents.chain.factory;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.librevents.chain.converter.EventParameterConverter;
+import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.chain.settings.Node;
-import io.librevents.chain.util.Web3jUtil;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.ContractEventStatus;
 import io.librevents.dto.event.filter.ContractEventFilter;
 import io.librevents.dto.event.filter.ContractEventSpecification;
-import io.librevents.dto.event.filter.ParameterDefinition;
 import io.librevents.dto.event.parameter.EventParameter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StringUtils;
-import org.web3j.abi.FunctionReturnDecoder;
-import org.web3j.abi.Utils;
 import org.web3j.abi.datatypes.Type;
 import org.web3j.crypto.Keys;
 import org.web3j.protocol.core.methods.response.EthBlock;
@@ -45,6 +43,9 @@ public class DefaultContractEventDetailsFactory implements ContractEventDetailsF
     private final EventParameterConverter<Type> parameterConverter;
     private final Node node;
     private final String networkName;
+    // Weak keys compare by identity, so a plan lives as long as the specification it was built for
+    private final Cache<ContractEventSpecification, ContractEventDecodingPlan> decodingPlans =
+            CacheBuilder.newBuilder().weakKeys().build();
 
     public DefaultContractEventDetailsFactory(
             EventParameterConverter<Type> parameterConverter, Node node, String networkName) {
@@ -82,6 +83,12 @@ public class DefaultContractEventDetailsFactory implements ContractEventDetailsF
         return eventDetails;
     }
 
+    @Override
+    public ContractEventDetails createEventDetails(
+            ContractEventFilter eventFilter, Log log, Block block, String from) {
+        return createEventDetails(eventFilter, log, block.getTimestamp(), from);
+    }
+
     @Override
     public ContractEventDetails createEventDetails(
             ContractEventFilter eventFilter,
@@ -100,10 +107,10 @@ public class DefaultContractEventDetailsFactory implements ContractEventDetailsF
             ContractEventFilter eventFilter, Log log) {
         final ContractEventSpecification eventSpec = eventFilter.getEventSpecification();
 
-        final List<EventParameter> nonIndexed =
-                typeListToParameterList(getNonIndexedParametersFromLog(eventSpec, log));
-        final List<EventParameter> indexed =
-                typeListToParameterList(getIndexedParametersFromLog(eventSpec, log));
+        final ContractEventDecodingPlan plan = getDecodingPlan(eventSpec);
+
+        final List<EventParameter> nonIndexed = plan.decodeNonIndexedParameters(log.getData());
+        final List<EventParameter> indexed = plan.decodeIndexedParameters(log.getTopics());
 
         final ContractEventDetails eventDetails = new ContractEventDetails();
         eventDetails.setName(eventSpec.getEventName());
@@ -115,7 +122,7 @@ public class DefaultContractEventDetailsFactory implements ContractEventDetailsF
         eventDetails.setTransactionHash(log.getTransactionHash());
         eventDetails.setBlockNumber(log.getBlockNumber());
         eventDetails.setBlockHash(log.getBlockHash());
-        eventDetails.setEventSpecificationSignature(Web3jUtil.getSignature(eventSpec));
+        eventDetails.setEventSpecificationSignature(plan.getSignature());
         eventDetails.setNetworkName(this.networkName);
         eventDetails.setNodeName(eventFilter.getNode());
         eventDetails.setExtensionData(eventFilter.getExtension());
@@ -132,64 +139,13 @@ public class DefaultContractEventDetailsFactory implements ContractEventDetailsF
         return eventDetails;
     }
 
-    private List<EventParameter> typeListToParameterList(List<Type> typeList) {
-        if (isNullOrEmpty(typeList)) {
-            return Collections.emptyList();
-        }
-
-        return typeList.stream().map(parameterConverter::convert).toList();
-    }
-
-    private List<Type> getNonIndexedParametersFromLog(
-            ContractEventSpecification eventSpec, Log log) {
-        if (StringUtils.hasLength(eventSpec.getWeb3EventSmartContractClass())) {
-            return FunctionReturnDecoder.decode(
-                    log.getData(),
-                    Web3jUtil.getEventFromWeb3SmartContractClassName(
-                                    eventSpec.getWeb3EventSmartContractClass(),
-                                    eventSpec.getEventName())
-                            .getNonIndexedParameters());
-        }
-        if (isNullOrEmpty(eventSpec.getNonIndexedParameterDefinitions())) {
-            return Collections.emptyList();
+    private ContractEventDecodingPlan getDecodingPlan(ContractEventSpecification eventSpec) {
+        try {
+            return decodingPlans.get(
+                    eventSpec, () -> new ContractEventDecodingPlan(eventSpec, parameterConverter));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
         }
-
-        List<ParameterDefinition> orderedParams =
-                new ArrayList<>(eventSpec.getNonIndexedParameterDefinitions());
-        orderedParams.sort((p1, p2) -> p1.getPosition().compareTo(p2.getPosition()));
-
-        return FunctionReturnDecoder.decode(
-                log.getData(),
-                Utils.convert(Web3jUtil.getTypeReferencesFromParameterDefinitions(orderedParams)));
-    }
-
-    private List<Type> getIndexedParametersFromLog(ContractEventSpecification eventSpec, Log log) {
-        if (StringUtils.hasLength(eventSpec.getWeb3EventSmartContractClass())) {
-            return FunctionReturnDecoder.decode(
-                    log.getData(),
-                    Web3jUtil.getEventFromWeb3SmartContractClassName(
-                                    eventSpec.getWeb3EventSmartContractClass(),
-                                    eventSpec.getEventName())
-                            .getIndexedParameters());
-        }
-        if (isNullOrEmpty(eventSpec.getIndexedParameterDefinitions())) {
-            return Collections.emptyList();
-        }
-
-        final List<String> encodedParameters = log.getTopics().subList(1, log.getTopics().size());
-        final List<ParameterDefinition> definitions = eventSpec.getIndexedParameterDefinitions();
-
-        return IntStream.range(0, encodedParameters.size())
-                .mapToObj(
-                        i ->
-                                FunctionReturnDecoder.decodeIndexedValue(
-                                        encodedParameters.get(i),
-                                        Web3jUtil.getTypeReferenceFromParameterType(
-                                                definitions.get(i).getType())))
-                .toList();
-    }
-
-    private boolean isNullOrEmpty(List<?> toCheck) {
-        return toCheck == null || toCheck.isEmpty();
     }
 }
@@ -18,21 +18,26 @@ import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.Transaction;
 import io.librevents.dto.transaction.TransactionDetails;
 import io.librevents.dto.transaction.TransactionStatus;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 import org.web3j.crypto.Keys;
 
 @Component
 public class DefaultTransactionDetailsFactory implements TransactionDetailsFactory {
 
-    private ModelMapper modelMapper = new ModelMapper();
-
     @Override
     public TransactionDetails createTransactionDetails(
             Transaction transaction, TransactionStatus status, Block block) {
 
         final TransactionDetails transactionDetails = new TransactionDetails();
-        modelMapper.map(transaction, transactionDetails);
+        transactionDetails.setHash(transaction.getHash());
+        transactionDetails.setNonce(transaction.getNonce());
+        transactionDetails.setBlockHash(transaction.getBlockHash());
+        transactionDetails.setBlockNumber(transaction.getBlockNumber());
+        transactionDetails.setTransactionIndex(transaction.getTransactionIndex());
+        transactionDetails.setFrom(transaction.getFrom());
+        transactionDetails.setTo(transaction.getTo());
+        transactionDetails.setValue(transaction.getValue());
+        transactionDetails.setInput(transaction.getInput());
 
         transactionDetails.setNodeName(block.getNodeName());
         transactionDetails.setTimestamp(block.getTimestamp());
@@ -0,0 +1,328 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retrieves the logs of a block range with as few queries as the node allows.
+ *
+ * <p>When a query is rejected because of the size of its range or results, or times out, the
+ * range is split in half and retried. After a run of sparse responses the range is doubled
+ * again. The learned range is remembered per node and contract, so later ranges of the contract
+ * start from it whichever of its event filters are synced together, but a single run of failures
+ * can only shrink it to an eighth of what it was, so that a burst of transient errors does not
+ * leave the contract with a tiny range for good. Ranges that go unused for a day are forgotten.
+ *
+ * <p>A rate limited query is retried with the same range after a backoff, as splitting it would
+ * only send more queries.
+ */
+@Slf4j
+public class AdaptiveLogRange {
+
+    private static final int SPARSE_RESULTS = 1000;
+    private static final int SPARSE_RESPONSES_TO_GROW = 3;
+    private static final int MAX_LEARNED_HALVINGS_PER_RUN = 3;
+    private static final int MAX_RATE_LIMIT_RETRIES = 5;
+    private static final Duration DEFAULT_RATE_LIMIT_BACKOFF = Duration.ofSeconds(1);
+    private static final long MAX_LEARNED_RANGES = 1000;
+    private static final Duration LEARNED_RANGE_EXPIRATION = Duration.ofHours(24);
+
+    // geth, Infura, Alchemy, QuickNode and most other providers, as well as query timeouts
+    private static final List<String> LIMIT_ERROR_MESSAGES =
+            List.of(
+                    "query returned more than",
+                    "response size exceeded",
+                    "block range",
+                    "timeout",
+                    "timed out");
+
+    private static final List<String> RATE_LIMIT_ERROR_MESSAGES =
+            List.of(
+                    "rate limit",
+                    "too many requests",
+                    "compute units per second",
+                    "response received: 429");
+
+    // Contracts come and go with their filters, so ranges that are no longer used are forgotten
+    private final Cache<String, LearnedRange> learnedRanges =
+            CacheBuilder.newBuilder()
+                    .maximumSize(MAX_LEARNED_RANGES)
+                    .expireAfterAccess(LEARNED_RANGE_EXPIRATION)
+                    .build();
+    private final Predicate<Throwable> isLimitError;
+    private final Duration rateLimitBackoff;
+
+    public AdaptiveLogRange(Predicate<Throwable> isLimitError) {
+        this(isLimitError, DEFAULT_RATE_LIMIT_BACKOFF);
+    }
+
+    AdaptiveLogRange(Predicate<Throwable> isLimitError, Duration rateLimitBackoff) {
+        this.isLimitError = isLimitError;
+        this.rateLimitBackoff = rateLimitBackoff;
+    }
+
+    /**
+     * @param rangeKey The key the range is learned under, see {@link #contractKey}
+     * @param startBlock The first block of the range
+     * @param endBlock The last block of the range, inclusive
+     * @param query Retrieves the logs of a part of the range, both ends inclusive
+     * @return The logs of the whole range, in block order
+     */
+    public <T> List<T> retrieve(
+            String rangeKey, BigInteger startBlock, BigInteger endBlock, RangeQuery<T> query)
+            throws IOException {
+        final List<T> results = new ArrayList<>();
+
+        retrieve(rangeKey, startBlock, endBlock, query, results::addAll);
+
+        return results;
+    }
+
+    /**
+     * Retrieves the logs of a block range, handing the logs of each successful query to the
+     * consumer as soon as it is obtained, so that the logs of the whole range are never held at
+     * once.
+     *
+     * @param rangeKey The key the range is learned under, see {@link #contractKey}
+     * @param startBlock The first block of the range
+     * @param endBlock The last block of the range, inclusive
+     * @param query Retrieves the logs of a part of the range, both ends inclusive
+     * @param logsConsumer Receives the logs of each part of the range, in block order
+     */
+    public <T> void retrieve(
+            String rangeKey,
+            BigInteger startBlock,
+            BigInteger endBlock,
+            RangeQuery<T> query,
+            Consumer<List<T>> logsConsumer)
+            throws IOException {
+        final LearnedRange learnedRange =
+                learnedRanges
+                        .asMap()
+                        .computeIfAbsent(
+                                rangeKey,
+                                key ->
+                                        new LearnedRange(
+                                                endBlock.subtract(startBlock).add(BigInteger.ONE)));
+
+        BigInteger span = learnedRange.getSpan();
+        final BigInteger minLearnedSpan =
+                span.shiftRight(MAX_LEARNED_HALVINGS_PER_RUN).max(BigInteger.ONE);
+        BigInteger fromBlock = startBlock;
+        int rateLimitRetries = 0;
+
+        while (fromBlock.compareTo(endBlock) <= 0) {
+            final BigInteger toBlock = fromBlock.add(span).subtract(BigInteger.ONE).min(endBlock);
+
+            final List<T> logs;
+
+            try {
+                logs = query.query(fromBlock, toBlock);
+            } catch (IOException | RuntimeException e) {
+                // A cancelled or interrupted retrieval fails as it is, without shrinking the range
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+
+                if (isCommonRateLimitError(e) && rateLimitRetries < MAX_RATE_LIMIT_RETRIES) {
+                    backOff(rateLimitRetries++, fromBlock, toBlock, rangeKey);
+                    continue;
+                }
+
+                if (toBlock.equals(fromBlock) || !isLimitError.test(e)) {
+                    throw e;
+                }
+
+                span = learnedRange.shrink(toBlock.subtract(fromBlock), minLearnedSpan);
+                log.info(
+                        "Log query of blocks {} to {} of {} failed ({}), retrying with a range of"
+                                + " {} blocks",
+                        fromBlock,
+                        toBlock,
+                        rangeKey,
+                        e.getMessage(),
+                        span);
+                continue;
+            }
+
+            span = learnedRange.onResponse(logs.size(), span);
+            fromBlock = toBlock.add(BigInteger.ONE);
+            rateLimitRetries = 0;
+
+            logsConsumer.accept(logs);
+        }
+    }
+
+    private void backOff(int retry, BigInteger fromBlock, BigInteger toBlock, String rangeKey)
+            throws InterruptedIOException {
+        final Duration backoff = rateLimitBackoff.multipliedBy(1L << retry);
+
+        log.info(
+                "Log query of blocks {} to {} of {} was rate limited, retrying in {}",
+                fromBlock,
+                toBlock,
+                rangeKey,
+                backoff);
+
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off a rate limit");
+        }
+    }
+
+    /**
+     * The event filters of a contract are synced in groups whose members come and go, so the range
+     * is learned for the contract rather than for a group.
+     *
+     * @param nodeName The name of the node the logs are retrieved from
+     * @param contractAddress The address of the contract, if any
+     * @return The key the range of the contract is learned under
+     */
+    public static String contractKey(String nodeName, String contractAddress) {
+        return nodeName
+                + ":"
+                + (contractAddress != null ? contractAddress.toLowerCase(Locale.ROOT) : "");
+    }
+
+    /**
+     * Recognises the errors that nodes and providers commonly return when a log query covers too
+     * many blocks or results, as well as timeouts.
+     *
+     * @param error The error of a log query
+     * @return true if querying a smaller range may succeed
+     */
+    public static boolean isCommonLimitError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                return true;
+            }
+
+            if (hasMessage(cause, LIMIT_ERROR_MESSAGES)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Recognises the errors that nodes and providers commonly return when too many requests are
+     * sent, regardless of their range.
+     *
+     * @param error The error of a log query
+     * @return true if the same query may succeed later
+     */
+    public static boolean isCommonRateLimitError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (hasMessage(cause, RATE_LIMIT_ERROR_MESSAGES)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasMessage(Throwable error, List<String> messages) {
+        final String message = error.getMessage();
+
+        if (message == null) {
+            return false;
+        }
+
+        final String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
+
+        return messages.stream().anyMatch(lowerCaseMessage::contains);
+    }
+
+    /**
+     * Queries the logs of a block range.
+     *
+     * @param <T> The type of the logs
+     */
+    @FunctionalInterface
+    public interface RangeQuery<T> {
+
+        List<T> query(BigInteger fromBlock, BigInteger toBlock) throws IOException;
+    }
+
+    private static class LearnedRange {
+
+        private BigInteger span;
+        private int sparseResponses;
+
+        private LearnedRange(BigInteger span) {
+            this.span = span.max(BigInteger.ONE);
+        }
+
+        private synchronized BigInteger getSpan() {
+            return span;
+        }
+
+        /**
+         * @param failedSpan The range that failed, which may already be smaller than the learned
+         *     one
+         * @param minLearnedSpan The smallest range the failure may leave learned
+         * @return The range to retry with
+         */
+        private synchronized BigInteger shrink(BigInteger failedSpan, BigInteger minLearnedSpan) {
+            final BigInteger retrySpan =
+                    failedSpan.add(BigInteger.ONE).shiftRight(1).max(BigInteger.ONE);
+
+            span = retrySpan.max(minLearnedSpan);
+            sparseResponses = 0;
+
+            return retrySpan;
+        }
+
+        /**
+         * @param results The number of results of the response
+         * @param currentSpan The range of the response
+         * @return The range of the next query
+         */
+        private synchronized BigInteger onResponse(int results, BigInteger currentSpan) {
+            if (results >= SPARSE_RESULTS) {
+                sparseResponses = 0;
+                return currentSpan;
+            }
+
+            if (++sparseResponses >= SPARSE_RESPONSES_TO_GROW) {
+                final BigInteger grownSpan = currentSpan.shiftLeft(1);
+
+                // The learned range may have been kept above the current one by the shrink cap
+                span = span.max(grownSpan);
+                sparseResponses = 0;
+                return grownSpan;
+            }
+
+            return currentSpan;
+        }
+    }
+}
@@ -48,6 +48,18 @@ public interface BlockchainService {
     List<ContractEventDetails> retrieveEvents(
             ContractEventFilter eventFilter, BigInteger startBlock, BigInteger endBlock);
 
+    /**
+     * Retrieves all events for a set of event filters on the same contract, querying the logs of
+     * the contract once and handing each log to the filters it matches.
+     *
+     * @param eventFilters The contract event filters, all of them on the same contract address.
+     * @param startBlock The start block
+     * @param endBlock The end block
+     * @return The blockchain contract events of every filter, in log order
+     */
+    List<ContractEventDetails> retrieveEvents(
+            List<ContractEventFilter> eventFilters, BigInteger startBlock, BigInteger endBlock);
+
     /**
      * Register a contract event listener for the specified event filter, that gets triggered when
      * an event matching the filter is emitted within the Ethereum network.
@@ -77,8 +89,24 @@ public interface BlockchainService {
      */
     public Optional<Block> getBlock(String blockHash, boolean fullTransactionObjects);
 
-    List<ContractEventDetails> getEventsForFilter(
-            ContractEventFilter filter, BigInteger blockNumber);
+    /**
+     * Retrieves the events emitted within an already obtained block for an event filter.
+     *
+     * @param filter The contract event filter that should be matched.
+     * @param block The block
+     * @return The blockchain contract events
+     */
+    List<ContractEventDetails> getEventsForFilter(ContractEventFilter filter, Block block);
+
+    /**
+     * Retrieves the events emitted within an already obtained block for several event filters at
+     * once, so that the logs of the block only need to be requested once.
+     *
+     * @param filters The contract event filters that should be matched.
+     * @param block The block
+     * @return The blockchain contract events, in the order they were emitted within the block
+     */
+    List<ContractEventDetails> getEventsForFilters(List<ContractEventFilter> filters, Block block);
 
     /**
      * Obtain the transaction receipt for a specified transaction id.
@@ -88,5 +116,15 @@ public interface BlockchainService {
      */
     TransactionReceipt getTransactionReceipt(String txId);
 
+    /**
+     * Notifies that a number of receipts of transactions included in a block are about to be
+     * requested, so that nodes able to do so can obtain all the receipts of the block with a
+     * single request.
+     *
+     * @param block The block that contains the transactions
+     * @param receiptsNeeded The number of receipts that are going to be requested
+     */
+    void prefetchTransactionReceipts(Block block, int receiptsNeeded);
+
     String getRevertReason(String from, String to, BigInteger blockNumber, String input);
 }
@@ -1,10 +1,14 @@
 package io.librevents.chain.service;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -12,12 +16,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.factory.ContractEventDetailsFactory;
 import io.librevents.chain.service.block.EventBlockManagementService;
+import io.librevents.chain.service.domain.converter.BlockResponseToHederaBlockConverter;
+import io.librevents.chain.service.domain.converter.ContractResultResponseToTransactionConverter;
 import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.chain.service.domain.io.*;
 import io.librevents.chain.service.domain.wrapper.HederaBlock;
 import io.librevents.chain.service.domain.wrapper.HederaTransactionReceipt;
-import io.librevents.chain.service.domain.wrapper.Web3jTransaction;
 import io.librevents.chain.settings.Node;
 import io.librevents.chain.util.Web3jUtil;
 import io.librevents.dto.event.ContractEventDetails;
@@ -28,7 +33,6 @@ import io.librevents.service.AsyncTaskService;
 import io.librevents.service.EventStoreService;
 import io.librevents.service.SubscriptionService;
 import io.librevents.service.exception.NotFoundException;
-import io.librevents.utils.AtomicBigInteger;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
@@ -38,7 +42,8 @@ import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.modelmapper.ModelMapper;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.web3j.protocol.core.methods.response.Log;
@@ -71,11 +76,12 @@ public class HederaService implements BlockchainService {
     private final Map<String, String> nodeHeaders;
     private final String nodeLimitPerRequest;
     private final BigInteger maxRetries;
-    private final ModelMapper modelMapper;
     private final ScheduledExecutorService scheduledExecutorService;
     private final EventBlockManagementService blockManagement;
     private final AsyncTaskService asyncTaskService;
     private final SubscriptionService subscriptionService;
+    private final AdaptiveLogRange logRange =
+            new AdaptiveLogRange(HederaService::isLogRangeLimitError);
 
     public HederaService(
             ContractEventDetailsFactory eventDetailsFactory,
@@ -83,7 +89,6 @@ public class HederaService implements BlockchainService {
             ObjectMapper objectMapper,
             Node node,
             ScheduledExecutorService scheduledExecutorService,
-            ModelMapper modelMapper,
             OkHttpClient okHttpClient,
             EventBlockManagementService blockManagement,
             AsyncTaskService asyncTaskService,
@@ -93,7 +98,6 @@ public class HederaService implements BlockchainService {
         this.eventStoreService = eventStoreService;
         this.objectMapper = objectMapper;
         this.okHttpClient = okHttpClient;
-        this.modelMapper = modelMapper;
         this.nodeName = node.getName();
         this.nodeUrl = node.getUrl();
         this.nodeHeaders = node.getHeaders();
@@ -248,6 +252,65 @@ public class HederaService implements BlockchainService {
         return response;
     }
 
+    /**
+     * Gets the contract results of consecutive blocks with paginated calls over the whole
+     * timestamp range of the blocks, and splits them back to their blocks
+     *
+     * @param blocks Consecutive blocks, in ascending order
+     * @return Returns the contract results keyed by block number, blocks without results are absent
+     */
+    public Map<BigInteger, List<ContractResultResponse>> getContractResultsByBlocks(
+            List<BlockResponse> blocks) throws IOException, NotFoundException {
+        final BigInteger firstBlock = blocks.getFirst().getNumber();
+        String url = nodeUrl + API_VERSION_PATH + CONTRACT_RESULTS_PATH;
+        HttpUrl.Builder httpBuilder = HttpUrl.parse(url).newBuilder();
+        httpBuilder.addQueryParameter(
+                TIMESTAMP, GTE + ":" + blocks.getFirst().getTimestamp().getFrom());
+        httpBuilder.addQueryParameter(
+                TIMESTAMP, LTE + ":" + blocks.getLast().getTimestamp().getTo());
+        httpBuilder.addQueryParameter(LIMIT, nodeLimitPerRequest);
+        httpBuilder.addQueryParameter(ORDER, ASC);
+
+        ContractResultsResponse response =
+                doContractResultsRequest(httpBuilder, BigInteger.ZERO, firstBlock);
+        final List<ContractResultResponse> results = new ArrayList<>(response.getResults());
+
+        while (response.getLinks() != null && response.getLinks().get(NEXT) != null) {
+            httpBuilder = HttpUrl.parse(nodeUrl + response.getLinks().get(NEXT)).newBuilder();
+            response = doContractResultsRequest(httpBuilder, BigInteger.ZERO, firstBlock);
+            results.addAll(response.getResults());
+        }
+
+        return splitByBlock(blocks, results);
+    }
+
+    private Map<BigInteger, List<ContractResultResponse>> splitByBlock(
+            List<BlockResponse> blocks, List<ContractResultResponse> results) {
+        final NavigableMap<BigDecimal, BlockResponse> blocksByStart = new TreeMap<>();
+        blocks.forEach(
+                block -> blocksByStart.put(new BigDecimal(block.getTimestamp().getFrom()), block));
+
+        final Map<BigInteger, List<ContractResultResponse>> resultsByBlock = new HashMap<>();
+        results.forEach(
+                result -> {
+                    final BigDecimal timestamp = new BigDecimal(result.getTimestamp());
+                    final Map.Entry<BigDecimal, BlockResponse> block =
+                            blocksByStart.floorEntry(timestamp);
+
+                    if (block != null
+                            && timestamp.compareTo(
+                                            new BigDecimal(block.getValue().getTimestamp().getTo()))
+                                    <= 0) {
+                        resultsByBlock
+                                .computeIfAbsent(
+                                        block.getValue().getNumber(), number -> new ArrayList<>())
+                                .add(result);
+                    }
+                });
+
+        return resultsByBlock;
+    }
+
     /**
      * Controls retries of the call to contract result (single) It is used from the
      * filterAndGetContractResults method
@@ -294,7 +357,6 @@ public class HederaService implements BlockchainService {
      */
     public List<ContractResultResponse> filterAndGetContractResults(
             List<ContractResultResponse> responses) {
-        List<ContractResultResponse> txs = new ArrayList<>();
         List<ContractEventFilter> eventFilters = subscriptionService.listContractEventFilters();
 
         List<ContractResultResponse> responsesFiltered =
@@ -316,9 +378,9 @@ public class HederaService implements BlockchainService {
                                                                                                 .getAddress())))
                         .toList();
 
-        responsesFiltered.parallelStream()
-                .forEach(res -> txs.add(callToContractResult(res, BigInteger.ZERO)));
-        return txs;
+        return responsesFiltered.parallelStream()
+                .map(res -> callToContractResult(res, BigInteger.ZERO))
+                .toList();
     }
 
     /**
@@ -327,37 +389,79 @@ public class HederaService implements BlockchainService {
      * @param block Block to manage
      */
     public void processBlock(HederaBlock block) {
-        block.setNodeName(nodeName);
-        String ethTimestamp =
-                block.getFromTimestamp().substring(0, block.getFromTimestamp().indexOf("."));
-        block.setTimestamp(new BigInteger(ethTimestamp));
+        setBlockDetails(block);
         try {
-            List<ContractResultResponse> responses =
-                    this.getContractResultsByBlock(block.getNumber()).getResults();
-            log.debug(
-                    "Contract results: {}, Block Number: {}, From timestamp: {}, To timestamp: {}",
-                    responses.size(),
-                    block.getNumber(),
-                    block.getFromTimestamp(),
-                    block.getToTimestamp());
-
-            List<ContractResultResponse> responsesFiltered =
-                    this.filterAndGetContractResults(responses);
-
-            block.setContractResults(responsesFiltered);
-            block.setTransactions(
-                    responsesFiltered.stream()
-                            .map(el -> this.modelMapper.map(el, Web3jTransaction.class))
-                            .collect(Collectors.toList()));
-            log.debug(
-                    "Contract results filtered: {}, Block Number: {}",
-                    responsesFiltered.size(),
-                    block.getNumber());
+            setContractResults(
+                    block, this.getContractResultsByBlock(block.getNumber()).getResults());
         } catch (NotFoundException | IOException exception) {
             log.warn(exception.getMessage());
         }
     }
 
+    /**
+     * Method to manage consecutive blocks at once, obtaining the contract results of all of them
+     * with the same calls
+     *
+     * @param blockResponses Consecutive blocks, in ascending order
+     * @return Returns the managed blocks
+     */
+    public List<HederaBlock> processBlocks(List<BlockResponse> blockResponses) {
+        final List<HederaBlock> blocks =
+                blockResponses.stream().map(BlockResponseToHederaBlockConverter::map).toList();
+        final Map<BigInteger, List<ContractResultResponse>> resultsByBlock;
+
+        try {
+            resultsByBlock = getContractResultsByBlocks(blockResponses);
+        } catch (NotFoundException | IOException | MirrorUnexpectedException exception) {
+            log.warn(
+                    "Unable to get the contract results of blocks {} to {}, getting them block by"
+                            + " block: {}",
+                    blocks.getFirst().getNumber(),
+                    blocks.getLast().getNumber(),
+                    exception.getMessage());
+            blocks.forEach(this::processBlock);
+            return blocks;
+        }
+
+        blocks.forEach(
+                block -> {
+                    setBlockDetails(block);
+                    setContractResults(
+                            block, resultsByBlock.getOrDefault(block.getNumber(), List.of()));
+                });
+
+        return blocks;
+    }
+
+    private void setBlockDetails(HederaBlock block) {
+        block.setNodeName(nodeName);
+        String ethTimestamp =
+                block.getFromTimestamp().substring(0, block.getFromTimestamp().indexOf("."));
+        block.setTimestamp(new BigInteger(ethTimestamp));
+    }
+
+    private void setContractResults(HederaBlock block, List<ContractResultResponse> responses) {
+        log.debug(
+                "Contract results: {}, Block Number: {}, From timestamp: {}, To timestamp: {}",
+                responses.size(),
+                block.getNumber(),
+                block.getFromTimestamp(),
+                block.getToTimestamp());
+
+        List<ContractResultResponse> responsesFiltered =
+                this.filterAndGetContractResults(responses);
+
+        block.setContractResults(responsesFiltered);
+        block.setTransactions(
+                responsesFiltered.stream()
+                        .map(ContractResultResponseToTransactionConverter::map)
+                        .collect(Collectors.toList()));
+        log.debug(
+                "Contract results filtered: {}, Block Number: {}",
+                responsesFiltered.size(),
+                block.getNumber());
+    }
+
     /**
      * This method obtains a block by number
      *
@@ -380,42 +484,55 @@ public class HederaService implements BlockchainService {
     }
 
     /**
-     * Create a flowable object for retrying blocks sequentially
+     * This method obtains a page of consecutive blocks
+     *
+     * @param fromBlock Number of the first block
+     * @return Returns up to the limit per request blocks from fromBlock on, in ascending order
+     */
+    public List<BlockResponse> getBlocks(BigInteger fromBlock)
+            throws IOException, NotFoundException {
+        HttpUrl.Builder httpBuilder =
+                HttpUrl.parse(nodeUrl + API_VERSION_PATH + BLOCKS_PATH).newBuilder();
+        httpBuilder.addQueryParameter(BLOCK_NUMBER, GTE + ":" + fromBlock);
+        httpBuilder.addQueryParameter(LIMIT, nodeLimitPerRequest);
+        httpBuilder.addQueryParameter(ORDER, ASC);
+
+        Request request = generateHttpRequest(httpBuilder);
+        BlocksResponse blocksResponse =
+                this.newCall(request, new TypeReference<BlocksResponse>() {});
+
+        final List<BlockResponse> blocks = new ArrayList<>();
+        BigInteger expectedBlock = fromBlock;
+        for (BlockResponse block : blocksResponse.getBlocks()) {
+            if (!block.getNumber().equals(expectedBlock)) {
+                break;
+            }
+            blocks.add(block);
+            expectedBlock = expectedBlock.add(BigInteger.ONE);
+        }
+
+        if (blocks.isEmpty()) {
+            throw new NotFoundException(String.format("Block %d not found!", fromBlock));
+        }
+        return blocks;
+    }
+
+    /**
+     * Create a pull based flowable of the blocks of the node, starting at a block.
+     *
+     * <p>Blocks are only polled while the subscriber has requested them, so none is ever dropped.
+     * While the node is ahead the next block is polled right away, once the head of the chain is
+     * reached it is polled every pollingInterval.
      *
      * @param startBlock Start block for get
-     * @param pollingInterval Time between retries
+     * @param pollingInterval Time between polls at the head of the chain
      * @return Returns a flowable HederaBlock
      */
     public Flowable<HederaBlock> blocksFlowable(BigInteger startBlock, Long pollingInterval) {
-        AtomicBigInteger currentBlock = new AtomicBigInteger(startBlock);
-        return Flowable.create(
+        return Flowable.<HederaBlock>fromPublisher(
                 subscriber ->
-                        scheduledExecutorService.scheduleAtFixedRate(
-                                () -> {
-                                    try {
-                                        HederaBlock block =
-                                                this.modelMapper.map(
-                                                        getBlock(currentBlock.get()),
-                                                        HederaBlock.class);
-                                        this.processBlock(block);
-                                        currentBlock.increment();
-                                        subscriber.onNext(block);
-                                    } catch (NotFoundException notFoundException) {
-                                        if (currentBlock.get().compareTo(startBlock) > 0) {
-                                            log.info(
-                                                    "Awaiting for new block {}",
-                                                    currentBlock.get());
-                                        } else {
-                                            log.error(notFoundException.getMessage());
-                                        }
-                                    } catch (IOException var3) {
-                                        log.error("Error sending request", var3);
-                                    }
-                                },
-                                0L,
-                                pollingInterval,
-                                TimeUnit.MILLISECONDS),
-                BackpressureStrategy.DROP);
+                        subscriber.onSubscribe(
+                                new BlockPoller(subscriber, startBlock, pollingInterval)));
     }
 
     /**
@@ -482,14 +599,70 @@ public class HederaService implements BlockchainService {
     @Override
     public List<ContractEventDetails> retrieveEvents(
             ContractEventFilter eventFilter, BigInteger startBlock, BigInteger endBlock) {
+        return retrieveEvents(List.of(eventFilter), startBlock, endBlock);
+    }
 
-        final ContractEventSpecification eventSpec = eventFilter.getEventSpecification();
+    /**
+     * Retrieves all events for a set of event filters on the same contract. The mirror node logs
+     * of the contract are only requested once, and each log is matched against every filter.
+     *
+     * @param eventFilters The contract event filters, all of them on the same contract address.
+     * @param startBlock The start block
+     * @param endBlock The end block
+     * @return The blockchain contract events of every filter, in log order
+     */
+    @Override
+    public List<ContractEventDetails> retrieveEvents(
+            List<ContractEventFilter> eventFilters, BigInteger startBlock, BigInteger endBlock) {
+        final ContractEventFilter firstFilter = eventFilters.getFirst();
+        final Map<ContractEventFilter, String> signatures = new LinkedHashMap<>();
+
+        eventFilters.forEach(
+                filter ->
+                        signatures.put(
+                                filter,
+                                filter.getEventSpecification() != null
+                                        ? Web3jUtil.getSignature(filter.getEventSpecification())
+                                        : null));
+
+        List<ContractEventDetails> contractEventDetails = new ArrayList<>();
+        try {
+            List<LogHederaMirrorNodeResponse> logsHederaMirrorNode =
+                    logRange.retrieve(
+                            AdaptiveLogRange.contractKey(
+                                    nodeName, firstFilter.getContractAddress()),
+                            startBlock,
+                            endBlock,
+                            (fromBlock, toBlock) -> getLogs(firstFilter, fromBlock, toBlock));
+
+            for (LogHederaMirrorNodeResponse el : logsHederaMirrorNode) {
+                signatures.forEach(
+                        (filter, signature) -> {
+                            if (signature == null
+                                    || signature.contentEquals(el.getTopics().getFirst())) {
+                                contractEventDetails.add(
+                                        eventDetailsFactory.createEventDetails(
+                                                filter,
+                                                buildLog(el),
+                                                BigInteger.ZERO,
+                                                filter.getContractAddress()));
+                            }
+                        });
+            }
+
+        } catch (Exception e) {
+            throw new BlockchainException("Error when obtaining logs from mirror node", e);
+        }
+        return contractEventDetails;
+    }
 
-        List<ContractEventDetails> contractEventDetails;
+    private List<LogHederaMirrorNodeResponse> getLogs(
+            ContractEventFilter eventFilter, BigInteger startBlock, BigInteger endBlock)
+            throws IOException {
         try {
             LogsResponseHederaMirrorNodeResponse logResponse =
                     getLogResponse(eventFilter, startBlock, endBlock);
-            List<LogHederaMirrorNodeResponse> logsHederaMirrorNode = logResponse.getLogs();
+            List<LogHederaMirrorNodeResponse> logs = logResponse.getLogs();
             HttpUrl.Builder httpBuilder;
             while (logResponse.getLinks().getNext() != null) {
                 httpBuilder =
@@ -501,34 +674,23 @@ public class HederaService implements BlockchainService {
                         this.newCall(
                                 request,
                                 new TypeReference<LogsResponseHederaMirrorNodeResponse>() {});
-                logsHederaMirrorNode.addAll(logResponse.getLogs());
+                logs.addAll(logResponse.getLogs());
             }
-
-            if (eventFilter.getEventSpecification() != null) {
-                logsHederaMirrorNode =
-                        logsHederaMirrorNode.stream()
-                                .filter(
-                                        f ->
-                                                Web3jUtil.getSignature(eventSpec)
-                                                        .contentEquals(f.getTopics().getFirst()))
-                                .collect(Collectors.toList());
-            }
-
-            contractEventDetails =
-                    logsHederaMirrorNode.stream()
-                            .map(
-                                    el ->
-                                            eventDetailsFactory.createEventDetails(
-                                                    eventFilter,
-                                                    buildLog(el),
-                                                    BigInteger.ZERO,
-                                                    eventFilter.getContractAddress()))
-                            .toList();
-
-        } catch (Exception e) {
-            throw new BlockchainException("Error when obtaining logs from mirror node", e);
+            return logs;
+        } catch (NotFoundException e) {
+            throw new BlockchainException("Block not found when obtaining logs", e);
         }
-        return contractEventDetails;
+    }
+
+    /**
+     * Rejected log queries and timeouts are retried with a smaller block range. Mirror node
+     * errors embed the request url, so they are not matched by their message.
+     */
+    private static boolean isLogRangeLimitError(Throwable error) {
+        return error instanceof InterruptedIOException
+                || (error instanceof MirrorUnexpectedException
+                        && error.getMessage() != null
+                        && error.getMessage().startsWith("Invalid request"));
     }
 
     /**
@@ -641,7 +803,7 @@ public class HederaService implements BlockchainService {
         BlockResponse blockResponse = null;
         try {
             blockResponse = this.newCall(request, new TypeReference<BlockResponse>() {});
-            return Optional.of(this.modelMapper.map(blockResponse, HederaBlock.class));
+            return Optional.of(BlockResponseToHederaBlockConverter.map(blockResponse));
         } catch (IOException | NotFoundException e) {
             return Optional.empty();
         }
@@ -663,6 +825,11 @@ public class HederaService implements BlockchainService {
         }
     }
 
+    @Override
+    public void prefetchTransactionReceipts(Block block, int receiptsNeeded) {
+        // The contract results of a block are already obtained with the block itself
+    }
+
     /**
      * Obtain the latest block for start
      *
@@ -755,8 +922,13 @@ public class HederaService implements BlockchainService {
     }
 
     @Override
-    public List<ContractEventDetails> getEventsForFilter(
-            ContractEventFilter filter, BigInteger blockNumber) {
+    public List<ContractEventDetails> getEventsForFilter(ContractEventFilter filter, Block block) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ContractEventDetails> getEventsForFilters(
+            List<ContractEventFilter> filters, Block block) {
         return Collections.emptyList();
     }
 
@@ -764,4 +936,133 @@ public class HederaService implements BlockchainService {
     public String getRevertReason(String from, String to, BigInteger blockNumber, String input) {
         return null;
     }
+
+    /**
+     * Polls the blocks of the node on the scheduler shared by every Hedera node. A single block is
+     * emitted per run, so that the nodes take turns, and runs are only scheduled while there is
+     * demand.
+     */
+    private final class BlockPoller implements Subscription, Runnable {
+
+        private final Subscriber<? super HederaBlock> subscriber;
+        private final BigInteger startBlock;
+        private final long pollingInterval;
+        private final AtomicLong requested = new AtomicLong(0);
+        private final AtomicBoolean polling = new AtomicBoolean(false);
+        private final Deque<HederaBlock> polledBlocks = new ArrayDeque<>();
+        private volatile boolean cancelled;
+        private BigInteger currentBlock;
+
+        private BlockPoller(
+                Subscriber<? super HederaBlock> subscriber,
+                BigInteger startBlock,
+                long pollingInterval) {
+            this.subscriber = subscriber;
+            this.startBlock = startBlock;
+            this.pollingInterval = pollingInterval;
+            this.currentBlock = startBlock;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(
+                        new IllegalArgumentException("Requested blocks must be positive: " + n));
+                return;
+            }
+
+            requested.updateAndGet(
+                    current -> Long.MAX_VALUE - current > n ? current + n : Long.MAX_VALUE);
+            startPolling();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            if (requested.get() == 0) {
+                polling.set(false);
+                // Demand may have arrived right before polling stopped
+                if (requested.get() > 0) {
+                    startPolling();
+                }
+                return;
+            }
+
+            final HederaBlock block;
+            try {
+                block = pollBlock();
+            } catch (RuntimeException e) {
+                cancelled = true;
+                subscriber.onError(e);
+                return;
+            }
+
+            if (block == null) {
+                scheduledExecutorService.schedule(this, pollingInterval, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            currentBlock = currentBlock.add(BigInteger.ONE);
+            requested.updateAndGet(current -> current == Long.MAX_VALUE ? current : current - 1);
+            subscriber.onNext(block);
+
+            scheduledExecutorService.execute(this);
+        }
+
+        private void startPolling() {
+            if (polling.compareAndSet(false, true)) {
+                scheduledExecutorService.execute(this);
+            }
+        }
+
+        /**
+         * @return The current block, or null if the node does not have it yet
+         */
+        private HederaBlock pollBlock() {
+            if (polledBlocks.isEmpty()) {
+                polledBlocks.addAll(pollBlocks());
+            }
+
+            return polledBlocks.poll();
+        }
+
+        /**
+         * While catching up, a page of blocks is polled and processed at once. At the head of the
+         * chain the page holds a single block.
+         */
+        private List<HederaBlock> pollBlocks() {
+            try {
+                final List<BlockResponse> blocks = getBlocks(currentBlock);
+
+                if (blocks.size() == 1) {
+                    final HederaBlock block =
+                            BlockResponseToHederaBlockConverter.map(blocks.getFirst());
+                    processBlock(block);
+                    return List.of(block);
+                }
+
+                log.info("Catching up blocks {} to {}", currentBlock, blocks.getLast().getNumber());
+                return processBlocks(blocks);
+            } catch (NotFoundException notFoundException) {
+                if (currentBlock.compareTo(startBlock) > 0) {
+                    log.info("Awaiting for new block {}", currentBlock);
+                } else {
+                    log.error(notFoundException.getMessage());
+                }
+            } catch (IOException e) {
+                log.error("Error sending request", e);
+            }
+
+            return List.of();
+        }
+    }
 }
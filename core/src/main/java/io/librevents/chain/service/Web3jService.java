@@ -16,17 +16,29 @@ package io.librevents.chain.service;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.factory.ContractEventDetailsFactory;
+import io.librevents.chain.service.block.BlockTimestampCache;
 import io.librevents.chain.service.block.EventBlockManagementService;
+import io.librevents.chain.service.block.TransactionReceiptCache;
 import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.Transaction;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.chain.service.domain.wrapper.Web3jBlock;
 import io.librevents.chain.service.domain.wrapper.Web3jTransactionReceipt;
+import io.librevents.chain.settings.NodeSettings;
 import io.librevents.chain.util.Web3jUtil;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
@@ -43,7 +55,6 @@ import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.methods.request.EthFilter;
-import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
 
 /**
@@ -56,23 +67,36 @@ public class Web3jService implements BlockchainService {
 
     private static final String EVENT_EXECUTOR_NAME = "EVENT";
 
+    private static final int METHOD_NOT_FOUND_ERROR_CODE = -32601;
+
     @Getter @Setter private Web3j web3j;
     private final String nodeName;
     private final AsyncTaskService asyncTaskService;
     private final EventBlockManagementService blockManagement;
     private final ContractEventDetailsFactory eventDetailsFactory;
+    private final TransactionReceiptCache receiptCache;
+    private final NodeSettings nodeSettings;
+    private final BlockTimestampCache blockTimestampCache = new BlockTimestampCache();
+    private final AtomicBoolean blockReceiptsSupported = new AtomicBoolean(true);
+    private final AtomicReference<String> lastPrefetchedBlockHash = new AtomicReference<>();
+    private final AdaptiveLogRange logRange =
+            new AdaptiveLogRange(AdaptiveLogRange::isCommonLimitError);
 
     public Web3jService(
             String nodeName,
             Web3j web3j,
             ContractEventDetailsFactory eventDetailsFactory,
             AsyncTaskService asyncTaskService,
-            EventBlockManagementService blockManagement) {
+            EventBlockManagementService blockManagement,
+            TransactionReceiptCache receiptCache,
+            NodeSettings nodeSettings) {
         this.web3j = web3j;
         this.nodeName = nodeName;
         this.asyncTaskService = asyncTaskService;
         this.blockManagement = blockManagement;
         this.eventDetailsFactory = eventDetailsFactory;
+        this.receiptCache = receiptCache;
+        this.nodeSettings = nodeSettings;
     }
 
     @Override
@@ -83,25 +107,96 @@ public class Web3jService implements BlockchainService {
     @Override
     public List<ContractEventDetails> retrieveEvents(
             ContractEventFilter eventFilter, BigInteger startBlock, BigInteger endBlock) {
-        final ContractEventSpecification eventSpec = eventFilter.getEventSpecification();
-
-        final EthFilter ethFilter =
-                new EthFilter(
-                        new DefaultBlockParameterNumber(startBlock),
-                        new DefaultBlockParameterNumber(endBlock),
-                        eventFilter.getContractAddress());
+        return retrieveEvents(List.of(eventFilter), startBlock, endBlock);
+    }
 
-        if (eventFilter.getEventSpecification() != null) {
-            ethFilter.addSingleTopic(Web3jUtil.getSignature(eventSpec));
-        }
+    @Override
+    public List<ContractEventDetails> retrieveEvents(
+            List<ContractEventFilter> eventFilters, BigInteger startBlock, BigInteger endBlock) {
+        final ContractEventFilter firstFilter = eventFilters.getFirst();
+        final Map<String, List<ContractEventFilter>> filtersBySignature = new HashMap<>();
+        final List<ContractEventFilter> unspecifiedFilters = new ArrayList<>();
+
+        eventFilters.forEach(
+                filter -> {
+                    if (filter.getEventSpecification() == null) {
+                        unspecifiedFilters.add(filter);
+                    } else {
+                        filtersBySignature
+                                .computeIfAbsent(
+                                        Web3jUtil.getSignature(filter.getEventSpecification())
+                                                .toLowerCase(),
+                                        signature -> new ArrayList<>())
+                                .add(filter);
+                    }
+                });
+
+        final List<ContractEventDetails> eventDetails = new ArrayList<>();
 
         try {
-            return extractEventDetailsFromLogs(ethFilter, eventFilter, endBlock);
+            // The logs of each query are turned into events and dropped before the next one
+            logRange.retrieve(
+                    AdaptiveLogRange.contractKey(nodeName, firstFilter.getContractAddress()),
+                    startBlock,
+                    endBlock,
+                    (fromBlock, toBlock) -> {
+                        final EthFilter ethFilter =
+                                new EthFilter(
+                                        new DefaultBlockParameterNumber(fromBlock),
+                                        new DefaultBlockParameterNumber(toBlock),
+                                        firstFilter.getContractAddress());
+
+                        // A filter without specification needs every log of the contract
+                        if (unspecifiedFilters.isEmpty()) {
+                            ethFilter.addOptionalTopics(
+                                    filtersBySignature.keySet().toArray(String[]::new));
+                        }
+
+                        return getLogs(ethFilter, firstFilter);
+                    },
+                    logs ->
+                            logs.forEach(
+                                    theLog ->
+                                            addEventDetails(
+                                                    theLog,
+                                                    unspecifiedFilters,
+                                                    filtersBySignature,
+                                                    eventDetails)));
+
+            return eventDetails;
         } catch (IOException e) {
             throw new BlockchainException("Error obtaining logs", e);
         }
     }
 
+    private void addEventDetails(
+            Log theLog,
+            List<ContractEventFilter> unspecifiedFilters,
+            Map<String, List<ContractEventFilter>> filtersBySignature,
+            List<ContractEventDetails> eventDetails) {
+        final List<ContractEventFilter> matchingFilters = new ArrayList<>(unspecifiedFilters);
+
+        if (!theLog.getTopics().isEmpty()) {
+            matchingFilters.addAll(
+                    filtersBySignature.getOrDefault(
+                            theLog.getTopics().getFirst().toLowerCase(),
+                            Collections.emptyList()));
+        }
+
+        if (matchingFilters.isEmpty()) {
+            return;
+        }
+
+        final BigInteger timestamp = getBlockTimestamp(theLog);
+        final String from = getTransactionReceipt(theLog).getFrom();
+
+        matchingFilters.forEach(
+                filter ->
+                        eventDetails.add(
+                                eventDetailsFactory.createEventDetails(
+                                        filter, theLog, timestamp, from)));
+    }
+
     /** {inheritDoc} */
     @Override
     public FilterSubscription registerEventListener(
@@ -132,15 +227,6 @@ public class Web3jService implements BlockchainService {
                                         EVENT_EXECUTOR_NAME,
                                         () -> {
                                             try {
-                                                BigInteger blockNumber = theLog.getBlockNumber();
-                                                DefaultBlockParameterNumber blockParameterNumber =
-                                                        new DefaultBlockParameterNumber(
-                                                                blockNumber);
-                                                EthBlock ethBlock =
-                                                        this.web3j
-                                                                .ethGetBlockByNumber(
-                                                                        blockParameterNumber, false)
-                                                                .send();
                                                 TransactionReceipt transactionReceipt =
                                                         getTransactionReceipt(theLog);
 
@@ -149,9 +235,9 @@ public class Web3jService implements BlockchainService {
                                                         eventDetailsFactory.createEventDetails(
                                                                 eventFilter,
                                                                 theLog,
-                                                                ethBlock,
-                                                                transactionReceipt));
-                                            } catch (IOException exception) {
+                                                                getBlockTimestamp(theLog),
+                                                                transactionReceipt.getFrom()));
+                                            } catch (BlockchainException exception) {
                                                 log.warn(exception.getMessage());
                                             }
                                         });
@@ -203,6 +289,10 @@ public class Web3jService implements BlockchainService {
     /** {inheritDoc} */
     @Override
     public TransactionReceipt getTransactionReceipt(String txId) { // Overwritten in eea
+        return receiptCache.getTransactionReceipt(nodeName, txId, this::fetchTransactionReceipt);
+    }
+
+    private TransactionReceipt fetchTransactionReceipt(String txId) {
         try {
             final EthGetTransactionReceipt response = web3j.ethGetTransactionReceipt(txId).send();
 
@@ -239,8 +329,9 @@ public class Web3jService implements BlockchainService {
         }
     }
 
-    public List<ContractEventDetails> getEventsForFilter(
-            ContractEventFilter filter, BigInteger blockNumber) {
+    @Override
+    public List<ContractEventDetails> getEventsForFilter(ContractEventFilter filter, Block block) {
+        final BigInteger blockNumber = block.getNumber();
 
         try {
             final ContractEventSpecification eventSpec = filter.getEventSpecification();
@@ -254,18 +345,116 @@ public class Web3jService implements BlockchainService {
                 ethFilter = ethFilter.addSingleTopic(Web3jUtil.getSignature(eventSpec));
             }
 
-            return extractEventDetailsFromLogs(ethFilter, filter, blockNumber);
+            final List<Log> logs = getLogs(ethFilter, filter);
+
+            if (logs.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final Map<String, Transaction> transactionsByHash = getTransactionsByHash(block);
+            prefetchReceiptsOfLogs(block, logs, transactionsByHash);
+
+            return logs.stream()
+                    .map(
+                            theLog ->
+                                    eventDetailsFactory.createEventDetails(
+                                            filter,
+                                            theLog,
+                                            block,
+                                            getTransactionSender(theLog, transactionsByHash)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new BlockchainException(
+                    "Error when obtaining logs from block: " + blockNumber, e);
+        }
+    }
+
+    @Override
+    public List<ContractEventDetails> getEventsForFilters(
+            List<ContractEventFilter> filters, Block block) {
+        if (filters.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final BigInteger blockNumber = block.getNumber();
+
+        try {
+            // Querying by hash (EIP-234) pins the logs to the block being processed, so a reorg
+            // between the header and the logs request can not mix logs of a sibling block in.
+            final EthFilter ethFilter =
+                    new EthFilter(
+                            block.getHash(),
+                            filters.stream()
+                                    .map(ContractEventFilter::getContractAddress)
+                                    .distinct()
+                                    .toList());
+
+            ethFilter.addOptionalTopics(
+                    filters.stream()
+                            .map(filter -> Web3jUtil.getSignature(filter.getEventSpecification()))
+                            .distinct()
+                            .toArray(String[]::new));
+
+            return extractEventDetailsFromLogs(ethFilter, filters, block);
         } catch (IOException e) {
             throw new BlockchainException(
                     "Error when obtaining logs from block: " + blockNumber, e);
         }
     }
 
+    /** {inheritDoc} */
+    @Override
+    public void prefetchTransactionReceipts(Block block, int receiptsNeeded) {
+        final Integer threshold = nodeSettings.getNode(nodeName).getBlockReceiptsThreshold();
+        final String blockHash = block.getHash();
+
+        if (threshold == null
+                || threshold <= 0
+                || receiptsNeeded <= threshold
+                || !blockReceiptsSupported.get()
+                || blockHash.equals(lastPrefetchedBlockHash.get())) {
+            return;
+        }
+
+        try {
+            final EthGetBlockReceipts response =
+                    web3j.ethGetBlockReceipts(DefaultBlockParameter.valueOf(block.getNumber()))
+                            .send();
+
+            if (response.hasError()) {
+                if (response.getError().getCode() == METHOD_NOT_FOUND_ERROR_CODE) {
+                    log.info(
+                            "Node {} does not support eth_getBlockReceipts, receipts will be"
+                                    + " requested one by one",
+                            nodeName);
+                    blockReceiptsSupported.set(false);
+                }
+                return;
+            }
+
+            final List<TransactionReceipt> blockReceipts =
+                    response.getBlockReceipts().orElse(Collections.emptyList()).stream()
+                            .filter(receipt -> blockHash.equalsIgnoreCase(receipt.getBlockHash()))
+                            .<TransactionReceipt>map(Web3jTransactionReceipt::new)
+                            .toList();
+
+            receiptCache.putTransactionReceipts(nodeName, blockReceipts);
+            // Only a successful prefetch is remembered, so a failed one is tried again
+            lastPrefetchedBlockHash.set(blockHash);
+        } catch (IOException e) {
+            log.warn(
+                    "Unable to obtain the receipts of block {}, they will be requested one by one",
+                    block.getNumber(),
+                    e);
+        }
+    }
+
     @Override
     public String getRevertReason(String from, String to, BigInteger blockNumber, String input) {
         try {
             return web3j.ethCall(
-                            Transaction.createEthCallTransaction(from, to, input),
+                            org.web3j.protocol.core.methods.request.Transaction
+                                    .createEthCallTransaction(from, to, input),
                             DefaultBlockParameter.valueOf(blockNumber))
                     .send()
                     .getRevertReason();
@@ -274,26 +463,92 @@ public class Web3jService implements BlockchainService {
         }
     }
 
-    protected List<ContractEventDetails> extractEventDetailsFromLogs(
-            EthFilter ethFilter, ContractEventFilter eventFilter, BigInteger blockNumber)
+    /**
+     * Obtains the logs matching an EthFilter built for a single event filter. Overridden when the
+     * logs of a filter have to be requested through a different API.
+     */
+    protected List<Log> getLogs(EthFilter ethFilter, ContractEventFilter eventFilter)
             throws IOException {
-
         final EthLog logs = web3j.ethGetLogs(ethFilter).send();
-        DefaultBlockParameterNumber blockParameterNumber =
-                new DefaultBlockParameterNumber(blockNumber);
-        EthBlock ethBlock = this.web3j.ethGetBlockByNumber(blockParameterNumber, false).send();
+
+        if (logs.hasError()) {
+            throw new BlockchainException("Error obtaining logs: " + logs.getError().getMessage());
+        }
 
         return logs.getLogs().stream()
-                .map(
-                        logResult ->
-                                eventDetailsFactory.createEventDetails(
-                                        eventFilter,
-                                        (Log) logResult.get(),
-                                        ethBlock,
-                                        getTransactionReceipt((Log) logResult.get())))
+                .map(logResult -> (Log) logResult.get())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtains the logs matching an EthFilter built for several event filters, and routes each log
+     * to the event filters that match its contract address and event signature.
+     */
+    protected List<ContractEventDetails> extractEventDetailsFromLogs(
+            EthFilter ethFilter, List<ContractEventFilter> eventFilters, Block block)
+            throws IOException {
+
+        final Map<String, List<ContractEventFilter>> filtersByAddressAndSignature = new HashMap<>();
+        eventFilters.forEach(
+                filter ->
+                        filtersByAddressAndSignature
+                                .computeIfAbsent(
+                                        getRoutingKey(
+                                                filter.getContractAddress(),
+                                                Web3jUtil.getSignature(
+                                                        filter.getEventSpecification())),
+                                        key -> new ArrayList<>())
+                                .add(filter));
+
+        final EthLog logs = web3j.ethGetLogs(ethFilter).send();
+
+        if (logs.hasError()) {
+            throw new BlockchainException("Error obtaining logs: " + logs.getError().getMessage());
+        }
+
+        if (logs.getLogs().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Map<String, Transaction> transactionsByHash = getTransactionsByHash(block);
+        prefetchReceiptsOfLogs(
+                block,
+                logs.getLogs().stream().map(logResult -> (Log) logResult.get()).toList(),
+                transactionsByHash);
+
+        final List<ContractEventDetails> eventDetails = new ArrayList<>();
+
+        logs.getLogs()
+                .forEach(
+                        logResult -> {
+                            final Log theLog = (Log) logResult.get();
+
+                            if (theLog.getTopics() == null || theLog.getTopics().isEmpty()) {
+                                return;
+                            }
+
+                            final List<ContractEventFilter> matchingFilters =
+                                    filtersByAddressAndSignature.getOrDefault(
+                                            getRoutingKey(
+                                                    theLog.getAddress(),
+                                                    theLog.getTopics().getFirst()),
+                                            Collections.emptyList());
+
+                            if (!matchingFilters.isEmpty()) {
+                                final String from =
+                                        getTransactionSender(theLog, transactionsByHash);
+
+                                matchingFilters.forEach(
+                                        filter ->
+                                                eventDetails.add(
+                                                        eventDetailsFactory.createEventDetails(
+                                                                filter, theLog, block, from)));
+                            }
+                        });
+
+        return eventDetails;
+    }
+
     protected Flowable<Log> createEthLogFlowable(
             EthFilter ethFilter, ContractEventFilter eventFilter, Optional<Runnable> onCompletion) {
         log.debug("Creating EthLog flowable for filter {}", eventFilter.getId());
@@ -301,7 +556,122 @@ public class Web3jService implements BlockchainService {
                 .doOnComplete(() -> onCompletion.ifPresent(Runnable::run));
     }
 
+    /**
+     * Resolves the timestamp of the block a log was emitted in. Logs obtained outside of the live
+     * block flow only carry the block hash, so the header is requested once per block and shared
+     * by every log of that block.
+     */
+    private BigInteger getBlockTimestamp(Log theLog) {
+        return blockTimestampCache.getTimestamp(
+                theLog.getBlockHash(),
+                blockHash -> {
+                    try {
+                        final EthBlock blockResponse =
+                                web3j.ethGetBlockByHash(blockHash, false).send();
+
+                        if (blockResponse.getBlock() == null) {
+                            throw new BlockchainException(
+                                    "Unable to find block with hash: " + blockHash);
+                        }
+
+                        return blockResponse.getBlock().getTimestamp();
+                    } catch (IOException e) {
+                        throw new BlockchainException(
+                                "Error when obtaining block with hash: " + blockHash, e);
+                    }
+                });
+    }
+
+    private Map<String, Transaction> getTransactionsByHash(Block block) {
+        // Blocks obtained without their transactions load them here, once per block, which is
+        // cheaper than requesting the receipt of every log for its sender
+        if (block.getTransactions() == null) {
+            return Collections.emptyMap();
+        }
+
+        return block.getTransactions().stream()
+                .collect(
+                        Collectors.toMap(
+                                transaction -> transaction.getHash().toLowerCase(),
+                                transaction -> transaction,
+                                (first, second) -> first));
+    }
+
+    /**
+     * Obtains the sender of the transaction that emitted a log from the transactions of its block,
+     * joined by transaction hash and index. The receipt is only requested when the transactions of
+     * the block are not available or the transaction can not be found in it.
+     */
+    private String getTransactionSender(Log theLog, Map<String, Transaction> transactionsByHash) {
+        final Transaction transaction =
+                transactionsByHash.get(theLog.getTransactionHash().toLowerCase());
+
+        if (transaction != null
+                && transaction.getFrom() != null
+                && (theLog.getTransactionIndex() == null
+                        || theLog.getTransactionIndex()
+                                .toString()
+                                .equals(transaction.getTransactionIndex()))) {
+            // Block transactions are checksummed, receipts return the address as sent by the node
+            return transaction.getFrom().toLowerCase();
+        }
+
+        return getTransactionReceipt(theLog).getFrom();
+    }
+
+    /**
+     * Obtains the receipts of the logs of a block in bulk when more of them than the node's
+     * threshold would otherwise be requested one by one. When the node batches its requests, the
+     * receipts that are still missing are requested concurrently, so that they go out together.
+     */
+    private void prefetchReceiptsOfLogs(
+            Block block, List<Log> logs, Map<String, Transaction> transactionsByHash) {
+        final List<String> txHashes =
+                logs.stream()
+                        .map(theLog -> theLog.getTransactionHash().toLowerCase())
+                        .filter(txHash -> !transactionsByHash.containsKey(txHash))
+                        .distinct()
+                        .toList();
+
+        if (txHashes.isEmpty()) {
+            return;
+        }
+
+        prefetchTransactionReceipts(block, txHashes.size());
+
+        final Long batchWindow = nodeSettings.getNode(nodeName).getRpcBatchWindow();
+
+        if (batchWindow != null && batchWindow > 0 && txHashes.size() > 1) {
+            prefetchMissingReceipts(txHashes);
+        }
+    }
+
+    private void prefetchMissingReceipts(List<String> txHashes) {
+        final List<CompletableFuture<EthGetTransactionReceipt>> responses =
+                txHashes.stream()
+                        .filter(txHash -> !receiptCache.contains(nodeName, txHash))
+                        .map(txHash -> web3j.ethGetTransactionReceipt(txHash).sendAsync())
+                        .toList();
+
+        try {
+            receiptCache.putTransactionReceipts(
+                    nodeName,
+                    responses.stream()
+                            .map(CompletableFuture::join)
+                            .map(EthGetTransactionReceipt::getTransactionReceipt)
+                            .flatMap(Optional::stream)
+                            .<TransactionReceipt>map(Web3jTransactionReceipt::new)
+                            .toList());
+        } catch (CompletionException e) {
+            log.warn("Unable to prefetch receipts, they will be requested one by one", e);
+        }
+    }
+
     private BigInteger getStartBlockForEventFilter(ContractEventFilter filter) {
         return blockManagement.getLatestBlockForEvent(filter);
     }
+
+    private String getRoutingKey(String contractAddress, String eventSignature) {
+        return contractAddress.toLowerCase() + eventSignature.toLowerCase();
+    }
 }
@@ -15,8 +15,13 @@
 package io.librevents.chain.service.block;
 
 import java.math.BigInteger;
+import java.util.List;
+
+import io.librevents.model.RecentBlock;
 
 public interface BlockNumberService {
 
     BigInteger getStartBlockForNode(String nodeName);
+
+    List<RecentBlock> getRecentBlocksForNode(String nodeName);
 }
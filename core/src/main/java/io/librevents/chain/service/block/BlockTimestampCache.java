@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.block;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A small bounded cache of block timestamps, keyed by block hash.
+ *
+ * <p>It is shared by all the event filters of a node, so that events retrieved for historical
+ * block ranges only request the header of each block once.
+ */
+public class BlockTimestampCache {
+
+    private static final long CACHE_SIZE = 1000;
+
+    private final Cache<String, BigInteger> timestamps =
+            CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+    /**
+     * @param blockHash The hash of the block
+     * @param timestampLoader Obtains the timestamp of the block when it is not cached
+     * @return The timestamp of the block with the specified hash
+     */
+    public BigInteger getTimestamp(String blockHash, Function<String, BigInteger> timestampLoader) {
+        final BigInteger cachedTimestamp = timestamps.getIfPresent(blockHash);
+
+        if (cachedTimestamp != null) {
+            return cachedTimestamp;
+        }
+
+        final BigInteger timestamp = timestampLoader.apply(blockHash);
+        timestamps.put(blockHash, timestamp);
+
+        return timestamp;
+    }
+}
@@ -15,12 +15,14 @@
 package io.librevents.chain.service.block;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import io.librevents.chain.service.container.ChainServicesContainer;
 import io.librevents.chain.settings.NodeSettings;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlock;
 import io.librevents.service.EventStoreService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
@@ -93,6 +95,11 @@ public class DefaultBlockNumberService implements BlockNumberService {
         return startBlock;
     }
 
+    @Override
+    public List<RecentBlock> getRecentBlocksForNode(String nodeName) {
+        return eventStoreService.getRecentBlocks(nodeName);
+    }
+
     protected Optional<LatestBlock> getLatestBlock(String nodeName) {
         return eventStoreService.getLatestBlock(nodeName);
     }
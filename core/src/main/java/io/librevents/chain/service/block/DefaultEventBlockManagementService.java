@@ -66,11 +66,8 @@ public class DefaultEventBlockManagementService implements EventBlockManagementS
         AbstractMap<String, BigInteger> events =
                 latestBlocks.computeIfAbsent(address, k -> new ConcurrentHashMap<>());
 
-        final BigInteger currentLatest = events.get(eventSpecHash);
-
-        if (currentLatest == null || blockNumber.compareTo(currentLatest) > 0) {
-            events.put(eventSpecHash, blockNumber);
-        }
+        // Events of the same contract may be processed concurrently
+        events.merge(eventSpecHash, blockNumber, BigInteger::max);
     }
 
     @Override
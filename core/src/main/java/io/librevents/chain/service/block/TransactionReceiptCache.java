@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.block;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.librevents.chain.block.ReorgListener;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.BlockReorg;
+import io.librevents.chain.service.domain.TransactionReceipt;
+import io.librevents.monitoring.LibreventsValueMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * A bounded, per node cache of transaction receipts, keyed by transaction hash.
+ *
+ * <p>The cache listens to the blocks of every node in order to know the canonical hash of the
+ * most recent block numbers. A cached receipt is only returned while its block hash is still the
+ * canonical one, and the receipts of replaced blocks are invalidated as soon as a reorg is seen.
+ *
+ * <p>It is ordered first so that the other block listeners of a block never read a receipt that
+ * the same block has invalidated.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionReceiptCache implements ReorgListener {
+
+    private static final int CANONICAL_BLOCKS_TO_KEEP = 256;
+
+    private final Map<String, NodeReceipts> nodeReceipts = new ConcurrentHashMap<>();
+    private final LibreventsValueMonitor valueMonitor;
+    private final long maxSize;
+    private final long expirationSeconds;
+
+    public TransactionReceiptCache(
+            LibreventsValueMonitor valueMonitor,
+            @Value("${ethereum.receiptCache.maxSize:10000}") long maxSize,
+            @Value("${ethereum.receiptCache.expirationSeconds:600}") long expirationSeconds) {
+        this.valueMonitor = valueMonitor;
+        this.maxSize = maxSize;
+        this.expirationSeconds = expirationSeconds;
+    }
+
+    /**
+     * @param nodeName The node the receipt belongs to
+     * @param txHash The transaction hash
+     * @param receiptLoader Obtains the receipt from the node when it is not cached
+     * @return The receipt of the transaction, or null if the node does not know the transaction
+     */
+    public TransactionReceipt getTransactionReceipt(
+            String nodeName, String txHash, Function<String, TransactionReceipt> receiptLoader) {
+        final NodeReceipts node = getNodeReceipts(nodeName);
+        final String key = txHash.toLowerCase();
+
+        final TransactionReceipt cachedReceipt = node.receipts.getIfPresent(key);
+
+        if (cachedReceipt != null) {
+            if (node.isCanonical(cachedReceipt)) {
+                node.hits.incrementAndGet();
+                return cachedReceipt;
+            }
+
+            node.receipts.invalidate(key);
+        }
+
+        node.misses.incrementAndGet();
+
+        final TransactionReceipt receipt = receiptLoader.apply(txHash);
+
+        // Receipts of pending transactions are not cached, they will be mined eventually
+        if (receipt != null && node.isCanonical(receipt)) {
+            node.receipts.put(key, receipt);
+        }
+
+        return receipt;
+    }
+
+    /**
+     * @param nodeName The node the receipt belongs to
+     * @param txHash The transaction hash
+     * @return If a receipt of the transaction from a canonical block is cached
+     */
+    public boolean contains(String nodeName, String txHash) {
+        final NodeReceipts node = getNodeReceipts(nodeName);
+        final TransactionReceipt cachedReceipt = node.receipts.getIfPresent(txHash.toLowerCase());
+
+        return cachedReceipt != null && node.isCanonical(cachedReceipt);
+    }
+
+    /**
+     * Caches receipts that have been obtained in bulk, so that later requests for them are served
+     * from the cache.
+     *
+     * @param nodeName The node the receipts belong to
+     * @param receipts The receipts to cache
+     */
+    public void putTransactionReceipts(String nodeName, Collection<TransactionReceipt> receipts) {
+        final NodeReceipts node = getNodeReceipts(nodeName);
+
+        receipts.stream()
+                .filter(node::isCanonical)
+                .forEach(
+                        receipt ->
+                                node.receipts.put(
+                                        receipt.getTransactionHash().toLowerCase(), receipt));
+    }
+
+    @Override
+    public void onBlock(Block block) {
+        if (block.getHash() == null) {
+            return;
+        }
+
+        final NodeReceipts node = getNodeReceipts(block.getNodeName());
+        final BigInteger number = block.getNumber();
+
+        final String replacedHash = node.canonicalHashes.get(number);
+
+        if (replacedHash != null && !replacedHash.equalsIgnoreCase(block.getHash())) {
+            log.info(
+                    "Block {} replaced on node {}, invalidating cached receipts from that block",
+                    number,
+                    block.getNodeName());
+            node.invalidateFrom(number);
+        }
+
+        final BigInteger parentNumber = number.subtract(BigInteger.ONE);
+        final String knownParentHash = node.canonicalHashes.get(parentNumber);
+
+        if (knownParentHash != null
+                && block.getParentHash() != null
+                && !knownParentHash.equalsIgnoreCase(block.getParentHash())) {
+            // The depth of the reorg is unknown, so nothing older can be trusted either
+            log.info(
+                    "Parent of block {} replaced on node {}, invalidating all cached receipts",
+                    number,
+                    block.getNodeName());
+            node.invalidateAll();
+        }
+
+        if (block.getParentHash() != null) {
+            node.canonicalHashes.put(parentNumber, block.getParentHash());
+        }
+        node.canonicalHashes.put(number, block.getHash());
+        node.canonicalHashes
+                .headMap(number.subtract(BigInteger.valueOf(CANONICAL_BLOCKS_TO_KEEP)))
+                .clear();
+    }
+
+    @Override
+    public void onReorg(BlockReorg reorg) {
+        final NodeReceipts node = getNodeReceipts(reorg.getNodeName());
+        final Set<String> orphanedHashes = new HashSet<>();
+
+        reorg.getOrphanedBlockHashes().forEach(hash -> orphanedHashes.add(hash.toLowerCase()));
+
+        node.canonicalHashes
+                .values()
+                .removeIf(hash -> orphanedHashes.contains(hash.toLowerCase()));
+        node.receipts
+                .asMap()
+                .values()
+                .removeIf(
+                        receipt ->
+                                orphanedHashes.contains(receipt.getBlockHash().toLowerCase()));
+    }
+
+    private NodeReceipts getNodeReceipts(String nodeName) {
+        return nodeReceipts.computeIfAbsent(nodeName, this::createNodeReceipts);
+    }
+
+    private NodeReceipts createNodeReceipts(String nodeName) {
+        return new NodeReceipts(
+                CacheBuilder.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                        .build(),
+                valueMonitor.monitor("receiptCacheHits", nodeName, new AtomicLong(0)),
+                valueMonitor.monitor("receiptCacheMisses", nodeName, new AtomicLong(0)));
+    }
+
+    private static class NodeReceipts {
+
+        private final Cache<String, TransactionReceipt> receipts;
+        private final NavigableMap<BigInteger, String> canonicalHashes =
+                new ConcurrentSkipListMap<>();
+        private final AtomicLong hits;
+        private final AtomicLong misses;
+
+        private NodeReceipts(
+                Cache<String, TransactionReceipt> receipts, AtomicLong hits, AtomicLong misses) {
+            this.receipts = receipts;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        private boolean isCanonical(TransactionReceipt receipt) {
+            final String canonicalHash = canonicalHashes.get(receipt.getBlockNumber());
+
+            return canonicalHash == null || canonicalHash.equalsIgnoreCase(receipt.getBlockHash());
+        }
+
+        private void invalidateFrom(BigInteger blockNumber) {
+            canonicalHashes.tailMap(blockNumber).clear();
+            receipts.asMap()
+                    .values()
+                    .removeIf(receipt -> receipt.getBlockNumber().compareTo(blockNumber) >= 0);
+        }
+
+        private void invalidateAll() {
+            canonicalHashes.clear();
+            receipts.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.domain;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** A chain reorganisation detected on a node, with the blocks it orphaned. */
+@Data
+@AllArgsConstructor
+public class BlockReorg {
+
+    private String nodeName;
+
+    // The number of the first orphaned block
+    private BigInteger forkBlockNumber;
+
+    private List<String> orphanedBlockHashes;
+}
@@ -13,7 +13,16 @@ public class BlockResponseToHederaBlockConverter implements Converter<BlockRespo
 
     @Override
     public HederaBlock convert(MappingContext<BlockResponse, HederaBlock> mappingContext) {
-        BlockResponse blockResponse = mappingContext.getSource();
+        return map(mappingContext.getSource());
+    }
+
+    /**
+     * Converts a mirror node block without going through a ModelMapper type map.
+     *
+     * @param blockResponse The mirror node block
+     * @return The converted block, without transactions
+     */
+    public static HederaBlock map(BlockResponse blockResponse) {
         HederaBlock hederaBlock = new HederaBlock();
         hederaBlock.setCount(blockResponse.getCount());
         hederaBlock.setGasUsed(blockResponse.getGasUsed());
@@ -13,7 +13,16 @@ public class ContractResultResponseToTransactionConverter
     @Override
     public Web3jTransaction convert(
             MappingContext<ContractResultResponse, Web3jTransaction> mappingContext) {
-        ContractResultResponse res = mappingContext.getSource();
+        return map(mappingContext.getSource());
+    }
+
+    /**
+     * Converts a mirror node contract result without going through a ModelMapper type map.
+     *
+     * @param res The mirror node contract result
+     * @return The converted transaction
+     */
+    public static Web3jTransaction map(ContractResultResponse res) {
         Web3jTransaction tx = new Web3jTransaction();
         tx.setHash(res.getHash());
         tx.setBlockHash(res.getBlockHash());
@@ -13,8 +13,17 @@ public class EthBlockToWeb3jBlockConverter implements Converter<EthBlock.Block,
 
     @Override
     public Web3jBlock convert(final MappingContext<EthBlock.Block, Web3jBlock> mappingContext) {
-        final EthBlock.Block source = mappingContext.getSource();
-        final Web3jBlock destination = mappingContext.getDestination();
+        return map(mappingContext.getSource(), mappingContext.getDestination());
+    }
+
+    /**
+     * Copies the header fields of a web3j block without going through a ModelMapper type map.
+     *
+     * @param source The web3j block
+     * @param destination The block to copy the fields to
+     * @return The destination block
+     */
+    public static Web3jBlock map(EthBlock.Block source, Web3jBlock destination) {
         destination.setNumber(source.getNumber());
         destination.setHash(source.getHash());
         destination.setParentHash(source.getParentHash());
@@ -15,16 +15,20 @@
 package io.librevents.chain.service.domain.wrapper;
 
 import java.math.BigInteger;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.Transaction;
-import io.librevents.utils.ModelMapperFactory;
+import io.librevents.chain.service.domain.converter.EthBlockToWeb3jBlockConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.web3j.crypto.Keys;
 import org.web3j.protocol.core.methods.response.EthBlock;
 
@@ -52,17 +56,27 @@ public class Web3jBlock implements Block {
     private BigInteger gasLimit;
     private BigInteger gasUsed;
     private BigInteger timestamp;
+
+    // Left out of equals, hashCode and toString, as the getter loads them for header only blocks
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Transaction> transactions;
+
     private List<String> uncles;
     private List<String> sealFields;
     private String nodeName;
 
-    public Web3jBlock(EthBlock.Block web3jBlock, String nodeName) {
-        final ModelMapper modelMapper = ModelMapperFactory.getModelMapper();
+    // Loads the transactions of a block that was obtained with their hashes only
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier<List<Transaction>> transactionsLoader;
 
-        modelMapper.map(web3jBlock, this);
+    public Web3jBlock(EthBlock.Block web3jBlock, String nodeName) {
+        EthBlockToWeb3jBlockConverter.map(web3jBlock, this);
 
-        transactions = convertTransactions(web3jBlock.getTransactions());
+        if (!isHeaderOnly(web3jBlock.getTransactions())) {
+            transactions = convertTransactions(web3jBlock.getTransactions());
+        }
 
         this.nodeName = nodeName;
     }
@@ -74,17 +88,51 @@ public class Web3jBlock implements Block {
         this.nodeName = nodeName;
     }
 
+    /**
+     * Returns the transactions of the block, loading them first when the block was obtained
+     * without them and a transactions loader has been set.
+     *
+     * @return The transactions of the block, or null if they are not available
+     */
+    public synchronized List<Transaction> getTransactions() {
+        if (transactions == null && transactionsLoader != null) {
+            transactions = transactionsLoader.get();
+            transactionsLoader = null;
+        }
+
+        return transactions;
+    }
+
+    /**
+     * @return Whether the transactions of the block are available without loading them
+     */
+    public synchronized boolean isTransactionsLoaded() {
+        return transactions != null;
+    }
+
+    private static boolean isHeaderOnly(List<EthBlock.TransactionResult> transactionResults) {
+        return !transactionResults.isEmpty()
+                && transactionResults.getFirst() instanceof EthBlock.TransactionHash;
+    }
+
     private List<Transaction> convertTransactions(List<EthBlock.TransactionResult> toConvert) {
+        // The same addresses tend to appear many times within a block, and checksumming hashes them
+        final Map<String, String> checksumAddresses = new HashMap<>();
+
         return toConvert.stream()
                 .map(
                         tx -> {
                             org.web3j.protocol.core.methods.response.Transaction transaction =
                                     (org.web3j.protocol.core.methods.response.Transaction) tx.get();
 
-                            transaction.setFrom(Keys.toChecksumAddress(transaction.getFrom()));
+                            transaction.setFrom(
+                                    checksumAddresses.computeIfAbsent(
+                                            transaction.getFrom(), Keys::toChecksumAddress));
 
                             if (transaction.getTo() != null && !transaction.getTo().isEmpty()) {
-                                transaction.setTo(Keys.toChecksumAddress(transaction.getTo()));
+                                transaction.setTo(
+                                        checksumAddresses.computeIfAbsent(
+                                                transaction.getTo(), Keys::toChecksumAddress));
                             }
 
                             return new Web3jTransaction(transaction);
@@ -15,10 +15,9 @@
 package io.librevents.chain.service.domain.wrapper;
 
 import io.librevents.chain.service.domain.Transaction;
-import io.librevents.utils.ModelMapperFactory;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.web3j.utils.Numeric;
 
 @Data
 @NoArgsConstructor
@@ -43,8 +42,27 @@ public class Web3jTransaction implements Transaction {
     private long v;
 
     public Web3jTransaction(org.web3j.protocol.core.methods.response.Transaction web3jTransaction) {
+        // Quantities keep the decimal representation they have always been exposed with
+        this.hash = web3jTransaction.getHash();
+        this.nonce = toDecimal(web3jTransaction.getNonceRaw());
+        this.blockHash = web3jTransaction.getBlockHash();
+        this.blockNumber = toDecimal(web3jTransaction.getBlockNumberRaw());
+        this.transactionIndex = toDecimal(web3jTransaction.getTransactionIndexRaw());
+        this.from = web3jTransaction.getFrom();
+        this.to = web3jTransaction.getTo();
+        this.value = toDecimal(web3jTransaction.getValueRaw());
+        this.gasPrice = toDecimal(web3jTransaction.getGasPriceRaw());
+        this.gas = toDecimal(web3jTransaction.getGasRaw());
+        this.input = web3jTransaction.getInput();
+        this.creates = web3jTransaction.getCreates();
+        this.publicKey = web3jTransaction.getPublicKey();
+        this.raw = web3jTransaction.getRaw();
+        this.r = web3jTransaction.getR();
+        this.s = web3jTransaction.getS();
+        this.v = web3jTransaction.getV();
+    }
 
-        final ModelMapper modelMapper = ModelMapperFactory.getModelMapper();
-        modelMapper.map(web3jTransaction, this);
+    private static String toDecimal(String quantity) {
+        return quantity != null ? Numeric.decodeQuantity(quantity).toString() : null;
     }
 }
@@ -0,0 +1,268 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.endpoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * A Web3jService that sends concurrent reads of blocks, logs, transactions and receipts to the
+ * node as JSON-RPC batches.
+ *
+ * <p>Reads are collected for a short window after the first one arrives, or until the batch is
+ * full, and sent with a single HTTP request. Each caller gets its own response, matched by
+ * request id. Other requests are sent straight away.
+ *
+ * <p>If the node does not answer a batch with a JSON-RPC batch response, batching is turned off
+ * and requests are sent one by one from then on.
+ */
+@Slf4j
+public class BatchingWeb3jService implements Web3jService {
+
+    private static final Set<String> BATCHED_METHODS =
+            Set.of(
+                    "eth_getLogs",
+                    "eth_getBlockByNumber",
+                    "eth_getBlockByHash",
+                    "eth_getBlockReceipts",
+                    "eth_getTransactionByHash",
+                    "eth_getTransactionReceipt",
+                    "priv_getLogs",
+                    "priv_getPrivateTransaction",
+                    "priv_getTransactionReceipt");
+
+    private final String nodeName;
+    private final Web3jService delegate;
+    private final long batchWindow;
+    private final int maxBatchSize;
+    private final AtomicBoolean batchingSupported = new AtomicBoolean(true);
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService batchExecutor;
+
+    private List<PendingRequest<?>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param nodeName The name of the node
+     * @param delegate The service the batches are sent through
+     * @param batchWindow The time reads are collected for before sending them, in milliseconds
+     * @param maxBatchSize The maximum number of requests of a batch
+     */
+    public BatchingWeb3jService(
+            String nodeName, Web3jService delegate, long batchWindow, int maxBatchSize) {
+        this.nodeName = nodeName;
+        this.delegate = delegate;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushScheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat(nodeName + "-RPC-BATCH-FLUSH")
+                                .setDaemon(true)
+                                .build());
+        this.batchExecutor =
+                Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat(nodeName + "-RPC-BATCH-%d")
+                                .setDaemon(true)
+                                .build());
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType)
+            throws IOException {
+        if (!isBatched(request)) {
+            return delegate.send(request, responseType);
+        }
+
+        return RpcFutures.await(enqueue(request, responseType));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        if (!isBatched(request)) {
+            return delegate.sendAsync(request, responseType);
+        }
+
+        return enqueue(request, responseType);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return delegate.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return delegate.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushScheduler.shutdownNow();
+        batchExecutor.shutdownNow();
+
+        takePending()
+                .forEach(
+                        request ->
+                                request.response()
+                                        .completeExceptionally(
+                                                new IOException("Service has been closed")));
+
+        delegate.close();
+    }
+
+    private boolean isBatched(Request<?, ?> request) {
+        return batchingSupported.get() && BATCHED_METHODS.contains(request.getMethod());
+    }
+
+    private <T extends Response> CompletableFuture<T> enqueue(
+            Request<?, ?> request, Class<T> responseType) {
+        final PendingRequest<T> pendingRequest =
+                new PendingRequest<>(request, responseType, new CompletableFuture<>());
+        List<PendingRequest<?>> fullBatch = null;
+
+        synchronized (this) {
+            if (pending.stream().anyMatch(other -> other.request().getId() == request.getId())) {
+                // Responses are matched by id, so the same request can not be batched twice
+                return delegate.sendAsync(request, responseType);
+            }
+
+            pending.add(pendingRequest);
+
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush =
+                        flushScheduler.schedule(this::flush, batchWindow, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            final List<PendingRequest<?>> batch = fullBatch;
+            batchExecutor.execute(() -> sendBatch(batch));
+        }
+
+        return pendingRequest.response();
+    }
+
+    private synchronized List<PendingRequest<?>> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        final List<PendingRequest<?>> batch = pending;
+        pending = new ArrayList<>();
+
+        return batch;
+    }
+
+    private void flush() {
+        final List<PendingRequest<?>> batch = takePending();
+
+        if (!batch.isEmpty()) {
+            batchExecutor.execute(() -> sendBatch(batch));
+        }
+    }
+
+    private void sendBatch(List<PendingRequest<?>> batch) {
+        if (batch.size() == 1) {
+            batch.getFirst().sendTo(delegate);
+            return;
+        }
+
+        final BatchRequest batchRequest = new BatchRequest(delegate);
+        batch.forEach(pendingRequest -> batchRequest.add(pendingRequest.request()));
+
+        try {
+            final BatchResponse batchResponse = delegate.sendBatch(batchRequest);
+            final Map<Long, Response<?>> responsesById = new HashMap<>();
+
+            batchResponse
+                    .getResponses()
+                    .forEach(response -> responsesById.putIfAbsent(response.getId(), response));
+
+            batch.forEach(
+                    pendingRequest ->
+                            pendingRequest.complete(
+                                    responsesById.get(pendingRequest.request().getId())));
+        } catch (IOException e) {
+            batch.forEach(pendingRequest -> pendingRequest.response().completeExceptionally(e));
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Node {} does not support JSON-RPC batches, requests will be sent one by one",
+                    nodeName,
+                    e);
+            batchingSupported.set(false);
+            batch.forEach(pendingRequest -> pendingRequest.sendTo(delegate));
+        }
+    }
+
+    // Kept raw, like the requests of Web3jService, so that it can be added to a BatchRequest
+    private record PendingRequest<T extends Response>(
+            Request request, Class<T> responseType, CompletableFuture<T> response) {
+
+        private void complete(Response<?> result) {
+            if (responseType.isInstance(result)) {
+                response.complete(responseType.cast(result));
+            } else {
+                response.completeExceptionally(
+                        new IOException(
+                                "No response to request " + request.getId() + " in batch"));
+            }
+        }
+
+        private void sendTo(Web3jService service) {
+            service.sendAsync(request, responseType)
+                    .whenComplete(
+                            (result, error) -> {
+                                if (error != null) {
+                                    response.completeExceptionally(error);
+                                } else {
+                                    response.complete(result);
+                                }
+                            });
+        }
+    }
+}
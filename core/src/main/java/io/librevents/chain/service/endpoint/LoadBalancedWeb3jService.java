@@ -0,0 +1,410 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.endpoint;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * A Web3jService that spreads the read requests of a node across several RPC endpoints.
+ *
+ * <p>Only reads of blocks, logs, transactions and receipts are balanced. Every other request,
+ * including filters, subscriptions and the head of the chain, is sent to the primary endpoint, so
+ * the view of the chain that drives the node stays consistent.
+ *
+ * <p>Each read goes to the better of two random healthy endpoints, by their observed latency and
+ * error rate. Reads that refer to a block number only go to endpoints whose head is known to
+ * have reached it, and a secondary endpoint that responds with an error or without a result is
+ * backed up by the primary one, so a lagging endpoint never hides data from the node.
+ *
+ * <p>When a hedge percentile is configured, a read that takes longer than that percentile of the
+ * latency of its endpoint is also sent to a second endpoint, and the first response is used.
+ */
+@Slf4j
+public class LoadBalancedWeb3jService implements Web3jService {
+
+    private static final Set<String> BALANCED_METHODS =
+            Set.of(
+                    "eth_getLogs",
+                    "eth_getBlockByNumber",
+                    "eth_getBlockByHash",
+                    "eth_getBlockReceipts",
+                    "eth_getTransactionByHash",
+                    "eth_getTransactionReceipt");
+
+    private final String nodeName;
+    private final RpcEndpoint primary;
+    private final List<RpcEndpoint> endpoints = new ArrayList<>();
+    private final int hedgePercentile;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService headProbeExecutor;
+
+    /**
+     * @param nodeName The name of the node
+     * @param primaryUrl The url of the primary endpoint
+     * @param primaryService The service of the primary endpoint
+     * @param readServices The services of the additional read endpoints, keyed by url
+     * @param hedgePercentile The latency percentile after which reads are hedged, 0 to disable
+     * @param headProbeInterval The interval at which the head of the read endpoints is refreshed,
+     *     in milliseconds
+     */
+    public LoadBalancedWeb3jService(
+            String nodeName,
+            String primaryUrl,
+            Web3jService primaryService,
+            Map<String, Web3jService> readServices,
+            int hedgePercentile,
+            long headProbeInterval) {
+        this.nodeName = nodeName;
+        this.primary = new RpcEndpoint(primaryUrl, primaryService, true);
+        this.hedgePercentile = hedgePercentile;
+
+        endpoints.add(primary);
+        readServices.forEach(
+                (url, service) -> endpoints.add(new RpcEndpoint(url, service, false)));
+
+        this.requestExecutor =
+                Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat(nodeName + "-RPC-%d")
+                                .setDaemon(true)
+                                .build());
+        this.headProbeExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat(nodeName + "-RPC-HEAD")
+                                .setDaemon(true)
+                                .build());
+
+        headProbeExecutor.scheduleWithFixedDelay(
+                this::probeHeads, 0, headProbeInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType)
+            throws IOException {
+        if (!BALANCED_METHODS.contains(request.getMethod())) {
+            return primary.getService().send(request, responseType);
+        }
+
+        final List<RpcEndpoint> candidates = getCandidates(request);
+
+        if (candidates.size() < 2) {
+            return call(primary, request, responseType);
+        }
+
+        final RpcEndpoint first = choose(candidates, null);
+        final RpcEndpoint second = choose(candidates, first);
+
+        final Answer<T> answer;
+
+        try {
+            answer = sendBalanced(request, responseType, first, second);
+        } catch (IOException e) {
+            if (first.isPrimary() || second.isPrimary()) {
+                throw e;
+            }
+
+            log.debug("Read endpoints of node {} failed, using the primary one", nodeName, e);
+            return call(primary, request, responseType);
+        }
+
+        if (!answer.endpoint().isPrimary() && isIncomplete(answer.response())) {
+            // The endpoint may be behind the primary one, which is the reference of the node
+            return call(primary, request, responseType);
+        }
+
+        return answer.response();
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        if (!BALANCED_METHODS.contains(request.getMethod())) {
+            return primary.getService().sendAsync(request, responseType);
+        }
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        requestExecutor.execute(
+                () -> {
+                    try {
+                        result.complete(send(request, responseType));
+                    } catch (Exception e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return primary.getService().sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return primary.getService().sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return primary.getService().subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        headProbeExecutor.shutdownNow();
+        requestExecutor.shutdownNow();
+
+        for (RpcEndpoint endpoint : endpoints) {
+            endpoint.getService().close();
+        }
+    }
+
+    private <T extends Response> Answer<T> sendBalanced(
+            Request<?, ?> request, Class<T> responseType, RpcEndpoint first, RpcEndpoint second)
+            throws IOException {
+        final long hedgeDelay =
+                hedgePercentile > 0 ? first.getLatencyPercentile(hedgePercentile) : -1;
+
+        if (hedgeDelay < 0) {
+            try {
+                return new Answer<>(first, call(first, request, responseType));
+            } catch (IOException e) {
+                log.debug("Endpoint {} of node {} failed, failing over", first.getUrl(), nodeName);
+                return new Answer<>(second, call(second, request, responseType));
+            }
+        }
+
+        final CompletableFuture<Answer<T>> firstAnswer = callAsync(first, request, responseType);
+
+        try {
+            return firstAnswer.get(hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug(
+                    "{} request to endpoint {} of node {} exceeded {} ms, hedging",
+                    request.getMethod(),
+                    first.getUrl(),
+                    nodeName,
+                    hedgeDelay);
+
+            return RpcFutures.await(
+                    firstSuccessful(firstAnswer, callAsync(second, request, responseType)));
+        } catch (ExecutionException e) {
+            log.debug("Endpoint {} of node {} failed, failing over", first.getUrl(), nodeName);
+            return new Answer<>(second, call(second, request, responseType));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + first.getUrl());
+        }
+    }
+
+    private <T extends Response> T call(
+            RpcEndpoint endpoint, Request<?, ?> request, Class<T> responseType)
+            throws IOException {
+        final long start = System.nanoTime();
+
+        try {
+            final T response = endpoint.getService().send(request, responseType);
+
+            endpoint.recordResponse(
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), response.hasError());
+
+            return response;
+        } catch (IOException e) {
+            endpoint.recordFailure();
+            throw e;
+        }
+    }
+
+    private <T extends Response> CompletableFuture<Answer<T>> callAsync(
+            RpcEndpoint endpoint, Request<?, ?> request, Class<T> responseType) {
+        final CompletableFuture<Answer<T>> answer = new CompletableFuture<>();
+
+        requestExecutor.execute(
+                () -> {
+                    try {
+                        answer.complete(
+                                new Answer<>(endpoint, call(endpoint, request, responseType)));
+                    } catch (Exception e) {
+                        answer.completeExceptionally(e);
+                    }
+                });
+
+        return answer;
+    }
+
+    private <T> CompletableFuture<T> firstSuccessful(
+            CompletableFuture<T> first, CompletableFuture<T> second) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        List.of(first, second)
+                .forEach(
+                        future ->
+                                future.whenComplete(
+                                        (value, error) -> {
+                                            if (error == null) {
+                                                result.complete(value);
+                                            } else if (failures.incrementAndGet() == 2) {
+                                                result.completeExceptionally(error);
+                                            }
+                                        }));
+
+        return result;
+    }
+
+    private List<RpcEndpoint> getCandidates(Request<?, ?> request) {
+        final BigInteger requiredBlock = getRequiredBlock(request);
+
+        if (requiredBlock == null) {
+            return Collections.singletonList(primary);
+        }
+
+        return endpoints.stream()
+                .filter(RpcEndpoint::isAvailable)
+                .filter(endpoint -> endpoint.hasBlock(requiredBlock))
+                .toList();
+    }
+
+    private RpcEndpoint choose(List<RpcEndpoint> candidates, RpcEndpoint excluded) {
+        final List<RpcEndpoint> eligible =
+                candidates.stream().filter(endpoint -> endpoint != excluded).toList();
+
+        if (eligible.size() == 1) {
+            return eligible.getFirst();
+        }
+
+        // Power of two choices, which spreads the load without herding on the best endpoint
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int firstIndex = random.nextInt(eligible.size());
+        final int secondIndex =
+                (firstIndex + 1 + random.nextInt(eligible.size() - 1)) % eligible.size();
+
+        final RpcEndpoint firstChoice = eligible.get(firstIndex);
+        final RpcEndpoint secondChoice = eligible.get(secondIndex);
+
+        return firstChoice.getScore() <= secondChoice.getScore() ? firstChoice : secondChoice;
+    }
+
+    /**
+     * @return The highest block number the request refers to, zero if it refers to a block by
+     *     hash, or null if it refers to the head of the chain and only the primary endpoint can
+     *     serve it.
+     */
+    private BigInteger getRequiredBlock(Request<?, ?> request) {
+        final List<?> params = request.getParams();
+
+        if (params.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+
+        return switch (request.getMethod()) {
+            case "eth_getBlockByNumber", "eth_getBlockReceipts" ->
+                    getBlockNumber(params.getFirst());
+            case "eth_getLogs" -> {
+                if (!(params.getFirst() instanceof EthFilter filter)) {
+                    yield null;
+                }
+
+                final BigInteger fromBlock = getBlockNumber(filter.getFromBlock());
+                final BigInteger toBlock = getBlockNumber(filter.getToBlock());
+
+                yield fromBlock == null || toBlock == null ? null : fromBlock.max(toBlock);
+            }
+            default -> BigInteger.ZERO;
+        };
+    }
+
+    private BigInteger getBlockNumber(Object blockParameter) {
+        if (blockParameter == null || blockParameter == DefaultBlockParameterName.EARLIEST) {
+            return BigInteger.ZERO;
+        }
+
+        if (blockParameter instanceof DefaultBlockParameterNumber number) {
+            return number.getBlockNumber();
+        }
+
+        return blockParameter instanceof DefaultBlockParameter ? null : BigInteger.ZERO;
+    }
+
+    private boolean isIncomplete(Response<?> response) {
+        return response.hasError() || response.getResult() == null;
+    }
+
+    void probeHeads() {
+        endpoints.stream()
+                .filter(endpoint -> !endpoint.isPrimary())
+                .forEach(
+                        endpoint -> {
+                            try {
+                                final EthBlockNumber blockNumber =
+                                        endpoint.getService()
+                                                .send(
+                                                        new Request<>(
+                                                                "eth_blockNumber",
+                                                                Collections.<String>emptyList(),
+                                                                endpoint.getService(),
+                                                                EthBlockNumber.class),
+                                                        EthBlockNumber.class);
+
+                                if (!blockNumber.hasError()) {
+                                    endpoint.setHead(blockNumber.getBlockNumber());
+                                }
+                            } catch (Exception e) {
+                                log.warn(
+                                        "Unable to obtain the head of endpoint {} of node {}",
+                                        endpoint.getUrl(),
+                                        nodeName);
+                                endpoint.recordFailure();
+                            }
+                        });
+    }
+
+    private record Answer<T>(RpcEndpoint endpoint, T response) {}
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.endpoint;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import lombok.Getter;
+import org.web3j.protocol.Web3jService;
+
+/**
+ * An RPC endpoint of a node, together with what has been observed of it: the latency and error
+ * rate of its responses, and the most recent block it is known to have.
+ */
+class RpcEndpoint {
+
+    private static final double EWMA_WEIGHT = 0.2;
+    private static final int LATENCY_SAMPLES = 128;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final long BASE_COOLDOWN_MILLIS = 1000;
+    private static final long MAX_COOLDOWN_MILLIS = 60000;
+
+    @Getter private final String url;
+    @Getter private final Web3jService service;
+    @Getter private final boolean primary;
+
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private int sampleCount;
+    private int nextSample;
+    private double latencyEwma;
+    private double errorRateEwma;
+    private int consecutiveFailures;
+    private volatile long unavailableUntil;
+    private volatile BigInteger head;
+
+    RpcEndpoint(String url, Web3jService service, boolean primary) {
+        this.url = url;
+        this.service = service;
+        this.primary = primary;
+    }
+
+    /**
+     * Records a response of the endpoint.
+     *
+     * @param latencyMillis The time it took the endpoint to respond
+     * @param error If the response was a JSON-RPC error
+     */
+    synchronized void recordResponse(long latencyMillis, boolean error) {
+        latencySamples[nextSample] = latencyMillis;
+        nextSample = (nextSample + 1) % LATENCY_SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, LATENCY_SAMPLES);
+
+        latencyEwma =
+                latencyEwma == 0
+                        ? latencyMillis
+                        : latencyEwma + EWMA_WEIGHT * (latencyMillis - latencyEwma);
+        errorRateEwma += EWMA_WEIGHT * ((error ? 1 : 0) - errorRateEwma);
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records a request that did not get any response, and keeps the endpoint out of the rotation
+     * for a cooldown that doubles with every consecutive failure.
+     */
+    synchronized void recordFailure() {
+        errorRateEwma += EWMA_WEIGHT * (1 - errorRateEwma);
+        consecutiveFailures++;
+
+        final long cooldown =
+                Math.min(
+                        BASE_COOLDOWN_MILLIS << Math.min(consecutiveFailures - 1, 16),
+                        MAX_COOLDOWN_MILLIS);
+        unavailableUntil = System.currentTimeMillis() + cooldown;
+    }
+
+    void setHead(BigInteger head) {
+        this.head = head;
+    }
+
+    boolean isAvailable() {
+        return primary || System.currentTimeMillis() >= unavailableUntil;
+    }
+
+    /**
+     * @param blockNumber The block a request refers to
+     * @return If the endpoint is known to have the block. The primary endpoint is the reference of
+     *     the node, so it is always assumed to have it.
+     */
+    boolean hasBlock(BigInteger blockNumber) {
+        final BigInteger knownHead = head;
+
+        return primary || (knownHead != null && knownHead.compareTo(blockNumber) >= 0);
+    }
+
+    /**
+     * @return The expected cost of a request to the endpoint, lower is better
+     */
+    synchronized double getScore() {
+        return latencyEwma * (1 + errorRateEwma * 10);
+    }
+
+    /**
+     * @param percentile The percentile, between 1 and 99
+     * @return The latency of the endpoint at the percentile, or -1 if not enough responses have
+     *     been observed yet
+     */
+    synchronized long getLatencyPercentile(int percentile) {
+        if (sampleCount < MIN_LATENCY_SAMPLES) {
+            return -1;
+        }
+
+        final long[] sorted = Arrays.copyOf(latencySamples, sampleCount);
+        Arrays.sort(sorted);
+
+        return sorted[Math.min(sampleCount - 1, sampleCount * percentile / 100)];
+    }
+}
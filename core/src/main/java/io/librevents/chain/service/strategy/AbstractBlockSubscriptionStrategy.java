@@ -16,28 +16,70 @@ package io.librevents.chain.service.strategy;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import io.librevents.chain.block.BlockListener;
+import io.librevents.chain.block.PreparingBlockListener;
+import io.librevents.chain.block.ReorgListener;
+import io.librevents.chain.service.BlockchainException;
 import io.librevents.chain.service.block.BlockNumberService;
 import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.BlockReorg;
+import io.librevents.chain.service.domain.Transaction;
 import io.librevents.chain.service.domain.wrapper.Web3jBlock;
+import io.librevents.model.RecentBlock;
+import io.librevents.monitoring.LibreventsValueMonitor;
 import io.librevents.service.AsyncTaskService;
 import io.librevents.utils.ExecutorNameFactory;
 import io.reactivex.disposables.Disposable;
 import jakarta.annotation.PreDestroy;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.methods.response.EthBlock;
 
+/**
+ * Base class of the block subscription strategies.
+ *
+ * <p>The blocks of the subscription go through three stages, each one running on an executor of
+ * its own and connected to the next by a bounded queue:
+ *
+ * <ol>
+ *   <li>fetch: missing blocks are detected and fetched, with prefetching, so that blocks move on
+ *       in order and without gaps.
+ *   <li>prepare: {@link PreparingBlockListener}s match the block against their filters and
+ *       retrieve and decode its logs and receipts.
+ *   <li>deliver: reorgs are detected and the block is passed to every listener, which broadcast
+ *       and persist it.
+ * </ol>
+ *
+ * <p>So a block is fetched and decoded while the blocks before it are still being delivered. When
+ * a stage falls behind, the stages before it wait for room, and so does the subscription.
+ *
+ * <p>Every block is tagged with the subscription it came from. Blocks of a subscription that has
+ * since been unsubscribed are dropped by the stages, so that they are not delivered amid the
+ * replay of the subscription that replaces it.
+ */
 @Slf4j
 public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubscriptionStrategy {
 
     protected static final String BLOCK_EXECUTOR_NAME = "BLOCK";
+    private static final String FETCH_EXECUTOR_NAME = "FETCH";
+    private static final String PREPARE_EXECUTOR_NAME = "PREPARE";
+    private static final String CATCH_UP_EXECUTOR_NAME = "CATCHUP";
+    private static final int DEFAULT_CATCH_UP_PREFETCH_WINDOW = 10;
+    private static final int DEFAULT_BLOCK_QUEUE_CAPACITY = 16;
+    public static final int RECENT_BLOCKS_TO_KEEP = 128;
     protected final Web3j web3j;
     protected final String nodeName;
     protected final String nodeType;
@@ -45,8 +87,17 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
     protected final BlockNumberService blockNumberService;
     protected final AtomicLong lastBlockNumberProcessed = new AtomicLong(0);
     protected final Collection<BlockListener> blockListeners = new ConcurrentLinkedQueue<>();
+    private final AtomicLong lastBlockNumberFetched = new AtomicLong(0);
     private final AtomicBoolean error = new AtomicBoolean(false);
+    private final AtomicLong subscriptionEpoch = new AtomicLong(0);
+    private final RecentBlockChain recentBlocks = new RecentBlockChain(RECENT_BLOCKS_TO_KEEP);
+    private final BlockStage fetchStage;
+    private final BlockStage prepareStage;
+    private final BlockStage deliverStage;
     protected Disposable blockSubscription;
+    @Setter private int catchUpPrefetchWindow = DEFAULT_CATCH_UP_PREFETCH_WINDOW;
+    private AtomicLong catchUpLag = new AtomicLong(0);
+    private volatile boolean fullTransactionObjects;
 
     AbstractBlockSubscriptionStrategy(
             Web3j web3j,
@@ -59,6 +110,18 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
         this.nodeType = nodeType;
         this.asyncService = asyncService;
         this.blockNumberService = blockNumberService;
+        this.fetchStage =
+                new BlockStage(
+                        FETCH_EXECUTOR_NAME, nodeName, asyncService, DEFAULT_BLOCK_QUEUE_CAPACITY);
+        this.prepareStage =
+                new BlockStage(
+                        PREPARE_EXECUTOR_NAME,
+                        nodeName,
+                        asyncService,
+                        DEFAULT_BLOCK_QUEUE_CAPACITY);
+        this.deliverStage =
+                new BlockStage(
+                        BLOCK_EXECUTOR_NAME, nodeName, asyncService, DEFAULT_BLOCK_QUEUE_CAPACITY);
     }
 
     @Override
@@ -75,6 +138,8 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
             }
         } finally {
             blockSubscription = null;
+            // Blocks of the old subscription still in the stages are dropped from now on
+            subscriptionEpoch.incrementAndGet();
             error.set(false);
         }
     }
@@ -89,10 +154,65 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
         blockListeners.remove(blockListener);
     }
 
+    public void setValueMonitor(LibreventsValueMonitor valueMonitor) {
+        this.catchUpLag = valueMonitor.monitor("catchUpLag", nodeName, new AtomicLong(0));
+        fetchStage.setDepth(valueMonitor.monitor("fetchQueueDepth", nodeName, new AtomicLong(0)));
+        prepareStage.setDepth(
+                valueMonitor.monitor("prepareQueueDepth", nodeName, new AtomicLong(0)));
+        deliverStage.setDepth(
+                valueMonitor.monitor("deliverQueueDepth", nodeName, new AtomicLong(0)));
+    }
+
+    /**
+     * @param blockQueueCapacity The maximum number of blocks in each stage, running or waiting
+     */
+    public void setBlockQueueCapacity(int blockQueueCapacity) {
+        fetchStage.setCapacity(blockQueueCapacity);
+        prepareStage.setCapacity(blockQueueCapacity);
+        deliverStage.setCapacity(blockQueueCapacity);
+    }
+
     public boolean isSubscribed() {
         return blockSubscription != null && !blockSubscription.isDisposed();
     }
 
+    @Override
+    public void setFullTransactionObjects(boolean fullTransactionObjects) {
+        if (this.fullTransactionObjects != fullTransactionObjects) {
+            log.info(
+                    "Blocks of node {} will be requested {} transaction objects",
+                    nodeName,
+                    fullTransactionObjects ? "with" : "without");
+        }
+
+        this.fullTransactionObjects = fullTransactionObjects;
+    }
+
+    protected boolean isFullTransactionObjects() {
+        return fullTransactionObjects;
+    }
+
+    /**
+     * Converts a web3j block. When it was obtained without transaction objects, they are only
+     * requested if a listener asks the block for them.
+     */
+    protected Block toBlock(EthBlock.Block ethBlock) {
+        final Web3jBlock block = new Web3jBlock(ethBlock, nodeName);
+
+        if (!block.isTransactionsLoaded()) {
+            final String blockHash = ethBlock.getHash();
+
+            block.setTransactionsLoader(() -> getBlockTransactions(blockHash));
+        }
+
+        return block;
+    }
+
+    @Override
+    public List<RecentBlock> getRecentBlocks() {
+        return recentBlocks.getBlocks();
+    }
+
     protected void triggerListeners(T blockObject) {
         final Block eventeumBlock = convertToEventeumBlock(blockObject);
 
@@ -102,47 +222,148 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
     }
 
     protected void triggerListeners(Block eventeumBlock) {
-        asyncService.execute(
-                ExecutorNameFactory.build(BLOCK_EXECUTOR_NAME, eventeumBlock.getNodeName()),
-                () -> {
-                    final BigInteger expectedBlock =
-                            BigInteger.valueOf(lastBlockNumberProcessed.get()).add(BigInteger.ONE);
-
-                    // A lower or equal block is valid due to forking or replaying on failure
-                    if (lastBlockNumberProcessed.get() > 0
-                            && eventeumBlock.getNumber().compareTo(expectedBlock) > 0) {
-
-                        final int missingBlocks =
-                                eventeumBlock.getNumber().subtract(expectedBlock).intValue();
-
-                        log.warn(
-                                "Missing {} blocks.  Expected {}, got {}.  Catching up...",
-                                missingBlocks,
-                                expectedBlock,
-                                eventeumBlock.getNumber());
-
-                        // Get each missing block and process before continuing with block that was
-                        // passed into
-                        // method
-                        for (int i = 0; i < missingBlocks; i++) {
-                            final BigInteger nextBlock = expectedBlock.add(BigInteger.valueOf(i));
-
-                            try {
-                                log.warn("Retrieving block number {}...", nextBlock);
-                                final Block block = getBlockWithNumber(nextBlock);
-
-                                blockListeners.forEach(
-                                        listener -> triggerListener(listener, block));
-                                updateLastBlockProcessed(block);
-                            } catch (Throwable t) {
-                                onError(blockSubscription, t);
-                            }
+        final long epoch = subscriptionEpoch.get();
+
+        // Waits while the fetch stage is full, which holds back the subscription
+        submit(fetchStage, eventeumBlock, epoch, block -> fetchBlock(block, epoch));
+    }
+
+    private void fetchBlock(Block block, long epoch) {
+        final BigInteger expectedBlock =
+                BigInteger.valueOf(lastBlockNumberFetched.get()).add(BigInteger.ONE);
+
+        // A lower or equal block is valid due to forking or replaying on failure
+        if (lastBlockNumberFetched.get() > 0 && block.getNumber().compareTo(expectedBlock) > 0) {
+
+            final int missingBlocks = block.getNumber().subtract(expectedBlock).intValue();
+
+            log.warn(
+                    "Missing {} blocks.  Expected {}, got {}.  Catching up...",
+                    missingBlocks,
+                    expectedBlock,
+                    block.getNumber());
+
+            // Pass each missing block on before the block that was passed in
+            if (!catchUp(expectedBlock, missingBlocks, epoch)) {
+                return;
+            }
+        }
+
+        prepare(block, epoch);
+    }
+
+    private boolean prepare(Block block, long epoch) {
+        if (isStale(epoch)
+                || !submit(
+                        prepareStage,
+                        block,
+                        epoch,
+                        toPrepare -> prepareBlock(toPrepare, epoch))) {
+            return false;
+        }
+
+        lastBlockNumberFetched.set(block.getNumber().longValue());
+        return true;
+    }
+
+    private void prepareBlock(Block block, long epoch) {
+        blockListeners.stream()
+                .filter(PreparingBlockListener.class::isInstance)
+                .map(PreparingBlockListener.class::cast)
+                .forEach(listener -> triggerPreparingListener(listener, block));
+
+        submit(deliverStage, block, epoch, toDeliver -> processBlock(toDeliver, epoch));
+    }
+
+    private boolean submit(BlockStage stage, Block block, long epoch, Consumer<Block> task) {
+        try {
+            stage.submit(
+                    block,
+                    toRun -> {
+                        if (isStale(epoch)) {
+                            log.debug(
+                                    "Dropping block {} of a previous subscription of node {}",
+                                    toRun.getNumber(),
+                                    nodeName);
+                            return;
                         }
-                    }
 
-                    blockListeners.forEach(listener -> triggerListener(listener, eventeumBlock));
-                    updateLastBlockProcessed(eventeumBlock);
-                });
+                        task.accept(toRun);
+                    });
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn(
+                    "Interrupted while waiting to process block {} of node {}",
+                    block.getNumber(),
+                    nodeName);
+            return false;
+        }
+    }
+
+    /**
+     * Fetches up to catchUpPrefetchWindow missing blocks concurrently, while processing them
+     * strictly in order.
+     *
+     * @return false if catching up failed, in which case the subscription has been disposed, or
+     *     was interrupted or replaced
+     */
+    private boolean catchUp(BigInteger fromBlock, int missingBlocks, long epoch) {
+        final Deque<Future<Block>> prefetched = new ArrayDeque<>();
+        final int window = Math.max(1, catchUpPrefetchWindow);
+        int requested = 0;
+
+        catchUpLag.set(missingBlocks);
+
+        try {
+            for (int i = 0; i < missingBlocks; i++) {
+                while (requested < missingBlocks && prefetched.size() < window) {
+                    final BigInteger blockNumber = fromBlock.add(BigInteger.valueOf(requested));
+
+                    prefetched.add(
+                            asyncService.submit(
+                                    ExecutorNameFactory.build(
+                                            CATCH_UP_EXECUTOR_NAME + requested % window, nodeName),
+                                    () -> getBlockWithNumber(blockNumber)));
+                    requested++;
+                }
+
+                if (!prepare(prefetched.remove().get(), epoch)) {
+                    return false;
+                }
+                catchUpLag.set(missingBlocks - i - 1L);
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onError(blockSubscription, e);
+        } catch (ExecutionException e) {
+            onError(blockSubscription, e.getCause());
+        } catch (RuntimeException e) {
+            onError(blockSubscription, e);
+        } finally {
+            prefetched.forEach(future -> future.cancel(true));
+            catchUpLag.set(0);
+        }
+
+        return false;
+    }
+
+    private void processBlock(Block block, long epoch) {
+        detectReorg(block);
+
+        blockListeners.stream()
+                .takeWhile(listener -> !isStale(epoch))
+                .forEach(listener -> triggerListener(listener, block));
+
+        if (!isStale(epoch)) {
+            updateLastBlockProcessed(block);
+        }
+    }
+
+    private boolean isStale(long epoch) {
+        return epoch != subscriptionEpoch.get();
     }
 
     protected void triggerListener(BlockListener listener, Block block) {
@@ -156,9 +377,62 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
     }
 
     protected BigInteger getStartBlock() {
+        if (recentBlocks.isEmpty()) {
+            // Resume the hash chain persisted with the latest block, so that a reorg that
+            // happened while stopped is still detected
+            recentBlocks.restore(blockNumberService.getRecentBlocksForNode(nodeName));
+        }
+
         return blockNumberService.getStartBlockForNode(nodeName);
     }
 
+    private void detectReorg(Block block) {
+        final List<RecentBlock> orphanedBlocks =
+                recentBlocks.add(block, this::getRecentBlockWithHash);
+
+        if (orphanedBlocks.isEmpty()) {
+            return;
+        }
+
+        final BlockReorg reorg =
+                new BlockReorg(
+                        nodeName,
+                        orphanedBlocks.getLast().getNumber(),
+                        orphanedBlocks.stream().map(RecentBlock::getHash).toList());
+
+        log.warn(
+                "Reorg detected on node {} by block {}, {} blocks orphaned from block {}",
+                nodeName,
+                block.getNumber(),
+                orphanedBlocks.size(),
+                reorg.getForkBlockNumber());
+
+        blockListeners.stream()
+                .filter(ReorgListener.class::isInstance)
+                .map(ReorgListener.class::cast)
+                .forEach(listener -> triggerReorgListener(listener, reorg));
+    }
+
+    protected void triggerPreparingListener(PreparingBlockListener listener, Block block) {
+        if (!error.get()) {
+            try {
+                listener.prepareBlock(block);
+            } catch (RuntimeException t) {
+                onError(blockSubscription, t);
+            }
+        }
+    }
+
+    protected void triggerReorgListener(ReorgListener listener, BlockReorg reorg) {
+        if (!error.get()) {
+            try {
+                listener.onReorg(reorg);
+            } catch (RuntimeException t) {
+                onError(blockSubscription, t);
+            }
+        }
+    }
+
     protected void onError(Disposable disposable, Throwable error) {
         log.error(
                 "There was an error when processing a block, disposing block subscription (will be reinitialised)",
@@ -173,10 +447,46 @@ public abstract class AbstractBlockSubscriptionStrategy<T> implements BlockSubsc
     }
 
     private Block getBlockWithNumber(BigInteger blockNumber) throws IOException {
+        log.warn("Retrieving block number {}...", blockNumber);
+
         final EthBlock ethBlock =
-                web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(blockNumber), true).send();
+                web3j.ethGetBlockByNumber(
+                                DefaultBlockParameter.valueOf(blockNumber),
+                                fullTransactionObjects)
+                        .send();
 
-        return new Web3jBlock(ethBlock.getBlock(), nodeName);
+        return toBlock(ethBlock.getBlock());
+    }
+
+    private List<Transaction> getBlockTransactions(String blockHash) {
+        log.debug("Loading the transactions of block {}", blockHash);
+
+        try {
+            final EthBlock ethBlock = web3j.ethGetBlockByHash(blockHash, true).send();
+
+            if (ethBlock == null || ethBlock.getBlock() == null) {
+                throw new BlockchainException(
+                        String.format("Block not found. Hash: %s", blockHash));
+            }
+
+            return new Web3jBlock(ethBlock.getBlock(), nodeName).getTransactions();
+        } catch (IOException e) {
+            throw new BlockchainException("Unable to retrieve block transactions", e);
+        }
+    }
+
+    private RecentBlock getRecentBlockWithHash(String blockHash) {
+        try {
+            final EthBlock.Block block =
+                    web3j.ethGetBlockByHash(blockHash, false).send().getBlock();
+
+            return block != null
+                    ? new RecentBlock(block.getNumber(), block.getHash(), block.getParentHash())
+                    : null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to retrieve block {} while walking back a reorg", blockHash, e);
+            return null;
+        }
     }
 
     abstract Block convertToEventeumBlock(T blockObject);
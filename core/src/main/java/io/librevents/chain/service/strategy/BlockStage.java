@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.strategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import io.librevents.chain.service.domain.Block;
+import io.librevents.service.AsyncTaskService;
+import io.librevents.utils.ExecutorNameFactory;
+
+/**
+ * A stage of the block processing of a node. Blocks run in order on the executor of the stage,
+ * and at most {@code capacity} blocks can be in the stage at once, running or waiting.
+ *
+ * <p>Handing a block to a full stage blocks the caller until the stage makes room, so a slow
+ * stage slows down the stages before it and, in the end, the block subscription itself.
+ */
+class BlockStage {
+
+    private final String executorName;
+    private final AsyncTaskService asyncService;
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private int capacity;
+    private AtomicLong depth = new AtomicLong(0);
+
+    BlockStage(String stageName, String nodeName, AsyncTaskService asyncService, int capacity) {
+        this.executorName = ExecutorNameFactory.build(stageName, nodeName);
+        this.asyncService = asyncService;
+        this.capacity = capacity;
+    }
+
+    void setCapacity(int capacity) {
+        lock.lock();
+        try {
+            this.capacity = Math.max(1, capacity);
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setDepth(AtomicLong depth) {
+        depth.set(this.depth.get());
+        this.depth = depth;
+    }
+
+    /**
+     * Queues the task of a block, waiting for room in the stage if it is full.
+     *
+     * @throws InterruptedException if interrupted while waiting, the task is not queued then
+     */
+    void submit(Block block, Consumer<Block> task) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (depth.get() >= capacity) {
+                notFull.await();
+            }
+            depth.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+
+        asyncService.execute(
+                executorName,
+                () -> {
+                    try {
+                        task.accept(block);
+                    } finally {
+                        release();
+                    }
+                });
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            depth.decrementAndGet();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -14,7 +14,10 @@
 
 package io.librevents.chain.service.strategy;
 
+import java.util.List;
+
 import io.librevents.chain.block.BlockListener;
+import io.librevents.model.RecentBlock;
 import io.reactivex.disposables.Disposable;
 
 public interface BlockSubscriptionStrategy {
@@ -30,4 +33,14 @@ public interface BlockSubscriptionStrategy {
     void removeBlockListener(BlockListener blockListener);
 
     boolean isSubscribed();
+
+    List<RecentBlock> getRecentBlocks();
+
+    /**
+     * Sets whether blocks are requested with their transaction objects. Without them, the
+     * transactions of a block are loaded if a listener needs them.
+     *
+     * @param fullTransactionObjects If full transaction objects should be requested
+     */
+    void setFullTransactionObjects(boolean fullTransactionObjects);
 }
@@ -20,7 +20,6 @@ import java.util.Objects;
 import io.librevents.chain.service.HederaService;
 import io.librevents.chain.service.block.BlockNumberService;
 import io.librevents.chain.service.domain.Block;
-import io.librevents.chain.service.domain.wrapper.Web3jBlock;
 import io.librevents.chain.settings.NodeType;
 import io.librevents.service.AsyncTaskService;
 import io.librevents.utils.JSON;
@@ -74,7 +73,8 @@ public class PollingBlockSubscriptionStrategy extends AbstractBlockSubscriptionS
         switch (NodeType.valueOf(nodeType)) {
             case NORMAL:
                 blockSubscription =
-                        web3j.replayPastAndFutureBlocksFlowable(blockParam, true)
+                        web3j.replayPastAndFutureBlocksFlowable(
+                                        blockParam, isFullTransactionObjects())
                                 .doOnError(error -> onError(blockSubscription, error))
                                 .subscribe(
                                         this::triggerListeners,
@@ -106,7 +106,7 @@ public class PollingBlockSubscriptionStrategy extends AbstractBlockSubscriptionS
         }
 
         try {
-            return new Web3jBlock(blockObject.getBlock(), nodeName);
+            return toBlock(blockObject.getBlock());
         } catch (RuntimeException t) {
             log.error("Error converting block: {}", JSON.stringify(blockObject), t);
             throw t;
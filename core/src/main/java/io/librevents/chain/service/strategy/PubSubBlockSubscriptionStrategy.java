@@ -20,7 +20,6 @@ import java.math.BigInteger;
 import io.librevents.chain.service.BlockchainException;
 import io.librevents.chain.service.block.BlockNumberService;
 import io.librevents.chain.service.domain.Block;
-import io.librevents.chain.service.domain.wrapper.Web3jBlock;
 import io.librevents.service.AsyncTaskService;
 import io.librevents.utils.ExecutorNameFactory;
 import io.reactivex.disposables.Disposable;
@@ -56,7 +55,7 @@ public class PubSubBlockSubscriptionStrategy extends AbstractBlockSubscriptionSt
 
         // New heads can only start from the latest block, so we need to get missing blocks first
         blockSubscription =
-                web3j.replayPastBlocksFlowable(blockParam, true)
+                web3j.replayPastBlocksFlowable(blockParam, isFullTransactionObjects())
                         .doOnComplete(() -> blockSubscription = subscribeToNewHeads())
                         .subscribe(ethBlock -> triggerListeners(convertToEventeumBlock(ethBlock)));
 
@@ -97,11 +96,11 @@ public class PubSubBlockSubscriptionStrategy extends AbstractBlockSubscriptionSt
 
     @Override
     Block convertToEventeumBlock(NewHead blockObject) {
-        return new Web3jBlock(getEthBlock(blockObject.getHash()).getBlock(), nodeName);
+        return toBlock(getEthBlock(blockObject.getHash()).getBlock());
     }
 
     Block convertToEventeumBlock(EthBlock blockObject) {
-        return new Web3jBlock(blockObject.getBlock(), nodeName);
+        return toBlock(blockObject.getBlock());
     }
 
     protected RetryTemplate getRetryTemplate() {
@@ -126,7 +125,9 @@ public class PubSubBlockSubscriptionStrategy extends AbstractBlockSubscriptionSt
                         context -> {
                             try {
                                 final EthBlock block =
-                                        web3j.ethGetBlockByHash(blockHash, true).send();
+                                        web3j.ethGetBlockByHash(
+                                                        blockHash, isFullTransactionObjects())
+                                                .send();
 
                                 if (block == null || block.getBlock() == null) {
                                     throw new BlockchainException(
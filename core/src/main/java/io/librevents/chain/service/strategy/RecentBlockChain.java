@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.strategy;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+import io.librevents.chain.service.domain.Block;
+import io.librevents.model.RecentBlock;
+
+/**
+ * A bounded ring of the most recent blocks of a node, linked by their parent hashes.
+ *
+ * <p>Adding a block that does not extend the last known block reveals a reorg. The replaced
+ * blocks are walked back, loading the new canonical ancestors by hash, until the common ancestor
+ * is found or the ring is exhausted.
+ */
+class RecentBlockChain {
+
+    private final int capacity;
+    private final Deque<RecentBlock> blocks;
+
+    RecentBlockChain(int capacity) {
+        this.capacity = capacity;
+        this.blocks = new ArrayDeque<>(capacity);
+    }
+
+    synchronized boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    synchronized List<RecentBlock> getBlocks() {
+        return new ArrayList<>(blocks);
+    }
+
+    synchronized void restore(List<RecentBlock> recentBlocks) {
+        blocks.clear();
+        // Persisted blocks come back in storage order, which says nothing about their age
+        recentBlocks.stream()
+                .sorted(Comparator.comparing(RecentBlock::getNumber))
+                .forEach(this::append);
+    }
+
+    /**
+     * @param block The new block
+     * @param ancestorLoader Loads a canonical block by hash, returning null if it is unavailable
+     * @return The blocks orphaned by the new block, newest first
+     */
+    synchronized List<RecentBlock> add(
+            Block block, Function<String, RecentBlock> ancestorLoader) {
+        final List<RecentBlock> orphanedBlocks = new ArrayList<>();
+
+        if (block.getHash() == null || isKnown(block)) {
+            // Replayed blocks are not new information
+            return orphanedBlocks;
+        }
+
+        // Anything at or above the new block height has been replaced
+        while (!blocks.isEmpty()
+                && blocks.peekLast().getNumber().compareTo(block.getNumber()) >= 0) {
+            orphanedBlocks.add(blocks.pollLast());
+        }
+
+        final Deque<RecentBlock> newAncestors = new ArrayDeque<>();
+        String expectedHash = block.getParentHash();
+        BigInteger expectedNumber = block.getNumber().subtract(BigInteger.ONE);
+
+        while (expectedHash != null
+                && !blocks.isEmpty()
+                && blocks.peekLast().getNumber().equals(expectedNumber)
+                && !blocks.peekLast().getHash().equalsIgnoreCase(expectedHash)) {
+            orphanedBlocks.add(blocks.pollLast());
+
+            final RecentBlock ancestor = ancestorLoader.apply(expectedHash);
+
+            if (ancestor == null) {
+                break;
+            }
+
+            newAncestors.addFirst(ancestor);
+            expectedHash = ancestor.getParentHash();
+            expectedNumber = expectedNumber.subtract(BigInteger.ONE);
+        }
+
+        newAncestors.forEach(this::append);
+        append(new RecentBlock(block.getNumber(), block.getHash(), block.getParentHash()));
+
+        return orphanedBlocks;
+    }
+
+    private boolean isKnown(Block block) {
+        return blocks.stream()
+                .anyMatch(
+                        known ->
+                                known.getNumber().equals(block.getNumber())
+                                        && known.getHash().equalsIgnoreCase(block.getHash()));
+    }
+
+    private void append(RecentBlock block) {
+        blocks.addLast(block);
+
+        while (blocks.size() > capacity) {
+            blocks.pollFirst();
+        }
+    }
+}
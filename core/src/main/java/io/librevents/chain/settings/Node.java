@@ -15,6 +15,7 @@
 package io.librevents.chain.settings;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Map;
 
 import lombok.AllArgsConstructor;
@@ -52,4 +53,15 @@ public class Node {
     private BigInteger maxBlocksToSync;
     private Map<String, Object> extension;
     private BigInteger limitMirrorNodeResults;
+    private LogFetchStrategy logFetchStrategy;
+    private Integer blockReceiptsThreshold;
+    private Integer catchUpPrefetchWindow;
+    private Integer syncConcurrency;
+    private Integer hedgePercentile;
+    private List<String> readUrls;
+    private Long rpcBatchWindow;
+    private Integer rpcBatchSize;
+    private Integer eventPartitions;
+    private EventPartitionKey eventPartitionKey;
+    private Integer blockQueueCapacity;
 }
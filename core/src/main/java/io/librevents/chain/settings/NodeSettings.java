@@ -17,6 +17,7 @@ package io.librevents.chain.settings;
 import java.math.BigInteger;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.librevents.chain.service.BlockchainException;
@@ -64,6 +65,27 @@ public class NodeSettings {
 
     private static final String DEFAULT_LIMIT_MIRROR_NODE_RESULTS = "200";
 
+    private static final LogFetchStrategy DEFAULT_LOG_FETCH_STRATEGY = LogFetchStrategy.FILTER;
+
+    private static final String DEFAULT_BLOCK_RECEIPTS_THRESHOLD = "0";
+
+    private static final String DEFAULT_CATCH_UP_PREFETCH_WINDOW = "10";
+
+    private static final String DEFAULT_SYNC_CONCURRENCY = "4";
+
+    private static final String DEFAULT_HEDGE_PERCENTILE = "0";
+
+    private static final String DEFAULT_RPC_BATCH_WINDOW = "0";
+
+    private static final String DEFAULT_RPC_BATCH_SIZE = "50";
+
+    private static final String DEFAULT_EVENT_PARTITIONS = "1";
+
+    private static final EventPartitionKey DEFAULT_EVENT_PARTITION_KEY =
+            EventPartitionKey.CONTRACT_ADDRESS;
+
+    private static final String DEFAULT_BLOCK_QUEUE_CAPACITY = "16";
+
     private static final String ATTRIBUTE_PREFIX = "ethereum";
 
     private static final String NODE_ATTRIBUTE_PREFIX = ".nodes";
@@ -72,6 +94,8 @@ public class NodeSettings {
 
     private static final String NODE_HEADERS_ATTRIBUTE = "headers";
 
+    private static final String NODE_READ_URLS_ATTRIBUTE = "readUrls";
+
     private static final String NODE_CALL_RETRIES_ATTRIBUTE = "callRetries";
 
     private static final String NODE_LIMIT_PER_REQUEST_ATTRIBUTE = "limitPerRequest";
@@ -139,6 +163,56 @@ public class NodeSettings {
 
     private static final String LIMIT_MIRROR_NODE_RESULTS = "limitMirrorNodeResults";
 
+    private static final String LOG_FETCH_STRATEGY_ATTRIBUTE = "logFetchStrategy";
+
+    private static final String GLOBAL_LOG_FETCH_STRATEGY_ATTRIBUTE =
+            "." + LOG_FETCH_STRATEGY_ATTRIBUTE;
+
+    private static final String BLOCK_RECEIPTS_THRESHOLD_ATTRIBUTE = "blockReceiptsThreshold";
+
+    private static final String GLOBAL_BLOCK_RECEIPTS_THRESHOLD_ATTRIBUTE =
+            "." + BLOCK_RECEIPTS_THRESHOLD_ATTRIBUTE;
+
+    private static final String CATCH_UP_PREFETCH_WINDOW_ATTRIBUTE = "catchUpPrefetchWindow";
+
+    private static final String GLOBAL_CATCH_UP_PREFETCH_WINDOW_ATTRIBUTE =
+            "." + CATCH_UP_PREFETCH_WINDOW_ATTRIBUTE;
+
+    private static final String SYNC_CONCURRENCY_ATTRIBUTE = "syncConcurrency";
+
+    private static final String GLOBAL_SYNC_CONCURRENCY_ATTRIBUTE =
+            "." + SYNC_CONCURRENCY_ATTRIBUTE;
+
+    private static final String HEDGE_PERCENTILE_ATTRIBUTE = "hedgePercentile";
+
+    private static final String GLOBAL_HEDGE_PERCENTILE_ATTRIBUTE =
+            "." + HEDGE_PERCENTILE_ATTRIBUTE;
+
+    private static final String RPC_BATCH_WINDOW_ATTRIBUTE = "rpcBatchWindow";
+
+    private static final String GLOBAL_RPC_BATCH_WINDOW_ATTRIBUTE =
+            "." + RPC_BATCH_WINDOW_ATTRIBUTE;
+
+    private static final String RPC_BATCH_SIZE_ATTRIBUTE = "rpcBatchSize";
+
+    private static final String GLOBAL_RPC_BATCH_SIZE_ATTRIBUTE =
+            "." + RPC_BATCH_SIZE_ATTRIBUTE;
+
+    private static final String EVENT_PARTITIONS_ATTRIBUTE = "eventPartitions";
+
+    private static final String GLOBAL_EVENT_PARTITIONS_ATTRIBUTE =
+            "." + EVENT_PARTITIONS_ATTRIBUTE;
+
+    private static final String EVENT_PARTITION_KEY_ATTRIBUTE = "eventPartitionKey";
+
+    private static final String GLOBAL_EVENT_PARTITION_KEY_ATTRIBUTE =
+            "." + EVENT_PARTITION_KEY_ATTRIBUTE;
+
+    private static final String BLOCK_QUEUE_CAPACITY_ATTRIBUTE = "blockQueueCapacity";
+
+    private static final String GLOBAL_BLOCK_QUEUE_CAPACITY_ATTRIBUTE =
+            "." + BLOCK_QUEUE_CAPACITY_ATTRIBUTE;
+
     private static final String GLOBAL_MAX_BLOCKS_TO_SYNC_ATTRIBUTE =
             "." + MAX_BLOCKS_TO_SYNC_ATTRIBUTE;
 
@@ -213,7 +287,20 @@ public class NodeSettings {
                                 getNumBlocksToReplayProperty(environment, supportedChain, index),
                                 getMaxBlocksToSyncProperty(environment, supportedChain, index),
                                 getExtensions(environment, supportedChain, index),
-                                getLimitMirrorNodeResults(environment, supportedChain, index));
+                                getLimitMirrorNodeResults(environment, supportedChain, index),
+                                getLogFetchStrategyProperty(environment, supportedChain, index),
+                                getBlockReceiptsThresholdProperty(
+                                        environment, supportedChain, index),
+                                getCatchUpPrefetchWindowProperty(
+                                        environment, supportedChain, index),
+                                getSyncConcurrencyProperty(environment, supportedChain, index),
+                                getHedgePercentileProperty(environment, supportedChain, index),
+                                getReadUrls(environment, supportedChain, index),
+                                getRpcBatchWindowProperty(environment, supportedChain, index),
+                                getRpcBatchSizeProperty(environment, supportedChain, index),
+                                getEventPartitionsProperty(environment, supportedChain, index),
+                                getEventPartitionKeyProperty(environment, supportedChain, index),
+                                getBlockQueueCapacityProperty(environment, supportedChain, index));
 
                 nodes.put(nodeName, node);
 
@@ -256,6 +343,186 @@ public class NodeSettings {
         return BigInteger.valueOf(Long.parseLong(limitMirrorNodeResults));
     }
 
+    private LogFetchStrategy getLogFetchStrategyProperty(
+            Environment environment, String chainName, int index) {
+        String logFetchStrategy =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(LOG_FETCH_STRATEGY_ATTRIBUTE, chainName, index));
+
+        if (logFetchStrategy == null) {
+            logFetchStrategy =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_LOG_FETCH_STRATEGY_ATTRIBUTE,
+                            DEFAULT_LOG_FETCH_STRATEGY.name());
+        }
+
+        return LogFetchStrategy.valueOf(logFetchStrategy);
+    }
+
+    private Integer getBlockReceiptsThresholdProperty(
+            Environment environment, String chainName, int index) {
+        String blockReceiptsThreshold =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(BLOCK_RECEIPTS_THRESHOLD_ATTRIBUTE, chainName, index));
+
+        if (blockReceiptsThreshold == null) {
+            blockReceiptsThreshold =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_BLOCK_RECEIPTS_THRESHOLD_ATTRIBUTE,
+                            DEFAULT_BLOCK_RECEIPTS_THRESHOLD);
+        }
+
+        return Integer.valueOf(blockReceiptsThreshold);
+    }
+
+    private Integer getCatchUpPrefetchWindowProperty(
+            Environment environment, String chainName, int index) {
+        String catchUpPrefetchWindow =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(CATCH_UP_PREFETCH_WINDOW_ATTRIBUTE, chainName, index));
+
+        if (catchUpPrefetchWindow == null) {
+            catchUpPrefetchWindow =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_CATCH_UP_PREFETCH_WINDOW_ATTRIBUTE,
+                            DEFAULT_CATCH_UP_PREFETCH_WINDOW);
+        }
+
+        return Integer.valueOf(catchUpPrefetchWindow);
+    }
+
+    private Integer getSyncConcurrencyProperty(
+            Environment environment, String chainName, int index) {
+        String syncConcurrency =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(SYNC_CONCURRENCY_ATTRIBUTE, chainName, index));
+
+        if (syncConcurrency == null) {
+            syncConcurrency =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_SYNC_CONCURRENCY_ATTRIBUTE,
+                            DEFAULT_SYNC_CONCURRENCY);
+        }
+
+        return Integer.valueOf(syncConcurrency);
+    }
+
+    private Integer getHedgePercentileProperty(
+            Environment environment, String chainName, int index) {
+        String hedgePercentile =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(HEDGE_PERCENTILE_ATTRIBUTE, chainName, index));
+
+        if (hedgePercentile == null) {
+            hedgePercentile =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_HEDGE_PERCENTILE_ATTRIBUTE,
+                            DEFAULT_HEDGE_PERCENTILE);
+        }
+
+        return Integer.valueOf(hedgePercentile);
+    }
+
+    private Long getRpcBatchWindowProperty(
+            Environment environment, String chainName, int index) {
+        String rpcBatchWindow =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(RPC_BATCH_WINDOW_ATTRIBUTE, chainName, index));
+
+        if (rpcBatchWindow == null) {
+            rpcBatchWindow =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_RPC_BATCH_WINDOW_ATTRIBUTE,
+                            DEFAULT_RPC_BATCH_WINDOW);
+        }
+
+        return Long.valueOf(rpcBatchWindow);
+    }
+
+    private Integer getRpcBatchSizeProperty(
+            Environment environment, String chainName, int index) {
+        String rpcBatchSize =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(RPC_BATCH_SIZE_ATTRIBUTE, chainName, index));
+
+        if (rpcBatchSize == null) {
+            rpcBatchSize =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_RPC_BATCH_SIZE_ATTRIBUTE,
+                            DEFAULT_RPC_BATCH_SIZE);
+        }
+
+        return Integer.valueOf(rpcBatchSize);
+    }
+
+    private Integer getEventPartitionsProperty(
+            Environment environment, String chainName, int index) {
+        String eventPartitions =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(EVENT_PARTITIONS_ATTRIBUTE, chainName, index));
+
+        if (eventPartitions == null) {
+            eventPartitions =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_EVENT_PARTITIONS_ATTRIBUTE,
+                            DEFAULT_EVENT_PARTITIONS);
+        }
+
+        return Integer.valueOf(eventPartitions);
+    }
+
+    private EventPartitionKey getEventPartitionKeyProperty(
+            Environment environment, String chainName, int index) {
+        String eventPartitionKey =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(EVENT_PARTITION_KEY_ATTRIBUTE, chainName, index));
+
+        if (eventPartitionKey == null) {
+            eventPartitionKey =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_EVENT_PARTITION_KEY_ATTRIBUTE,
+                            DEFAULT_EVENT_PARTITION_KEY.name());
+        }
+
+        return EventPartitionKey.valueOf(eventPartitionKey);
+    }
+
+    private Integer getBlockQueueCapacityProperty(
+            Environment environment, String chainName, int index) {
+        String blockQueueCapacity =
+                getProperty(
+                        environment,
+                        buildNodeAttribute(BLOCK_QUEUE_CAPACITY_ATTRIBUTE, chainName, index));
+
+        if (blockQueueCapacity == null) {
+            blockQueueCapacity =
+                    getProperty(
+                            environment,
+                            chainName + GLOBAL_BLOCK_QUEUE_CAPACITY_ATTRIBUTE,
+                            DEFAULT_BLOCK_QUEUE_CAPACITY);
+        }
+
+        return Integer.valueOf(blockQueueCapacity);
+    }
+
     private boolean nodeExistsAtIndex(Environment environment, String chainName, int index) {
         return environment.containsProperty(
                 buildNodeAttribute(NODE_NAME_ATTRIBUTE, chainName, index));
@@ -318,6 +585,14 @@ public class NodeSettings {
                 .orElseGet(Collections::emptyMap);
     }
 
+    private List<String> getReadUrls(Environment environment, String chainName, int index) {
+        return Binder.get(environment)
+                .bind(
+                        buildNodeAttribute(NODE_READ_URLS_ATTRIBUTE, chainName, index),
+                        Bindable.listOf(String.class))
+                .orElseGet(Collections::emptyList);
+    }
+
     private Long getNodePollingIntervalProperty(
             Environment environment, String chainName, int index) {
         final String pollingInterval =
@@ -15,6 +15,7 @@
 package io.librevents.chain.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
@@ -30,6 +31,10 @@ public class BloomFilterUtil {
 
     private static final int LEAST_SIGNIFICANT_THREE_BITS = 0x7;
 
+    private static final int BLOOM_WORDS = 32;
+
+    private static final int HEX_CHARS_PER_WORD = 16;
+
     public static BloomFilterBits getBloomBits(ContractEventFilter filter) {
         final byte[] contractAddressHash =
                 Hash.sha3(Numeric.hexStringToByteArray(filter.getContractAddress()));
@@ -73,6 +78,79 @@ public class BloomFilterUtil {
                         });
     }
 
+    /**
+     * Decodes a logs bloom into 32 words, with the most significant word first, so that it can be
+     * matched against many {@link BloomMask}s without parsing it again.
+     *
+     * @param bloomFilterHex The 2048 bit logs bloom, hex encoded
+     * @return The decoded bloom, all zeros if there is no bloom
+     */
+    public static long[] toBloomWords(String bloomFilterHex) {
+        final long[] words = new long[BLOOM_WORDS];
+
+        if (bloomFilterHex == null) {
+            return words;
+        }
+
+        final String hex = Numeric.cleanHexPrefix(bloomFilterHex);
+        // The bloom is a big endian number, so a short hex string is aligned to the right
+        final int offset = BLOOM_WORDS * HEX_CHARS_PER_WORD - hex.length();
+
+        for (int i = Math.max(0, -offset); i < hex.length(); i++) {
+            final int nibble = offset + i;
+            final long value = Character.digit(hex.charAt(i), 16);
+
+            words[nibble / HEX_CHARS_PER_WORD] |=
+                    value << ((HEX_CHARS_PER_WORD - 1 - nibble % HEX_CHARS_PER_WORD) * 4);
+        }
+
+        return words;
+    }
+
+    public static BloomMask getBloomMask(byte[] hash) {
+        return new BloomMask(getBloomBits(hash));
+    }
+
+    /** The bloom bits of a value, precompiled into word masks of a decoded bloom. */
+    public static class BloomMask {
+
+        private final int[] wordIndexes;
+        private final long[] masks;
+
+        private BloomMask(List<Integer> bits) {
+            final int[] indexes = new int[bits.size()];
+            final long[] wordMasks = new long[bits.size()];
+            int size = 0;
+
+            for (int bit : bits) {
+                final int wordIndex = BLOOM_WORDS - 1 - bit / Long.SIZE;
+                final long mask = 1L << (bit % Long.SIZE);
+
+                int position = 0;
+                while (position < size && indexes[position] != wordIndex) {
+                    position++;
+                }
+
+                indexes[position] = wordIndex;
+                wordMasks[position] |= mask;
+                size = Math.max(size, position + 1);
+            }
+
+            this.wordIndexes = Arrays.copyOf(indexes, size);
+            this.masks = Arrays.copyOf(wordMasks, size);
+        }
+
+        public boolean matches(long[] bloomWords) {
+            for (int i = 0; i < wordIndexes.length; i++) {
+                if ((bloomWords[wordIndexes[i]] & masks[i]) != masks[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
     @Data
     public static class BloomFilterBits {
         private List<Integer> bitIndexes;
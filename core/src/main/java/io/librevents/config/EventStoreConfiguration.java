@@ -28,6 +28,7 @@ import io.librevents.integration.eventstore.db.SqlEventStore;
 import io.librevents.integration.eventstore.db.repository.ContractEventDetailsRepository;
 import io.librevents.integration.eventstore.db.repository.LatestBlockRepository;
 import io.librevents.integration.eventstore.db.repository.MessageDetailsRepository;
+import io.librevents.integration.eventstore.db.repository.RecentBlockEntryRepository;
 import io.librevents.integration.eventstore.rest.RESTEventStore;
 import io.librevents.integration.eventstore.rest.client.EventStoreClient;
 import io.librevents.monitoring.LibreventsValueMonitor;
@@ -55,11 +56,13 @@ public class EventStoreConfiguration {
                 ContractEventDetailsRepository contractEventRepository,
                 MessageDetailsRepository messageDetailsRepository,
                 LatestBlockRepository latestBlockRepository,
+                RecentBlockEntryRepository recentBlockEntryRepository,
                 MongoTemplate mongoTemplate) {
             return new MongoEventStore(
                     contractEventRepository,
                     messageDetailsRepository,
                     latestBlockRepository,
+                    recentBlockEntryRepository,
                     mongoTemplate);
         }
 
@@ -88,9 +91,13 @@ public class EventStoreConfiguration {
         public SaveableEventStore dbEventStore(
                 ContractEventDetailsRepository contractEventRepository,
                 MessageDetailsRepository messageDetailsRepository,
-                LatestBlockRepository latestBlockRepository) {
+                LatestBlockRepository latestBlockRepository,
+                RecentBlockEntryRepository recentBlockEntryRepository) {
             return new SqlEventStore(
-                    contractEventRepository, messageDetailsRepository, latestBlockRepository);
+                    contractEventRepository,
+                    messageDetailsRepository,
+                    latestBlockRepository,
+                    recentBlockEntryRepository);
         }
 
         @Bean
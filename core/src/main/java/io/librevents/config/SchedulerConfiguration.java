@@ -18,6 +18,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
+import io.librevents.chain.settings.ChainType;
 import io.librevents.chain.settings.NodeSettings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -52,4 +53,20 @@ public class SchedulerConfiguration implements SchedulingConfigurer {
                         new CustomizableThreadFactory("eventeum-scheduler"));
         return scheduledExecutorService;
     }
+
+    /**
+     * The scheduler that polls the blocks of every Hedera node, with one thread per node, as a poll
+     * blocks its thread while the processing pipeline of the node is full.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public Executor hederaBlockScheduler(NodeSettings nodeSettings) {
+        final long hederaNodes =
+                nodeSettings.getNodes().values().stream()
+                        .filter(node -> node.getChainType() == ChainType.HASHGRAPH)
+                        .count();
+
+        return Executors.newScheduledThreadPool(
+                (int) Math.max(1, hederaNodes),
+                new CustomizableThreadFactory("hedera-block-scheduler"));
+    }
 }
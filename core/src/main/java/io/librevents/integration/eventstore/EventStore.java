@@ -15,11 +15,13 @@
 package io.librevents.integration.eventstore;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.message.MessageDetails;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlockEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
@@ -35,6 +37,8 @@ public interface EventStore {
 
     Optional<LatestBlock> getLatestBlockForNode(String nodeName);
 
+    List<RecentBlockEntry> getRecentBlocksForNode(String nodeName);
+
     boolean isPagingZeroIndexed();
 
     Optional<MessageDetails> getLatestMessageFromTopic(String nodeName, String topicId);
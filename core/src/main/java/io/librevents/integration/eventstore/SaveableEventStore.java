@@ -14,9 +14,12 @@
 
 package io.librevents.integration.eventstore;
 
+import java.util.List;
+
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.message.MessageDetails;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlockEntry;
 
 /**
  * Interface for integrating with an event store that supports direct saving of events.
@@ -28,5 +31,7 @@ public interface SaveableEventStore extends EventStore {
 
     void save(LatestBlock latestBlock);
 
+    void saveRecentBlocks(List<RecentBlockEntry> recentBlocks);
+
     void save(MessageDetails messageDetails);
 }
@@ -24,7 +24,9 @@ import io.librevents.integration.eventstore.SaveableEventStore;
 import io.librevents.integration.eventstore.db.repository.ContractEventDetailsRepository;
 import io.librevents.integration.eventstore.db.repository.LatestBlockRepository;
 import io.librevents.integration.eventstore.db.repository.MessageDetailsRepository;
+import io.librevents.integration.eventstore.db.repository.RecentBlockEntryRepository;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlockEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -48,16 +50,20 @@ public class MongoEventStore implements SaveableEventStore {
 
     private final LatestBlockRepository latestBlockRepository;
 
+    private final RecentBlockEntryRepository recentBlockEntryRepository;
+
     private final MongoTemplate mongoTemplate;
 
     public MongoEventStore(
             ContractEventDetailsRepository eventDetailsRepository,
             MessageDetailsRepository messageDetailsRepository,
             LatestBlockRepository latestBlockRepository,
+            RecentBlockEntryRepository recentBlockEntryRepository,
             MongoTemplate mongoTemplate) {
         this.messageDetailsRepository = messageDetailsRepository;
         this.eventDetailsRepository = eventDetailsRepository;
         this.latestBlockRepository = latestBlockRepository;
+        this.recentBlockEntryRepository = recentBlockEntryRepository;
         this.mongoTemplate = mongoTemplate;
     }
 
@@ -91,6 +97,11 @@ public class MongoEventStore implements SaveableEventStore {
         return latestBlockRepository.findById(nodeName);
     }
 
+    @Override
+    public List<RecentBlockEntry> getRecentBlocksForNode(String nodeName) {
+        return recentBlockEntryRepository.findByNodeName(nodeName);
+    }
+
     @Override
     public boolean isPagingZeroIndexed() {
         return true;
@@ -142,6 +153,11 @@ public class MongoEventStore implements SaveableEventStore {
         latestBlockRepository.save(latestBlock);
     }
 
+    @Override
+    public void saveRecentBlocks(List<RecentBlockEntry> recentBlocks) {
+        recentBlockEntryRepository.saveAll(recentBlocks);
+    }
+
     @Override
     public void save(MessageDetails messageDetails) {
         messageDetailsRepository.save(messageDetails);
@@ -15,6 +15,7 @@
 package io.librevents.integration.eventstore.db;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
 import io.librevents.dto.event.ContractEventDetails;
@@ -23,7 +24,9 @@ import io.librevents.integration.eventstore.SaveableEventStore;
 import io.librevents.integration.eventstore.db.repository.ContractEventDetailsRepository;
 import io.librevents.integration.eventstore.db.repository.LatestBlockRepository;
 import io.librevents.integration.eventstore.db.repository.MessageDetailsRepository;
+import io.librevents.integration.eventstore.db.repository.RecentBlockEntryRepository;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlockEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -41,13 +44,17 @@ public class SqlEventStore implements SaveableEventStore {
 
     private final LatestBlockRepository latestBlockRepository;
 
+    private final RecentBlockEntryRepository recentBlockEntryRepository;
+
     public SqlEventStore(
             ContractEventDetailsRepository eventDetailsRepository,
             MessageDetailsRepository messageDetailsRepository,
-            LatestBlockRepository latestBlockRepository) {
+            LatestBlockRepository latestBlockRepository,
+            RecentBlockEntryRepository recentBlockEntryRepository) {
         this.messageDetailsRepository = messageDetailsRepository;
         this.eventDetailsRepository = eventDetailsRepository;
         this.latestBlockRepository = latestBlockRepository;
+        this.recentBlockEntryRepository = recentBlockEntryRepository;
     }
 
     @Override
@@ -62,6 +69,11 @@ public class SqlEventStore implements SaveableEventStore {
         return latestBlockRepository.findById(nodeName);
     }
 
+    @Override
+    public List<RecentBlockEntry> getRecentBlocksForNode(String nodeName) {
+        return recentBlockEntryRepository.findByNodeName(nodeName);
+    }
+
     @Override
     public boolean isPagingZeroIndexed() {
         return true;
@@ -96,6 +108,11 @@ public class SqlEventStore implements SaveableEventStore {
         latestBlockRepository.save(latestBlock);
     }
 
+    @Override
+    public void saveRecentBlocks(List<RecentBlockEntry> recentBlocks) {
+        recentBlockEntryRepository.saveAll(recentBlocks);
+    }
+
     @Override
     public void save(MessageDetails messageDetails) {
         messageDetailsRepository.save(messageDetails);
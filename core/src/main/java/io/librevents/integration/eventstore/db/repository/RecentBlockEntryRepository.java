@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.integration.eventstore.db.repository;
+
+import java.util.List;
+
+import io.librevents.factory.EventStoreFactory;
+import io.librevents.model.RecentBlockEntry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository("recentBlockEntryRepository")
+@ConditionalOnProperty(name = "eventStore.type", havingValue = "DB")
+@ConditionalOnMissingBean(EventStoreFactory.class)
+public interface RecentBlockEntryRepository extends CrudRepository<RecentBlockEntry, String> {
+
+    List<RecentBlockEntry> findByNodeName(String nodeName);
+}
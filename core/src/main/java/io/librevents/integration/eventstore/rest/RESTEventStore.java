@@ -15,6 +15,8 @@
 package io.librevents.integration.eventstore.rest;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import io.librevents.dto.event.ContractEventDetails;
@@ -22,6 +24,7 @@ import io.librevents.dto.message.MessageDetails;
 import io.librevents.integration.eventstore.EventStore;
 import io.librevents.integration.eventstore.rest.client.EventStoreClient;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlockEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -62,6 +65,11 @@ public class RESTEventStore implements EventStore {
         return Optional.ofNullable(client.getLatestBlock(nodeName));
     }
 
+    @Override
+    public List<RecentBlockEntry> getRecentBlocksForNode(String nodeName) {
+        return Collections.emptyList();
+    }
+
     @Override
     public boolean isPagingZeroIndexed() {
         return true;
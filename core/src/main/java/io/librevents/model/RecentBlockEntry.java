@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.model;
+
+import java.math.BigInteger;
+
+import jakarta.persistence.Entity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A slot of the persisted ring of the most recent blocks of a node.
+ *
+ * <p>The slot is chosen by the block number modulo the ring size, so saving a block overwrites the
+ * block that fell out of the ring, and a node never has more entries than the ring size.
+ */
+@Document
+@Entity
+@Data
+@NoArgsConstructor
+public class RecentBlockEntry {
+
+    public RecentBlockEntry(String nodeName, RecentBlock block, int ringSize) {
+        this.id = nodeName + "-" + block.getNumber().mod(BigInteger.valueOf(ringSize));
+        this.nodeName = nodeName;
+        this.number = block.getNumber();
+        this.hash = block.getHash();
+        this.parentHash = block.getParentHash();
+    }
+
+    @jakarta.persistence.Id @Id private String id;
+
+    private String nodeName;
+
+    private BigInteger number;
+
+    private String hash;
+
+    private String parentHash;
+
+    public RecentBlock toRecentBlock() {
+        return new RecentBlock(number, hash, parentHash);
+    }
+}
@@ -21,6 +21,8 @@ import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.message.MessageDetails;
 import io.librevents.integration.eventstore.EventStore;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlock;
+import io.librevents.model.RecentBlockEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -69,6 +71,13 @@ public class DefaultEventStoreService implements EventStoreService {
         return eventStore.getLatestBlockForNode(nodeName);
     }
 
+    @Override
+    public List<RecentBlock> getRecentBlocks(String nodeName) {
+        return eventStore.getRecentBlocksForNode(nodeName).stream()
+                .map(RecentBlockEntry::toRecentBlock)
+                .toList();
+    }
+
     @Override
     public Optional<MessageDetails> getLatestMessageFromTopic(String nodeName, String topicId) {
         return eventStore.getLatestMessageFromTopic(nodeName, topicId);
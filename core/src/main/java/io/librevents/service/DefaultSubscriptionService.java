@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import io.librevents.chain.block.BlockListener;
+import io.librevents.chain.contract.BloomFilterIndex;
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.container.ChainServicesContainer;
@@ -60,6 +61,7 @@ public class DefaultSubscriptionService implements SubscriptionService {
     private final Map<String, ContractEventFilter> filterSubscriptions;
     private final List<ContractEventListener> contractEventListeners;
     private final EventSyncService eventSyncService;
+    private final BloomFilterIndex bloomFilterIndex;
     private SubscriptionServiceState state = SubscriptionServiceState.UNINITIALISED;
 
     @Autowired
@@ -70,7 +72,8 @@ public class DefaultSubscriptionService implements SubscriptionService {
             List<BlockListener> blockListeners,
             List<ContractEventListener> contractEventListeners,
             @Qualifier("eternalRetryTemplate") RetryTemplate retryTemplate,
-            EventSyncService eventSyncService) {
+            EventSyncService eventSyncService,
+            BloomFilterIndex bloomFilterIndex) {
         this.contractEventListeners = contractEventListeners;
         this.chainServices = chainServices;
         this.eventFilterRepository = eventFilterRepository;
@@ -78,10 +81,12 @@ public class DefaultSubscriptionService implements SubscriptionService {
         this.blockListeners = blockListeners;
         this.retryTemplate = retryTemplate;
         this.eventSyncService = eventSyncService;
+        this.bloomFilterIndex = bloomFilterIndex;
 
         filterSubscriptions =
                 StreamSupport.stream(eventFilterRepository.findAll().spliterator(), false)
                         .collect(Collectors.toMap(ContractEventFilter::getId, filter -> filter));
+        filterSubscriptions.values().forEach(bloomFilterIndex::addFilter);
     }
 
     public void init(List<ContractEventFilter> initFilters) {
@@ -150,6 +155,7 @@ public class DefaultSubscriptionService implements SubscriptionService {
 
         deleteContractEventFilter(filterToUnregister);
         removeFilterSubscription(filterId);
+        bloomFilterIndex.removeFilter(filterToUnregister);
 
         if (broadcast) {
             broadcastContractEventFilterRemoved(filterToUnregister);
@@ -161,6 +167,7 @@ public class DefaultSubscriptionService implements SubscriptionService {
         filterSubscriptions
                 .entrySet()
                 .removeIf(entry -> entry.getValue().getNode().equals(nodeName));
+        bloomFilterIndex.removeNode(nodeName);
     }
 
     @Override
@@ -188,6 +195,7 @@ public class DefaultSubscriptionService implements SubscriptionService {
 
             filter = saveContractEventFilter(filter);
             filterSubscriptions.put(filter.getId(), filter);
+            bloomFilterIndex.addFilter(filter);
 
             if (isAlreadyRegistered) {
                 log.info("Updated contract event filter with id: {}", filter.getId());
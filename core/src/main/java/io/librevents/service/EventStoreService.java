@@ -14,11 +14,13 @@
 
 package io.librevents.service;
 
+import java.util.List;
 import java.util.Optional;
 
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.message.MessageDetails;
 import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlock;
 
 /**
  * A service that interacts with the event store in order to retrieve data required by Eventeum.
@@ -45,6 +47,14 @@ public interface EventStoreService {
      */
     Optional<LatestBlock> getLatestBlock(String nodeName);
 
+    /**
+     * Returns the persisted recent blocks, for the specified node.
+     *
+     * @param nodeName The nodename
+     * @return The recent blocks, in no particular order
+     */
+    List<RecentBlock> getRecentBlocks(String nodeName);
+
     /**
      * Returns the latest message, for the specified node
      *
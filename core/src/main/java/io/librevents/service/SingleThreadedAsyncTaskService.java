@@ -14,11 +14,11 @@
 
 package io.librevents.service;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.*;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
@@ -27,9 +27,13 @@ import org.springframework.stereotype.Component;
  * @author Craig Williams craig.williams@consensys.net
  */
 @Component("asyncTaskService")
+@ConditionalOnProperty(
+        name = "asyncTaskService.type",
+        havingValue = "SINGLE_THREADED",
+        matchIfMissing = true)
 public class SingleThreadedAsyncTaskService implements AsyncTaskService {
 
-    private Map<String, ExecutorService> executorServices = new HashMap<>();
+    private Map<String, ExecutorService> executorServices = new ConcurrentHashMap<>();
 
     @Override
     public void execute(String executorName, Runnable task) {
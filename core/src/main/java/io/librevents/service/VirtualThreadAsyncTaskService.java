@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * An async task service that runs tasks on virtual threads, in submission order per executor
+ * name.
+ *
+ * <p>Each executor name has a lock free queue of tasks. While the queue has tasks, a single
+ * virtual thread drains it, so the tasks of a name never overlap and keep their order, while the
+ * tasks of different names, and their blocking RPC calls, run concurrently without tying up a
+ * platform thread each.
+ */
+@Slf4j
+@Component("asyncTaskService")
+@ConditionalOnProperty(name = "asyncTaskService.type", havingValue = "VIRTUAL_THREAD")
+public class VirtualThreadAsyncTaskService implements AsyncTaskService {
+
+    private final Map<String, SerialExecutor> executors = new ConcurrentHashMap<>();
+
+    @Override
+    public void execute(String executorName, Runnable task) {
+        getExecutor(executorName).execute(task);
+    }
+
+    @Override
+    public CompletableFuture<Void> executeWithCompletableFuture(
+            String executorName, Runnable task) {
+        return CompletableFuture.runAsync(task, getExecutor(executorName));
+    }
+
+    @Override
+    public <T> Future<T> submit(String executorName, Callable<T> task) {
+        final FutureTask<T> future = new FutureTask<>(task);
+
+        getExecutor(executorName).execute(future);
+
+        return future;
+    }
+
+    private SerialExecutor getExecutor(String executorName) {
+        final SerialExecutor executor = executors.get(executorName);
+
+        return executor != null
+                ? executor
+                : executors.computeIfAbsent(executorName, SerialExecutor::new);
+    }
+
+    private static final class SerialExecutor implements Executor {
+
+        // Lets other names run between long bursts of tasks of the same name
+        private static final int MAX_TASKS_PER_RUN = 64;
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingTasks = new AtomicInteger();
+        private final ThreadFactory threadFactory;
+
+        private SerialExecutor(String executorName) {
+            this.threadFactory = Thread.ofVirtual().name(executorName + "-", 0).factory();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+
+            // Only the task that finds the queue idle starts a thread to drain it
+            if (pendingTasks.getAndIncrement() == 0) {
+                threadFactory.newThread(this::drain).start();
+            }
+        }
+
+        private void drain() {
+            for (int tasksRun = 1; ; tasksRun++) {
+                run(tasks.poll());
+
+                if (pendingTasks.decrementAndGet() == 0) {
+                    return;
+                }
+
+                if (tasksRun == MAX_TASKS_PER_RUN) {
+                    threadFactory.newThread(this::drain).start();
+                    return;
+                }
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // Letting an error end the drain would leave the queue of the name stalled for good
+                log.error("Uncaught error in task of {}", Thread.currentThread().getName(), e);
+            }
+        }
+    }
+}
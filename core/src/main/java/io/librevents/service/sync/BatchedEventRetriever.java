@@ -15,51 +15,195 @@
 package io.librevents.service.sync;
 
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
+import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.settings.NodeSettings;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.monitoring.LibreventsValueMonitor;
+import io.librevents.service.AsyncTaskService;
 import io.librevents.settings.LibreventsSettings;
-import lombok.AllArgsConstructor;
+import io.librevents.utils.ExecutorNameFactory;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+/**
+ * Retrieves the events of a block range in syncBatchSize chunks.
+ *
+ * <p>The filters of a call share a contract, so each chunk is retrieved with a single log query
+ * for all of them. Up to the syncConcurrency of the node chunks are retrieved concurrently, shared
+ * by all the filters being synced on that node, while the events are still handed to the consumer
+ * chunk by chunk in block order. The chunks of a node are spread over syncConcurrency executors
+ * of the async task service.
+ */
+@Slf4j
 @Component
-@AllArgsConstructor
 public class BatchedEventRetriever implements EventRetriever {
 
-    private ChainServicesContainer servicesContainer;
+    private static final String SYNC_EXECUTOR_NAME = "SYNC";
+
+    private final Map<String, NodeSync> nodeSyncs = new ConcurrentHashMap<>();
+
+    private final ChainServicesContainer servicesContainer;
+
+    private final LibreventsSettings settings;
+
+    private final NodeSettings nodeSettings;
+
+    private final LibreventsValueMonitor valueMonitor;
+
+    private final AsyncTaskService asyncTaskService;
 
-    private LibreventsSettings settings;
+    public BatchedEventRetriever(
+            ChainServicesContainer servicesContainer,
+            LibreventsSettings settings,
+            NodeSettings nodeSettings,
+            LibreventsValueMonitor valueMonitor,
+            AsyncTaskService asyncTaskService) {
+        this.servicesContainer = servicesContainer;
+        this.settings = settings;
+        this.nodeSettings = nodeSettings;
+        this.valueMonitor = valueMonitor;
+        this.asyncTaskService = asyncTaskService;
+    }
 
     @Override
     public void retrieveEvents(
-            ContractEventFilter eventFilter,
+            List<ContractEventFilter> eventFilters,
             BigInteger startBlock,
             BigInteger endBlock,
-            Consumer<List<ContractEventDetails>> eventConsumer) {
+            BiConsumer<List<ContractEventDetails>, BigInteger> eventConsumer) {
+        final String nodeName = eventFilters.getFirst().getNode();
+        final NodeSync nodeSync = getNodeSync(nodeName);
+        final BlockchainService blockchainService =
+                servicesContainer.getNodeServices(nodeName).getBlockchainService();
+        final String filterIds =
+                eventFilters.stream()
+                        .map(ContractEventFilter::getId)
+                        .collect(Collectors.joining(", "));
+        final Deque<Chunk> chunks = new ArrayDeque<>();
+        long remainingBlocks = endBlock.subtract(startBlock).max(BigInteger.ZERO).longValue();
 
         BigInteger batchStartBlock = startBlock;
 
-        while (batchStartBlock.compareTo(endBlock) < 0) {
-            BigInteger batchEndBlock;
+        nodeSync.remainingBlocks.addAndGet(remainingBlocks);
+
+        try {
+            while (batchStartBlock.compareTo(endBlock) < 0 || !chunks.isEmpty()) {
+                // Keep enough chunks in flight to use the node concurrency, without buffering
+                // the events of the whole range
+                while (batchStartBlock.compareTo(endBlock) < 0
+                        && chunks.size() < nodeSync.concurrency) {
+                    final BigInteger batchEndBlock = getBatchEndBlock(batchStartBlock, endBlock);
+
+                    chunks.add(
+                            submitChunk(
+                                    nodeName,
+                                    nodeSync,
+                                    blockchainService,
+                                    eventFilters,
+                                    batchStartBlock,
+                                    batchEndBlock));
+
+                    batchStartBlock = batchEndBlock.add(BigInteger.ONE);
+                }
 
-            if (batchStartBlock.add(settings.getSyncBatchSize()).compareTo(endBlock) >= 0) {
-                batchEndBlock = endBlock;
-            } else {
-                batchEndBlock = batchStartBlock.add(settings.getSyncBatchSize());
+                final Chunk chunk = chunks.remove();
+
+                eventConsumer.accept(chunk.events.get(), chunk.endBlock);
+
+                final long chunkBlocks = Math.min(chunk.size(), remainingBlocks);
+                remainingBlocks -= chunkBlocks;
+                nodeSync.remainingBlocks.addAndGet(-chunkBlocks);
+
+                log.info(
+                        "Synced blocks {} to {} of event filters with ids {}, {} blocks left",
+                        chunk.startBlock,
+                        chunk.endBlock,
+                        filterIds,
+                        remainingBlocks);
             }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while syncing event filters with ids " + filterIds, e);
+        } finally {
+            chunks.forEach(chunk -> chunk.events.cancel(true));
+            nodeSync.remainingBlocks.addAndGet(-remainingBlocks);
+        }
+    }
+
+    private Chunk submitChunk(
+            String nodeName,
+            NodeSync nodeSync,
+            BlockchainService blockchainService,
+            List<ContractEventFilter> eventFilters,
+            BigInteger startBlock,
+            BigInteger endBlock) {
+        return new Chunk(
+                startBlock,
+                endBlock,
+                asyncTaskService.submit(
+                        ExecutorNameFactory.build(
+                                SYNC_EXECUTOR_NAME + nodeSync.nextSlot(), nodeName),
+                        () ->
+                                eventFilters.size() == 1
+                                        ? blockchainService.retrieveEvents(
+                                                eventFilters.getFirst(), startBlock, endBlock)
+                                        : blockchainService.retrieveEvents(
+                                                eventFilters, startBlock, endBlock)));
+    }
 
-            final List<ContractEventDetails> events =
-                    servicesContainer
-                            .getNodeServices(eventFilter.getNode())
-                            .getBlockchainService()
-                            .retrieveEvents(eventFilter, batchStartBlock, batchEndBlock);
+    private BigInteger getBatchEndBlock(BigInteger batchStartBlock, BigInteger endBlock) {
+        if (batchStartBlock.add(settings.getSyncBatchSize()).compareTo(endBlock) >= 0) {
+            return endBlock;
+        }
+
+        return batchStartBlock.add(settings.getSyncBatchSize());
+    }
 
-            eventConsumer.accept(events);
+    private NodeSync getNodeSync(String nodeName) {
+        return nodeSyncs.computeIfAbsent(
+                nodeName,
+                name ->
+                        new NodeSync(
+                                Math.max(1, nodeSettings.getNode(name).getSyncConcurrency()),
+                                new AtomicInteger(),
+                                valueMonitor.monitor(
+                                        "syncRemainingBlocks", name, new AtomicLong(0))));
+    }
+
+    private record NodeSync(int concurrency, AtomicInteger slots, AtomicLong remainingBlocks) {
+
+        // Round robin over the executors of the node, shared by every sync running on it
+        private int nextSlot() {
+            return Math.floorMod(slots.getAndIncrement(), concurrency);
+        }
+    }
+
+    private record Chunk(
+            BigInteger startBlock,
+            BigInteger endBlock,
+            Future<List<ContractEventDetails>> events) {
 
-            batchStartBlock = batchEndBlock.add(BigInteger.ONE);
+        private long size() {
+            return endBlock.subtract(startBlock).longValue() + 1;
         }
     }
 }
@@ -15,8 +15,13 @@
 package io.librevents.service.sync;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import io.librevents.chain.contract.ContractEventProcessor;
 import io.librevents.chain.service.block.BlockNumberService;
@@ -25,6 +30,9 @@ import io.librevents.dto.event.filter.ContractEventFilter;
 import io.librevents.model.EventFilterSyncStatus;
 import io.librevents.model.SyncStatus;
 import io.librevents.repository.EventFilterSyncStatusRepository;
+import io.librevents.service.AsyncTaskService;
+import io.librevents.settings.LibreventsSettings;
+import io.librevents.utils.ExecutorNameFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.retry.support.RetryTemplate;
@@ -34,6 +42,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class DefaultEventSyncService implements EventSyncService {
 
+    private static final String SYNC_FILTER_EXECUTOR_NAME = "SYNC-FILTER";
+
     private BlockNumberService blockNumberService;
 
     private EventRetriever eventRetriever;
@@ -44,86 +54,215 @@ public class DefaultEventSyncService implements EventSyncService {
 
     private RetryTemplate retryTemplate;
 
+    private AsyncTaskService asyncTaskService;
+
+    private LibreventsSettings settings;
+
     public DefaultEventSyncService(
             BlockNumberService blockNumberService,
             EventRetriever eventRetriever,
             EventFilterSyncStatusRepository syncStatusRepository,
             ContractEventProcessor contractEventProcessor,
-            @Qualifier("eternalRetryTemplate") RetryTemplate retryTemplate) {
+            @Qualifier("eternalRetryTemplate") RetryTemplate retryTemplate,
+            AsyncTaskService asyncTaskService,
+            LibreventsSettings settings) {
         this.blockNumberService = blockNumberService;
         this.eventRetriever = eventRetriever;
         this.syncStatusRepository = syncStatusRepository;
         this.contractEventProcessor = contractEventProcessor;
         this.retryTemplate = retryTemplate;
+        this.asyncTaskService = asyncTaskService;
+        this.settings = settings;
     }
 
     @Override
     public void sync(List<ContractEventFilter> filters) {
-        filters.forEach(
-                filter ->
-                        retryTemplate.execute(
-                                context -> {
-                                    syncFilter(filter);
-                                    return null;
-                                }));
-    }
+        // Filters on the same contract are synced together with a single log query
+        final Map<SyncGroupKey, List<ContractEventFilter>> groups =
+                filters.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        SyncGroupKey::of, LinkedHashMap::new, Collectors.toList()));
 
-    private void syncFilter(ContractEventFilter filter) {
-        final Optional<EventFilterSyncStatus> syncStatus =
-                syncStatusRepository.findById(filter.getId());
+        // Each group keeps its own event order, only different groups are synced concurrently,
+        // spread over syncFilterConcurrency executors per node
+        final Map<String, Integer> groupsPerNode = new LinkedHashMap<>();
+        final List<CompletableFuture<Void>> groupSyncs = new ArrayList<>();
 
-        if (syncStatus.isEmpty() || syncStatus.get().getSyncStatus() == SyncStatus.NOT_SYNCED) {
-            final BigInteger startBlock = getStartBlock(filter, syncStatus);
-            // Should sync to block start block number
-            final BigInteger endBlock = blockNumberService.getStartBlockForNode(filter.getNode());
+        groups.forEach(
+                (groupKey, group) -> {
+                    final int groupIndex =
+                            groupsPerNode.merge(groupKey.node(), 1, Integer::sum) - 1;
+                    final int slot = groupIndex % settings.getSyncFilterConcurrency();
 
-            log.info(
-                    "Syncing event filter with id {} from block {} to {}",
-                    filter.getId(),
-                    startBlock,
-                    endBlock);
+                    groupSyncs.add(
+                            asyncTaskService.executeWithCompletableFuture(
+                                    ExecutorNameFactory.build(
+                                            SYNC_FILTER_EXECUTOR_NAME + slot, groupKey.node()),
+                                    () ->
+                                            retryTemplate.execute(
+                                                    context -> {
+                                                        syncFilters(group);
+                                                        return null;
+                                                    })));
+                });
 
-            eventRetriever.retrieveEvents(
-                    filter, startBlock, endBlock, events -> events.forEach(this::processEvent));
+        CompletableFuture.allOf(groupSyncs.toArray(CompletableFuture[]::new)).join();
+    }
 
-            final EventFilterSyncStatus finalSyncStatus = getEventSyncStatus(filter.getId());
-            finalSyncStatus.setSyncStatus(SyncStatus.SYNCED);
-            syncStatusRepository.save(finalSyncStatus);
+    private void syncFilters(List<ContractEventFilter> filters) {
+        final Map<String, SyncCheckpoint> checkpoints = new LinkedHashMap<>();
 
-            log.info("Event filter with id {} has completed syncing", filter.getId());
+        for (ContractEventFilter filter : filters) {
+            final Optional<EventFilterSyncStatus> syncStatus =
+                    syncStatusRepository.findById(filter.getId());
 
-        } else {
-            log.info("Event filter with id {} already synced", filter.getId());
+            if (syncStatus.isEmpty()
+                    || syncStatus.get().getSyncStatus() == SyncStatus.NOT_SYNCED) {
+                checkpoints.put(
+                        filter.getId(),
+                        new SyncCheckpoint(
+                                getStartBlock(filter, syncStatus),
+                                syncStatus.orElseGet(
+                                        () ->
+                                                EventFilterSyncStatus.builder()
+                                                        .filterId(filter.getId())
+                                                        .syncStatus(SyncStatus.NOT_SYNCED)
+                                                        .build())));
+            } else {
+                log.info("Event filter with id {} already synced", filter.getId());
+            }
         }
-    }
 
-    private void processEvent(ContractEventDetails contractEvent) {
-        contractEventProcessor.processContractEvent(contractEvent);
+        if (checkpoints.isEmpty()) {
+            return;
+        }
 
-        final EventFilterSyncStatus syncStatus = getEventSyncStatus(contractEvent.getFilterId());
+        final List<ContractEventFilter> filtersToSync =
+                filters.stream().filter(filter -> checkpoints.containsKey(filter.getId())).toList();
+        final BigInteger startBlock =
+                checkpoints.values().stream()
+                        .map(checkpoint -> checkpoint.startBlock)
+                        .min(BigInteger::compareTo)
+                        .orElseThrow();
+        // Should sync to block start block number
+        final BigInteger endBlock =
+                blockNumberService.getStartBlockForNode(filtersToSync.getFirst().getNode());
 
-        syncStatus.setLastBlockNumber(contractEvent.getBlockNumber());
-        syncStatusRepository.save(syncStatus);
-    }
+        log.info(
+                "Syncing event filters with ids {} from block {} to {}",
+                checkpoints.keySet(),
+                startBlock,
+                endBlock);
 
-    private EventFilterSyncStatus getEventSyncStatus(String id) {
-        return syncStatusRepository
-                .findById(id)
-                .orElse(
-                        EventFilterSyncStatus.builder()
-                                .filterId(id)
-                                .syncStatus(SyncStatus.NOT_SYNCED)
-                                .build());
+        eventRetriever.retrieveEvents(
+                filtersToSync,
+                startBlock,
+                endBlock,
+                (events, batchEndBlock) -> {
+                    events.forEach(
+                            event -> {
+                                final SyncCheckpoint checkpoint =
+                                        checkpoints.get(event.getFilterId());
+
+                                // Filters that start later ignore the blocks before their start
+                                if (checkpoint != null
+                                        && event.getBlockNumber().compareTo(checkpoint.startBlock)
+                                                >= 0) {
+                                    checkpoint.processEvent(event);
+                                }
+                            });
+
+                    checkpoints.values().stream()
+                            .filter(
+                                    checkpoint ->
+                                            checkpoint.startBlock.compareTo(batchEndBlock) <= 0)
+                            .forEach(checkpoint -> checkpoint.save(batchEndBlock));
+                });
+
+        checkpoints.values()
+                .forEach(
+                        checkpoint -> {
+                            checkpoint.status.setSyncStatus(SyncStatus.SYNCED);
+                            syncStatusRepository.save(checkpoint.status);
+                        });
+
+        log.info("Event filters with ids {} have completed syncing", checkpoints.keySet());
     }
 
     private BigInteger getStartBlock(
             ContractEventFilter contractEventFilter, Optional<EventFilterSyncStatus> syncStatus) {
 
+        // The stored block has been fully processed, so syncing resumes from the next one
         if (syncStatus.isPresent()
                 && syncStatus.get().getLastBlockNumber().compareTo(BigInteger.ZERO) > 0) {
-            return syncStatus.get().getLastBlockNumber();
+            return syncStatus.get().getLastBlockNumber().add(BigInteger.ONE);
         }
 
         return contractEventFilter.getStartBlock();
     }
+
+    /**
+     * Filters are synced together when they are on the same node and contract, and their logs are
+     * obtained in the same way.
+     */
+    private record SyncGroupKey(
+            String node, String contractAddress, Map<String, Object> extension) {
+
+        private static SyncGroupKey of(ContractEventFilter filter) {
+            return new SyncGroupKey(
+                    filter.getNode(),
+                    filter.getContractAddress() != null
+                            ? filter.getContractAddress().toLowerCase()
+                            : null,
+                    filter.getExtension());
+        }
+    }
+
+    /**
+     * Keeps the sync status of a filter in memory while it is synced, and stores it once per
+     * retrieved batch, or every syncCheckpointEvents events or syncCheckpointInterval within a
+     * batch.
+     *
+     * <p>The stored block is always the last fully processed one, and syncing resumes from the
+     * block after it. Within a batch the block before that of the last processed event is stored,
+     * as the rest of its events may still be pending, and at the end of a batch its last block is
+     * stored, as all of its blocks have been processed.
+     */
+    private class SyncCheckpoint {
+
+        private final BigInteger startBlock;
+        private final EventFilterSyncStatus status;
+        private int eventsSinceSave;
+        private long lastSaveNanos = System.nanoTime();
+
+        private SyncCheckpoint(BigInteger startBlock, EventFilterSyncStatus status) {
+            this.startBlock = startBlock;
+            this.status = status;
+        }
+
+        private void processEvent(ContractEventDetails contractEvent) {
+            contractEventProcessor.processContractEvent(contractEvent);
+
+            status.setLastBlockNumber(contractEvent.getBlockNumber().subtract(BigInteger.ONE));
+            eventsSinceSave++;
+
+            if (eventsSinceSave >= settings.getSyncCheckpointEvents()
+                    || System.nanoTime() - lastSaveNanos
+                            >= settings.getSyncCheckpointInterval().toNanos()) {
+                save();
+            }
+        }
+
+        private void save(BigInteger lastProcessedBlock) {
+            status.setLastBlockNumber(lastProcessedBlock);
+            save();
+        }
+
+        private void save() {
+            syncStatusRepository.save(status);
+            eventsSinceSave = 0;
+            lastSaveNanos = System.nanoTime();
+        }
+    }
 }
@@ -16,16 +16,25 @@ package io.librevents.service.sync;
 
 import java.math.BigInteger;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
 
 public interface EventRetriever {
 
+    /**
+     * Retrieves the events of a set of filters on the same node and contract in batches of blocks.
+     *
+     * @param eventFilters The filters to retrieve the events for
+     * @param startBlock The first block to retrieve
+     * @param endBlock The last block to retrieve
+     * @param eventConsumer Receives the events of each batch in block order, along with the last
+     *     block of the batch
+     */
     void retrieveEvents(
-            ContractEventFilter eventFilter,
+            List<ContractEventFilter> eventFilters,
             BigInteger startBlock,
             BigInteger endBlock,
-            Consumer<List<ContractEventDetails>> eventConsumer);
+            BiConsumer<List<ContractEventDetails>, BigInteger> eventConsumer);
 }
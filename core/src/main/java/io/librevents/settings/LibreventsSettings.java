@@ -15,6 +15,7 @@
 package io.librevents.settings;
 
 import java.math.BigInteger;
+import java.time.Duration;
 
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,10 +29,24 @@ public class LibreventsSettings {
 
     private BigInteger syncBatchSize;
 
+    // The filter groups synced concurrently on each node
+    private int syncFilterConcurrency;
+
+    private int syncCheckpointEvents;
+
+    private Duration syncCheckpointInterval;
+
     public LibreventsSettings(
             @Value("${broadcaster.bytesToAscii:false}") boolean bytesToAscii,
-            @Value("${ethereum.sync.batchSize:100000}") String syncBatchSize) {
+            @Value("${ethereum.sync.batchSize:100000}") String syncBatchSize,
+            @Value("${ethereum.sync.filterConcurrency:4}") int syncFilterConcurrency,
+            @Value("${ethereum.sync.checkpointEvents:1000}") int syncCheckpointEvents,
+            @Value("${ethereum.sync.checkpointIntervalSeconds:10}")
+                    long syncCheckpointIntervalSeconds) {
         this.bytesToAscii = bytesToAscii;
         this.syncBatchSize = new BigInteger(syncBatchSize);
+        this.syncFilterConcurrency = Math.max(1, syncFilterConcurrency);
+        this.syncCheckpointEvents = syncCheckpointEvents;
+        this.syncCheckpointInterval = Duration.ofSeconds(syncCheckpointIntervalSeconds);
     }
 }
@@ -14,11 +14,19 @@
 
 package io.librevents.utils;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ExecutorNameFactory {
 
+    // Names are built for every block and event, so they are only built once per node
+    private static final Map<String, Map<String, String>> NAMES = new ConcurrentHashMap<>();
+
     ExecutorNameFactory() {}
 
     public static String build(String prefix, String nodeName) {
-        return prefix.toUpperCase() + "-" + nodeName.toUpperCase();
+        return NAMES.computeIfAbsent(prefix, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(
+                        nodeName, key -> prefix.toUpperCase() + "-" + nodeName.toUpperCase());
     }
 }
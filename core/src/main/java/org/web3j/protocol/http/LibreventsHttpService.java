@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.web3j.protocol.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+/**
+ * HttpService buffers the whole body of a response before it is parsed, so large eth_getLogs and
+ * block responses are held in memory as raw JSON and as web3j objects at the same time. This
+ * service hands the body to the parser as it arrives instead, and the connection is released once
+ * the response has been read.
+ *
+ * <p>Accept-Encoding is deliberately left to OkHttp, which asks for gzip responses and inflates
+ * them while they are parsed. Setting the header explicitly would turn that off.
+ */
+public class LibreventsHttpService extends HttpService {
+
+    private final OkHttpClient httpClient;
+
+    public LibreventsHttpService(String url, OkHttpClient httpClient) {
+        super(url, httpClient, false);
+
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    protected InputStream performIO(String request) throws IOException {
+        final Request httpRequest =
+                new Request.Builder()
+                        .url(getUrl())
+                        .headers(Headers.of(getHeaders()))
+                        .post(RequestBody.create(request, JSON_MEDIA_TYPE))
+                        .build();
+
+        final Response response = httpClient.newCall(httpRequest).execute();
+        final ResponseBody responseBody = response.body();
+
+        processHeaders(response.headers());
+
+        if (!response.isSuccessful()) {
+            try (response) {
+                throw new ClientConnectionException(
+                        "Invalid response received: "
+                                + response.code()
+                                + "; "
+                                + (responseBody == null ? "N/A" : responseBody.string()));
+            }
+        }
+
+        if (responseBody == null) {
+            response.close();
+            return null;
+        }
+
+        // Closed by the caller once the response has been parsed
+        return responseBody.byteStream();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.librevents.chain.contract.ContractEventProcessor;
+import io.librevents.chain.factory.DefaultBlockDetailsFactory;
+import io.librevents.chain.service.block.TransactionReceiptCache;
+import io.librevents.integration.broadcast.blockchain.BlockchainEventBroadcaster;
+import io.librevents.monitoring.LibreventsValueMonitor;
+import io.librevents.service.SubscriptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+class BlockListenerOrderTest {
+
+    @Test
+    void testReceiptCacheIsNotifiedBeforeTheOtherListeners() {
+        final TransactionReceiptCache receiptCache =
+                new TransactionReceiptCache(mock(LibreventsValueMonitor.class), 10, 60);
+
+        final List<BlockListener> listeners =
+                new ArrayList<>(
+                        List.of(
+                                new EventProcessingBlockListener(
+                                        mock(SubscriptionService.class),
+                                        mock(ContractEventProcessor.class)),
+                                new BroadcastingBlockListener(
+                                        mock(BlockchainEventBroadcaster.class),
+                                        new DefaultBlockDetailsFactory()),
+                                new LoggingBlockListener(),
+                                receiptCache));
+
+        AnnotationAwareOrderComparator.sort(listeners);
+
+        assertSame(receiptCache, listeners.getFirst());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import io.librevents.chain.service.BlockchainService;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.BlockReorg;
+import io.librevents.chain.service.domain.TransactionReceipt;
+import io.librevents.chain.settings.Node;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.constant.Constants;
+import io.librevents.dto.event.ContractEventDetails;
+import io.librevents.dto.event.ContractEventStatus;
+import io.librevents.integration.broadcast.blockchain.BlockchainEventBroadcaster;
+import io.librevents.monitoring.MicrometerValueMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class ConfirmationSchedulerTest {
+
+    private static final String BLOCK_HASH =
+            "0x368ce0ee3afdf1bd73d7e6912f899f31b14b9656e1a3164400ba4587df192c1d";
+    private static final BigInteger BLOCK_NUMBER = BigInteger.valueOf(1000);
+    private static final String TX_HASH_1 = "0x1";
+    private static final String TX_HASH_2 = "0x2";
+
+    private ConfirmationScheduler underTest;
+
+    private BlockchainService mockBlockchainService;
+    private BlockchainEventBroadcaster mockEventBroadcaster;
+
+    @BeforeEach
+    void init() {
+        mockBlockchainService = mock(BlockchainService.class);
+        mockEventBroadcaster = mock(BlockchainEventBroadcaster.class);
+
+        final ChainServicesContainer mockChainServicesContainer =
+                mock(ChainServicesContainer.class);
+        final NodeServices mockNodeServices = mock(NodeServices.class);
+        final NodeSettings mockNodeSettings = mock(NodeSettings.class);
+
+        when(mockChainServicesContainer.getNodeServices(Constants.DEFAULT_NODE_NAME))
+                .thenReturn(mockNodeServices);
+        when(mockNodeServices.getBlockchainService()).thenReturn(mockBlockchainService);
+
+        final Node node = new Node();
+        node.setBlocksToWaitForConfirmation(BigInteger.TEN);
+        node.setBlocksToWaitForMissingTx(BigInteger.valueOf(100));
+        node.setBlocksToWaitBeforeInvalidating(BigInteger.TWO);
+        when(mockNodeSettings.getNode(Constants.DEFAULT_NODE_NAME)).thenReturn(node);
+
+        underTest =
+                new ConfirmationScheduler(
+                        mockChainServicesContainer,
+                        mockEventBroadcaster,
+                        mockNodeSettings,
+                        new MicrometerValueMonitor(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testEventsAreNotCheckedBeforeTheTargetBlock() {
+        underTest.scheduleEventConfirmation(createEvent(TX_HASH_1));
+
+        underTest.onBlock(createBlock(1009));
+
+        verify(mockBlockchainService, never()).getTransactionReceipt(any());
+        verify(mockEventBroadcaster, never()).broadcastContractEvent(any());
+    }
+
+    @Test
+    void testEventsOfTheSameBlockAreConfirmedWithASingleCheck() {
+        final ContractEventDetails event1 = createEvent(TX_HASH_1);
+        final ContractEventDetails event2 = createEvent(TX_HASH_2);
+        mockReceipt(TX_HASH_1, BLOCK_HASH);
+
+        underTest.scheduleEventConfirmation(event1);
+        underTest.scheduleEventConfirmation(event2);
+        underTest.onBlock(createBlock(1010));
+        underTest.onBlock(createBlock(1011));
+
+        verify(mockBlockchainService, times(1)).getTransactionReceipt(any());
+        verify(event1, times(1)).setStatus(ContractEventStatus.CONFIRMED);
+        verify(event2, times(1)).setStatus(ContractEventStatus.CONFIRMED);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event1);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event2);
+    }
+
+    @Test
+    void testEventsOfAnOrphanedBlockAreInvalidatedAfterWaiting() {
+        final ContractEventDetails event = createEvent(TX_HASH_1);
+        mockReceipt(TX_HASH_1, "0xother");
+
+        underTest.scheduleEventConfirmation(event);
+        underTest.onBlock(createBlock(1012));
+        underTest.onBlock(createBlock(1013));
+
+        verify(mockEventBroadcaster, never()).broadcastContractEvent(any());
+
+        underTest.onBlock(createBlock(1014));
+
+        verify(event, times(1)).setStatus(ContractEventStatus.INVALIDATED);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event);
+    }
+
+    @Test
+    void testEventsOfABlockThatBecomesCanonicalAgainAreConfirmed() {
+        final ContractEventDetails event = createEvent(TX_HASH_1);
+        mockReceipt(TX_HASH_1, "0xother");
+
+        underTest.scheduleEventConfirmation(event);
+        underTest.onBlock(createBlock(1010));
+
+        mockReceipt(TX_HASH_1, BLOCK_HASH);
+        underTest.onBlock(createBlock(1012));
+
+        verify(event, never()).setStatus(ContractEventStatus.INVALIDATED);
+        verify(event, times(1)).setStatus(ContractEventStatus.CONFIRMED);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event);
+    }
+
+    @Test
+    void testEventsOfABlockOrphanedByAReorgAreInvalidatedAfterWaiting() {
+        final ContractEventDetails event = createEvent(TX_HASH_1);
+        mockReceipt(TX_HASH_1, "0xother");
+
+        underTest.scheduleEventConfirmation(event);
+        underTest.onReorg(
+                new BlockReorg(Constants.DEFAULT_NODE_NAME, BLOCK_NUMBER, List.of(BLOCK_HASH)));
+
+        verify(mockEventBroadcaster, never()).broadcastContractEvent(any());
+
+        underTest.onBlock(createBlock(1010));
+
+        verify(mockBlockchainService, times(1)).getTransactionReceipt(TX_HASH_1);
+        verify(event, times(1)).setStatus(ContractEventStatus.INVALIDATED);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event);
+    }
+
+    @Test
+    void testMissingTransactionIsRetriedBeforeInvalidating() {
+        final ContractEventDetails event = createEvent(TX_HASH_1);
+
+        underTest.scheduleEventConfirmation(event);
+        underTest.onBlock(createBlock(1010));
+        underTest.onBlock(createBlock(1110));
+        underTest.onBlock(createBlock(1111));
+
+        verify(mockEventBroadcaster, never()).broadcastContractEvent(any());
+
+        underTest.onBlock(createBlock(1112));
+
+        verify(event, times(1)).setStatus(ContractEventStatus.INVALIDATED);
+        verify(mockEventBroadcaster, times(1)).broadcastContractEvent(event);
+    }
+
+    @Test
+    void testMissingTransactionRetryIsKeptWhenGroupsAreMerged() {
+        final ContractEventDetails event1 = createEvent(TX_HASH_1);
+        final ContractEventDetails event2 = createEvent(TX_HASH_2, BigInteger.valueOf(1100));
+
+        underTest.scheduleEventConfirmation(event2);
+        underTest.scheduleEventConfirmation(event1);
+        underTest.onBlock(createBlock(1010));
+        underTest.onBlock(createBlock(1110));
+        underTest.onBlock(createBlock(1112));
+
+        verify(event1, times(1)).setStatus(ContractEventStatus.INVALIDATED);
+        verify(event2, times(1)).setStatus(ContractEventStatus.INVALIDATED);
+        verify(mockBlockchainService, times(3)).getTransactionReceipt(any());
+    }
+
+    private ContractEventDetails createEvent(String txHash) {
+        return createEvent(txHash, BLOCK_NUMBER);
+    }
+
+    private ContractEventDetails createEvent(String txHash, BigInteger blockNumber) {
+        final ContractEventDetails event = mock(ContractEventDetails.class);
+        when(event.getNodeName()).thenReturn(Constants.DEFAULT_NODE_NAME);
+        when(event.getBlockNumber()).thenReturn(blockNumber);
+        when(event.getBlockHash()).thenReturn(BLOCK_HASH);
+        when(event.getTransactionHash()).thenReturn(txHash);
+
+        return event;
+    }
+
+    private void mockReceipt(String txHash, String blockHash) {
+        final TransactionReceipt receipt = mock(TransactionReceipt.class);
+        when(receipt.getBlockHash()).thenReturn(blockHash);
+        when(mockBlockchainService.getTransactionReceipt(txHash)).thenReturn(receipt);
+    }
+
+    private Block createBlock(int blockNumber) {
+        final Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(BigInteger.valueOf(blockNumber));
+        when(block.getNodeName()).thenReturn(Constants.DEFAULT_NODE_NAME);
+
+        return block;
+    }
+}
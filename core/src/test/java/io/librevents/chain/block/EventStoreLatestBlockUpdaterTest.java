@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import io.librevents.chain.factory.DefaultBlockDetailsFactory;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.strategy.BlockSubscriptionStrategy;
+import io.librevents.constant.Constants;
+import io.librevents.integration.eventstore.SaveableEventStore;
+import io.librevents.model.LatestBlock;
+import io.librevents.model.RecentBlock;
+import io.librevents.model.RecentBlockEntry;
+import io.librevents.monitoring.MicrometerValueMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class EventStoreLatestBlockUpdaterTest {
+
+    private static final RecentBlock BLOCK_1 = new RecentBlock(BigInteger.ONE, "0x1", "0x0");
+    private static final RecentBlock BLOCK_2 = new RecentBlock(BigInteger.TWO, "0x2", "0x1");
+    private static final RecentBlock BLOCK_2B = new RecentBlock(BigInteger.TWO, "0x2b", "0x1");
+    private static final RecentBlock BLOCK_3B =
+            new RecentBlock(BigInteger.valueOf(3), "0x3b", "0x2b");
+
+    private EventStoreLatestBlockUpdater underTest;
+
+    private SaveableEventStore mockEventStore;
+
+    private BlockSubscriptionStrategy mockBlockSubscriptionStrategy;
+
+    @BeforeEach
+    void init() {
+        mockEventStore = mock(SaveableEventStore.class);
+        mockBlockSubscriptionStrategy = mock(BlockSubscriptionStrategy.class);
+
+        final ChainServicesContainer mockChainServicesContainer =
+                mock(ChainServicesContainer.class);
+        final NodeServices mockNodeServices = mock(NodeServices.class);
+
+        when(mockChainServicesContainer.getNodeNames())
+                .thenReturn(List.of(Constants.DEFAULT_NODE_NAME));
+        when(mockChainServicesContainer.getNodeServices(Constants.DEFAULT_NODE_NAME))
+                .thenReturn(mockNodeServices);
+        when(mockNodeServices.getBlockSubscriptionStrategy())
+                .thenReturn(mockBlockSubscriptionStrategy);
+
+        underTest =
+                new EventStoreLatestBlockUpdater(
+                        mockEventStore,
+                        new DefaultBlockDetailsFactory(),
+                        new MicrometerValueMonitor(new SimpleMeterRegistry()),
+                        mockChainServicesContainer);
+    }
+
+    @Test
+    void testOnlyTheRecentBlocksNotSavedYetAreSaved() {
+        when(mockBlockSubscriptionStrategy.getRecentBlocks())
+                .thenReturn(List.of(BLOCK_1, BLOCK_2))
+                .thenReturn(List.of(BLOCK_1, BLOCK_2B, BLOCK_3B));
+
+        underTest.onBlock(createBlock(2));
+        underTest.onBlock(createBlock(3));
+
+        final ArgumentCaptor<List<RecentBlockEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockEventStore, times(2)).saveRecentBlocks(captor.capture());
+        verify(mockEventStore, times(2)).save(any(LatestBlock.class));
+
+        assertEquals(List.of("0x1", "0x2"), hashes(captor.getAllValues().get(0)));
+        assertEquals(List.of("0x2b", "0x3b"), hashes(captor.getAllValues().get(1)));
+        assertEquals(
+                captor.getAllValues().get(0).get(1).getId(),
+                captor.getAllValues().get(1).get(0).getId());
+    }
+
+    @Test
+    void testNothingIsSavedWhenTheRecentBlocksDidNotChange() {
+        when(mockBlockSubscriptionStrategy.getRecentBlocks()).thenReturn(List.of(BLOCK_1));
+
+        underTest.onBlock(createBlock(1));
+        underTest.onBlock(createBlock(1));
+
+        verify(mockEventStore, times(1)).saveRecentBlocks(any());
+    }
+
+    private List<String> hashes(List<RecentBlockEntry> entries) {
+        return entries.stream().map(RecentBlockEntry::getHash).toList();
+    }
+
+    private Block createBlock(int number) {
+        final Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(BigInteger.valueOf(number));
+        when(block.getNodeName()).thenReturn(Constants.DEFAULT_NODE_NAME);
+
+        return block;
+    }
+}
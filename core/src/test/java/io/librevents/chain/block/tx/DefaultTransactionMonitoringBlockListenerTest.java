@@ -0,0 +1,167 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.block.tx;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.librevents.chain.block.ConfirmationScheduler;
+import io.librevents.chain.block.tx.criteria.TransactionMatchingCriteria;
+import io.librevents.chain.factory.TransactionDetailsFactory;
+import io.librevents.chain.service.block.BlockCache;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.service.domain.wrapper.Web3jBlock;
+import io.librevents.chain.service.strategy.BlockSubscriptionStrategy;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.integration.broadcast.blockchain.BlockchainEventBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.web3j.protocol.Web3j;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DefaultTransactionMonitoringBlockListenerTest {
+
+    private static final String NODE_NAME = "default";
+
+    private static final String BLOCK_HASH =
+            "0x1fc6a7a4bf4c4f2ee8e2c1d5a8d1a12ac1e0f2bbf5a5b5e4d1c7e0f5a7a1b2c3";
+
+    private DefaultTransactionMonitoringBlockListener underTest;
+
+    private BlockCache mockBlockCache;
+
+    private Web3j mockWeb3j;
+
+    private BlockSubscriptionStrategy mockBlockSubscriptionStrategy;
+
+    @BeforeEach
+    public void init() {
+        mockBlockCache = mock(BlockCache.class);
+        mockWeb3j = mock(Web3j.class);
+        mockBlockSubscriptionStrategy = mock(BlockSubscriptionStrategy.class);
+
+        when(mockBlockCache.getCachedBlocks()).thenReturn(Collections.emptySet());
+
+        final NodeServices nodeServices = new NodeServices();
+        nodeServices.setBlockSubscriptionStrategy(mockBlockSubscriptionStrategy);
+
+        final ChainServicesContainer mockChainServicesContainer =
+                mock(ChainServicesContainer.class);
+        when(mockChainServicesContainer.getNodeServices(NODE_NAME)).thenReturn(nodeServices);
+
+        underTest =
+                new DefaultTransactionMonitoringBlockListener(
+                        mockChainServicesContainer,
+                        mock(BlockchainEventBroadcaster.class),
+                        mock(TransactionDetailsFactory.class),
+                        mockBlockCache,
+                        mock(NodeSettings.class),
+                        mock(ConfirmationScheduler.class));
+    }
+
+    @Test
+    void testHeaderOnlyBlockWithoutCriteriaIsNotLoaded() {
+        final Web3jBlock block = createHeaderOnlyBlock();
+
+        underTest.onBlock(block);
+
+        assertFalse(block.isTransactionsLoaded());
+        verify(mockWeb3j, never()).ethGetBlockByHash(anyString(), anyBoolean());
+    }
+
+    @Test
+    void testHeaderOnlyBlockWithCriteriaOfAnotherNodeIsNotLoaded() {
+        underTest.addMatchingCriteria(createCriteria("other"));
+
+        final Web3jBlock block = createHeaderOnlyBlock();
+
+        underTest.onBlock(block);
+
+        assertFalse(block.isTransactionsLoaded());
+        verify(mockWeb3j, never()).ethGetBlockByHash(anyString(), anyBoolean());
+    }
+
+    @Test
+    void testHeaderOnlyBlockWithCriteriaIsLoaded() {
+        underTest.addMatchingCriteria(createCriteria(NODE_NAME));
+
+        final Web3jBlock block = createHeaderOnlyBlock();
+
+        underTest.onBlock(block);
+
+        assertTrue(block.isTransactionsLoaded());
+        verify(mockWeb3j).ethGetBlockByHash(BLOCK_HASH, true);
+    }
+
+    @Test
+    void testFullTransactionObjectsOnlyWhileNodeHasCriteria() {
+        final TransactionMatchingCriteria first = createCriteria(NODE_NAME);
+        final TransactionMatchingCriteria second = createCriteria(NODE_NAME);
+
+        underTest.addMatchingCriteria(first);
+        underTest.addMatchingCriteria(second);
+        underTest.removeMatchingCriteria(first);
+
+        verify(mockBlockSubscriptionStrategy, never()).setFullTransactionObjects(false);
+
+        underTest.removeMatchingCriteria(second);
+
+        final InOrder inOrder = inOrder(mockBlockSubscriptionStrategy);
+        inOrder.verify(mockBlockSubscriptionStrategy, times(2)).setFullTransactionObjects(true);
+        inOrder.verify(mockBlockSubscriptionStrategy).setFullTransactionObjects(false);
+    }
+
+    @Test
+    void testHeaderOnlyBlockEqualityDoesNotLoadTransactions() {
+        final Web3jBlock block = createHeaderOnlyBlock();
+
+        final Set<Block> blocks = new HashSet<>();
+        blocks.add(block);
+        blocks.contains(createHeaderOnlyBlock());
+        block.toString();
+
+        assertFalse(block.isTransactionsLoaded());
+        verify(mockWeb3j, never()).ethGetBlockByHash(anyString(), anyBoolean());
+    }
+
+    private Web3jBlock createHeaderOnlyBlock() {
+        final Web3jBlock block =
+                new Web3jBlock(BigInteger.TEN, BLOCK_HASH, BigInteger.ONE, NODE_NAME);
+        block.setTransactionsLoader(
+                () -> {
+                    mockWeb3j.ethGetBlockByHash(BLOCK_HASH, true);
+                    return Collections.emptyList();
+                });
+
+        return block;
+    }
+
+    private TransactionMatchingCriteria createCriteria(String nodeName) {
+        final TransactionMatchingCriteria criteria = mock(TransactionMatchingCriteria.class);
+        when(criteria.getNodeName()).thenReturn(nodeName);
+
+        return criteria;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.contract;
+
+import java.util.List;
+
+import io.librevents.chain.util.BloomFilterUtil;
+import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.dto.event.filter.ContractEventSpecification;
+import io.librevents.dto.event.filter.ParameterDefinition;
+import io.librevents.dto.event.filter.ParameterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterIndexTest {
+
+    private static final String NODE_NAME = "default";
+
+    private static final String CONTRACT_ADDRESS = "0x7a55a28856d43bba3c6a7e36f2cee9a82923e99b";
+
+    private static final String OTHER_ADDRESS = "0x4aecab91ce61bf2c4c2ec7b3c1ad55e7a6b1b0c2";
+
+    private BloomFilterIndex underTest;
+
+    @BeforeEach
+    void init() {
+        underTest = new BloomFilterIndex();
+    }
+
+    @Test
+    void testFiltersInBloomMatchTheBloomBits() {
+        final ContractEventFilter matching = createFilter("1", CONTRACT_ADDRESS, "Transfer");
+        final ContractEventFilter otherEvent = createFilter("2", CONTRACT_ADDRESS, "Approval");
+        final ContractEventFilter otherAddress = createFilter("3", OTHER_ADDRESS, "Transfer");
+        final ContractEventFilter otherNode = createFilter("4", CONTRACT_ADDRESS, "Transfer");
+        otherNode.setNode("other");
+
+        final String logsBloom = createLogsBloom(matching);
+        underTest.addFilter(matching);
+        underTest.addFilter(otherEvent);
+
+        assertTrue(
+                BloomFilterUtil.bloomFilterMatch(
+                        logsBloom, BloomFilterUtil.getBloomBits(matching)));
+        assertEquals(
+                List.of(matching),
+                underTest.getFiltersInBloom(
+                        NODE_NAME,
+                        logsBloom,
+                        List.of(matching, otherEvent, otherAddress, otherNode)));
+    }
+
+    @Test
+    void testRemovedFilterIsNotMatchedUnlessPassedAgain() {
+        final ContractEventFilter filter = createFilter("1", CONTRACT_ADDRESS, "Transfer");
+        final String logsBloom = createLogsBloom(filter);
+
+        underTest.addFilter(filter);
+        underTest.removeFilter(filter);
+
+        assertTrue(underTest.getFiltersInBloom(NODE_NAME, logsBloom, List.of()).isEmpty());
+        assertEquals(
+                List.of(filter),
+                underTest.getFiltersInBloom(NODE_NAME, logsBloom, List.of(filter)));
+    }
+
+    @Test
+    void testIsFilterInBloom() {
+        final ContractEventFilter filter = createFilter("1", CONTRACT_ADDRESS, "Transfer");
+        final ContractEventFilter otherAddress = createFilter("2", OTHER_ADDRESS, "Transfer");
+        final String logsBloom = createLogsBloom(filter);
+
+        assertTrue(underTest.isFilterInBloom(filter, logsBloom));
+        assertFalse(underTest.isFilterInBloom(otherAddress, logsBloom));
+        assertFalse(underTest.isFilterInBloom(filter, "0x" + "0".repeat(512)));
+    }
+
+    private String createLogsBloom(ContractEventFilter filter) {
+        final byte[] bloom = new byte[256];
+
+        BloomFilterUtil.getBloomBits(filter)
+                .getBitIndexes()
+                .forEach(bit -> bloom[255 - bit / 8] |= (byte) (1 << (bit % 8)));
+
+        return Numeric.toHexString(bloom);
+    }
+
+    private ContractEventFilter createFilter(String id, String address, String eventName) {
+        final ContractEventSpecification eventSpec = new ContractEventSpecification();
+        eventSpec.setEventName(eventName);
+        eventSpec.setIndexedParameterDefinitions(
+                List.of(new ParameterDefinition(0, ParameterType.build("ADDRESS"))));
+        eventSpec.setNonIndexedParameterDefinitions(
+                List.of(new ParameterDefinition(1, ParameterType.build("UINT256"))));
+
+        final ContractEventFilter filter = new ContractEventFilter();
+        filter.setId(id);
+        filter.setNode(NODE_NAME);
+        filter.setContractAddress(address);
+        filter.setEventSpecification(eventSpec);
+
+        return filter;
+    }
+}
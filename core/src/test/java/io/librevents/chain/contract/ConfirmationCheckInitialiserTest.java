@@ -16,12 +16,11 @@ package io.librevents.chain.contract;
 
 import java.math.BigInteger;
 
-import io.librevents.chain.block.BlockListener;
+import io.librevents.chain.block.ConfirmationScheduler;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.container.ChainServicesContainer;
 import io.librevents.chain.service.container.NodeServices;
 import io.librevents.chain.service.domain.TransactionReceipt;
-import io.librevents.chain.service.strategy.BlockSubscriptionStrategy;
 import io.librevents.chain.settings.ChainType;
 import io.librevents.chain.settings.Node;
 import io.librevents.chain.settings.NodeSettings;
@@ -44,15 +43,13 @@ class ConfirmationCheckInitialiserTest {
     private final BigInteger currentBlock = BigInteger.valueOf(2000);
     private BroadcastAndInitialiseConfirmationListener underTest;
     private BlockchainService mockBlockchainService;
-    private BlockSubscriptionStrategy mockBlockSubscriptionStrategy;
-    private BlockListener mockBlockListener;
+    private ConfirmationScheduler mockConfirmationScheduler;
 
     @BeforeEach
     public void init() {
 
         mockBlockchainService = mock(BlockchainService.class);
-        mockBlockSubscriptionStrategy = mock(BlockSubscriptionStrategy.class);
-        mockBlockListener = mock(BlockListener.class);
+        mockConfirmationScheduler = mock(ConfirmationScheduler.class);
         ChainServicesContainer mockChainServicesContainer = mock(ChainServicesContainer.class);
         NodeServices mockNodeServices = mock(NodeServices.class);
         NodeSettings mockNodeSettings = mock(NodeSettings.class);
@@ -62,8 +59,6 @@ class ConfirmationCheckInitialiserTest {
                 .thenReturn(mockNodeServices);
 
         when(mockNodeServices.getBlockchainService()).thenReturn(mockBlockchainService);
-        when(mockNodeServices.getBlockSubscriptionStrategy())
-                .thenReturn(mockBlockSubscriptionStrategy);
         when(mockBlockchainService.getCurrentBlockNumber()).thenReturn(currentBlock);
         Node node = new Node();
         node.setChainType(ChainType.ETHEREUM);
@@ -73,11 +68,12 @@ class ConfirmationCheckInitialiserTest {
         when(mockNodeSettings.getNode(any())).thenReturn(node);
 
         underTest =
-                new ConfirmationCheckInitialiserForTest(
+                new BroadcastAndInitialiseConfirmationListener(
                         mockChainServicesContainer,
                         mock(BlockchainEventBroadcaster.class),
                         mockNodeSettings,
-                        mockEventStore);
+                        mockEventStore,
+                        mockConfirmationScheduler);
     }
 
     @Test
@@ -86,14 +82,14 @@ class ConfirmationCheckInitialiserTest {
         when(event.getBlockNumber()).thenReturn(currentBlock);
         underTest.onEvent(event);
 
-        verify(mockBlockSubscriptionStrategy, times(1)).addBlockListener(mockBlockListener);
+        verify(mockConfirmationScheduler, times(1)).scheduleEventConfirmation(event);
     }
 
     @Test
     void testOnEventInvalidated() {
         underTest.onEvent(createContractEventDetails(ContractEventStatus.INVALIDATED));
 
-        verify(mockBlockSubscriptionStrategy, never()).addBlockListener(mockBlockListener);
+        verify(mockConfirmationScheduler, never()).scheduleEventConfirmation(any());
     }
 
     @Test
@@ -107,7 +103,7 @@ class ConfirmationCheckInitialiserTest {
         when(mockBlockchainService.getTransactionReceipt(TX_HASH)).thenReturn(mockTxReceipt);
         underTest.onEvent(event);
 
-        verify(mockBlockSubscriptionStrategy, times(0)).addBlockListener(mockBlockListener);
+        verify(mockConfirmationScheduler, times(0)).scheduleEventConfirmation(event);
     }
 
     private ContractEventDetails createContractEventDetails(ContractEventStatus status) {
@@ -121,22 +117,4 @@ class ConfirmationCheckInitialiserTest {
 
         return eventDetails;
     }
-
-    private class ConfirmationCheckInitialiserForTest
-            extends BroadcastAndInitialiseConfirmationListener {
-
-        public ConfirmationCheckInitialiserForTest(
-                ChainServicesContainer chainServicesContainer,
-                BlockchainEventBroadcaster eventBroadcaster,
-                NodeSettings node,
-                EventStore eventStore) {
-            super(chainServicesContainer, eventBroadcaster, node, eventStore);
-        }
-
-        @Override
-        protected BlockListener createEventConfirmationBlockListener(
-                ContractEventDetails eventDetails, Node node) {
-            return mockBlockListener;
-        }
-    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.contract;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.librevents.chain.service.BlockchainService;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.service.domain.Block;
+import io.librevents.chain.settings.LogFetchStrategy;
+import io.librevents.chain.settings.Node;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.constant.Constants;
+import io.librevents.dto.event.ContractEventDetails;
+import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.service.VirtualThreadAsyncTaskService;
+import io.librevents.utils.ExecutorNameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultContractEventProcessorTest {
+
+    private static final List<String> CONTRACTS = List.of("0xA", "0xB", "0xC", "0xD", "0xE");
+
+    private final List<ContractEventDetails> received = new CopyOnWriteArrayList<>();
+
+    private DefaultContractEventProcessor underTest;
+
+    private BlockchainService mockBlockchainService;
+    private BloomFilterIndex mockBloomFilterIndex;
+    private VirtualThreadAsyncTaskService asyncTaskService;
+    private Node node;
+
+    @BeforeEach
+    void init() {
+        mockBlockchainService = mock(BlockchainService.class);
+        mockBloomFilterIndex = mock(BloomFilterIndex.class);
+
+        final ChainServicesContainer mockChainServicesContainer =
+                mock(ChainServicesContainer.class);
+        final NodeServices mockNodeServices = mock(NodeServices.class);
+        final NodeSettings mockNodeSettings = mock(NodeSettings.class);
+
+        when(mockChainServicesContainer.getNodeServices(Constants.DEFAULT_NODE_NAME))
+                .thenReturn(mockNodeServices);
+        when(mockNodeServices.getNodeType()).thenReturn("NORMAL");
+        when(mockNodeServices.getBlockchainService()).thenReturn(mockBlockchainService);
+        when(mockBloomFilterIndex.getFiltersInBloom(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+
+        asyncTaskService = spy(new VirtualThreadAsyncTaskService());
+
+        node = new Node();
+        node.setLogFetchStrategy(LogFetchStrategy.BLOCK);
+        when(mockNodeSettings.getNode(Constants.DEFAULT_NODE_NAME)).thenReturn(node);
+
+        underTest =
+                new DefaultContractEventProcessor(
+                        mockChainServicesContainer,
+                        asyncTaskService,
+                        List.of(received::add),
+                        mockNodeSettings,
+                        mockBloomFilterIndex);
+    }
+
+    @Test
+    void testEventsAreHandedToTheListenersInOrderWithoutPartitions() {
+        final List<ContractEventDetails> events = mockEvents(100);
+
+        underTest.processLogsInBlock(createBlock(), List.of(new ContractEventFilter()));
+
+        assertEquals(events, received);
+    }
+
+    @Test
+    void testEventsOfEachContractKeepTheirOrderAcrossPartitions() {
+        node.setEventPartitions(4);
+        final List<ContractEventDetails> events = mockEvents(1000);
+
+        underTest.processLogsInBlock(createBlock(), List.of(new ContractEventFilter()));
+
+        assertEquals(events.size(), received.size());
+        assertEquals(groupByContract(events), groupByContract(received));
+    }
+
+    @Test
+    void testPartitionExecutorNamesAreBuiltOncePerNode() {
+        node.setEventPartitions(4);
+        mockEvents(100);
+
+        underTest.processLogsInBlock(createBlock(), List.of(new ContractEventFilter()));
+        underTest.processLogsInBlock(createBlock(), List.of(new ContractEventFilter()));
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(asyncTaskService, atLeastOnce())
+                .executeWithCompletableFuture(captor.capture(), any());
+
+        final String partitionPrefix =
+                ExecutorNameFactory.build(
+                                DefaultContractEventProcessor.EVENT_EXECUTOR_NAME,
+                                Constants.DEFAULT_NODE_NAME)
+                        + "-";
+        final Map<String, List<String>> partitionNames =
+                captor.getAllValues().stream()
+                        .filter(name -> name.startsWith(partitionPrefix))
+                        .collect(Collectors.groupingBy(name -> name));
+
+        // Every block of the node reuses the same name instances
+        assertEquals(4, partitionNames.size());
+        partitionNames
+                .values()
+                .forEach(names -> names.forEach(name -> assertSame(names.getFirst(), name)));
+    }
+
+    @Test
+    void testPreparedEventsAreNotRetrievedAgain() {
+        final List<ContractEventDetails> events = mockEvents(10);
+        final Block block = createBlock();
+        when(block.getHash()).thenReturn("0xABC");
+        final List<ContractEventFilter> filters = List.of(new ContractEventFilter());
+
+        underTest.prepareLogsInBlock(block, filters);
+        underTest.processLogsInBlock(block, filters);
+
+        verify(mockBlockchainService, times(1)).getEventsForFilters(any(), any());
+        assertEquals(events, received);
+    }
+
+    @Test
+    void testEventsAreRetrievedAgainWhenTheFiltersHaveChanged() {
+        mockEvents(10);
+        final Block block = createBlock();
+        when(block.getHash()).thenReturn("0xABC");
+        final ContractEventFilter newFilter = new ContractEventFilter();
+        newFilter.setId("new");
+
+        underTest.prepareLogsInBlock(block, List.of(new ContractEventFilter()));
+        underTest.processLogsInBlock(block, List.of(new ContractEventFilter(), newFilter));
+
+        verify(mockBlockchainService, times(2)).getEventsForFilters(any(), any());
+    }
+
+    private List<ContractEventDetails> mockEvents(int count) {
+        final List<ContractEventDetails> events =
+                IntStream.range(0, count)
+                        .mapToObj(
+                                i -> {
+                                    final ContractEventDetails event = new ContractEventDetails();
+                                    event.setNodeName(Constants.DEFAULT_NODE_NAME);
+                                    event.setAddress(CONTRACTS.get(i % CONTRACTS.size()));
+                                    event.setLogIndex(BigInteger.valueOf(i));
+                                    return event;
+                                })
+                        .toList();
+
+        when(mockBlockchainService.getEventsForFilters(any(), any())).thenReturn(events);
+
+        return events;
+    }
+
+    private Map<String, List<BigInteger>> groupByContract(List<ContractEventDetails> events) {
+        return events.stream()
+                .collect(
+                        Collectors.groupingBy(
+                                ContractEventDetails::getAddress,
+                                Collectors.mapping(
+                                        ContractEventDetails::getLogIndex, Collectors.toList())));
+    }
+
+    private Block createBlock() {
+        final Block block = mock(Block.class);
+        when(block.getNumber()).thenReturn(BigInteger.TEN);
+        when(block.getNodeName()).thenReturn(Constants.DEFAULT_NODE_NAME);
+
+        return block;
+    }
+}
@@ -15,19 +15,24 @@
 package io.librevents.chain.converter;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import io.librevents.dto.event.parameter.EventParameter;
 import io.librevents.settings.LibreventsSettings;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.web3j.abi.TypeEncoder;
 import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
 import org.web3j.abi.datatypes.Type;
 import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class Web3jEventParameterConverterTest {
     private static String ADDRESS = "0xBb4F53C05e50574C5fEdbFE89c13Cc5fEb634ae3";
@@ -36,7 +41,9 @@ class Web3jEventParameterConverterTest {
 
     @BeforeEach
     public void init() {
-        underTest = new Web3jEventParameterConverter(new LibreventsSettings(true, "10000"));
+        underTest =
+                new Web3jEventParameterConverter(
+                        new LibreventsSettings(true, "10000", 4, 1000, 10));
     }
 
     @Test
@@ -80,6 +87,40 @@ class Web3jEventParameterConverterTest {
                 TypeConversionException.class, () -> underTest.convert(new InvalidType()));
     }
 
+    @Test
+    void testWordConversionMatchesTypeConversion() {
+        assertWordConversionMatches(new Address(ADDRESS));
+        assertWordConversionMatches(new Uint256(BigInteger.TWO.pow(255)));
+        assertWordConversionMatches(new Uint8(200));
+        assertWordConversionMatches(new Bool(true));
+        assertWordConversionMatches(new Bool(false));
+        assertWordConversionMatches(new Bytes32(Arrays.copyOf("aTopic".getBytes(), 32)));
+    }
+
+    @Test
+    void testWordConversionOfHexBytes() {
+        underTest =
+                new Web3jEventParameterConverter(
+                        new LibreventsSettings(false, "10000", 4, 1000, 10));
+
+        assertWordConversionMatches(new Bytes32(Numeric.hexStringToByteArray("0xab".repeat(32))));
+    }
+
+    @Test
+    void testNoWordConversionForDynamicTypes() {
+        assertNull(underTest.getWordConverter("string"));
+        assertNull(underTest.getWordConverter("bytes"));
+        assertNull(underTest.getWordConverter("uint256[]"));
+    }
+
+    private void assertWordConversionMatches(Type<?> value) {
+        final String hex = "0x" + TypeEncoder.encode(value);
+
+        assertEquals(
+                underTest.convert(value),
+                underTest.getWordConverter(value.getTypeAsString()).convert(hex, 2));
+    }
+
     private static class InvalidType implements Type {
 
         @Override
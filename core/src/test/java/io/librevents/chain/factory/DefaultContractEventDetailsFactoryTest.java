@@ -207,6 +207,26 @@ public class DefaultContractEventDetailsFactoryTest {
         assertEquals(BigInteger.valueOf(-42), argumentCaptor.getAllValues().get(2).getValue());
     }
 
+    @Test
+    void testParametersAreDecodedTheSameWithACachedPlan() {
+        final DefaultContractEventDetailsFactory underTest = createFactory(BigInteger.TEN);
+
+        final EventParameter mockParam1 = mock(EventParameter.class);
+        final ArgumentCaptor<Type> argumentCaptor = ArgumentCaptor.forClass(Type.class);
+        when(mockParameterCoverter.convert(argumentCaptor.capture())).thenReturn(mockParam1);
+
+        underTest.createEventDetails(filter, mockLog, mockEthBlock, mockTransactionReceipt);
+        final ContractEventDetails eventDetails =
+                underTest.createEventDetails(filter, mockLog, mockEthBlock, mockTransactionReceipt);
+
+        assertEquals(3, eventDetails.getNonIndexedParameters().size());
+        assertEquals(1, eventDetails.getIndexedParameters().size());
+        assertEquals(
+                Web3jUtil.getSignature(eventSpec), eventDetails.getEventSpecificationSignature());
+        assertEquals(BigInteger.valueOf(123), argumentCaptor.getAllValues().get(4).getValue());
+        assertEquals(BigInteger.valueOf(456), argumentCaptor.getAllValues().get(7).getValue());
+    }
+
     private DefaultContractEventDetailsFactory createFactory(BigInteger confirmations) {
         Node node = new Node();
         node.setBlocksToWaitForConfirmation(confirmations);
@@ -0,0 +1,296 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLogRangeTest {
+
+    private static final String RANGE_KEY =
+            AdaptiveLogRange.contractKey("default", "0x7a55a28856d43bba3c6a7e36f2cee9a82923e99b");
+
+    private AdaptiveLogRange underTest;
+
+    private List<BigInteger[]> queries;
+
+    @BeforeEach
+    void init() {
+        underTest = new AdaptiveLogRange(AdaptiveLogRange::isCommonLimitError, Duration.ZERO);
+        queries = new ArrayList<>();
+    }
+
+    @Test
+    void testRangeIsSplitOnLimitError() throws IOException {
+        final List<BigInteger> logs =
+                underTest.retrieve(
+                        RANGE_KEY,
+                        BigInteger.ONE,
+                        BigInteger.valueOf(100),
+                        (from, to) -> {
+                            record(from, to);
+
+                            if (to.subtract(from).compareTo(BigInteger.valueOf(30)) > 0) {
+                                throw new BlockchainException(
+                                        "query returned more than 10000 results");
+                            }
+
+                            return List.of(from);
+                        });
+
+        assertEquals(
+                List.of(
+                        BigInteger.ONE,
+                        BigInteger.valueOf(26),
+                        BigInteger.valueOf(51),
+                        BigInteger.valueOf(76)),
+                logs);
+        // 1-100 and 1-50 fail before the 25 block range is learned
+        assertEquals(6, queries.size());
+    }
+
+    @Test
+    void testTimeoutIsALimitError() {
+        assertTrue(
+                AdaptiveLogRange.isCommonLimitError(
+                        new IOException(new SocketTimeoutException("Read timed out"))));
+        assertFalse(AdaptiveLogRange.isCommonLimitError(new IOException("Connection refused")));
+    }
+
+    @Test
+    void testInterruptionIsNotALimitError() {
+        assertFalse(
+                AdaptiveLogRange.isCommonLimitError(
+                        new IOException(new InterruptedIOException("interrupted"))));
+    }
+
+    @Test
+    void testInterruptedRetrievalFailsWithoutShrinkingTheRange() throws IOException {
+        try {
+            assertThrows(
+                    IOException.class,
+                    () ->
+                            underTest.retrieve(
+                                    RANGE_KEY,
+                                    BigInteger.ONE,
+                                    BigInteger.valueOf(100),
+                                    (from, to) -> {
+                                        record(from, to);
+                                        Thread.currentThread().interrupt();
+                                        throw new SocketTimeoutException("Read timed out");
+                                    }));
+        } finally {
+            // Clears the interruption of the test thread
+            assertTrue(Thread.interrupted());
+        }
+
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.ONE,
+                BigInteger.valueOf(100),
+                (from, to) -> {
+                    record(from, to);
+                    return List.of();
+                });
+
+        assertEquals(
+                List.of("1-100", "1-100"),
+                queries.stream().map(range -> range[0] + "-" + range[1]).toList());
+    }
+
+    @Test
+    void testOnlyRangeAndResultLimitErrorsAreLimitErrors() {
+        assertTrue(
+                AdaptiveLogRange.isCommonLimitError(
+                        new BlockchainException("Log response size exceeded")));
+        assertTrue(
+                AdaptiveLogRange.isCommonLimitError(
+                        new BlockchainException("exceed maximum block range: 5000")));
+        assertFalse(
+                AdaptiveLogRange.isCommonLimitError(
+                        new BlockchainException("exceeds block gas limit")));
+        assertFalse(
+                AdaptiveLogRange.isCommonLimitError(
+                        new BlockchainException("rate limit exceeded")));
+        assertTrue(
+                AdaptiveLogRange.isCommonRateLimitError(
+                        new IOException("Invalid response received: 429; Too Many Requests")));
+    }
+
+    @Test
+    void testRateLimitedQueryIsRetriedWithTheSameRange() throws IOException {
+        final List<BigInteger> logs =
+                underTest.retrieve(
+                        RANGE_KEY,
+                        BigInteger.ONE,
+                        BigInteger.valueOf(100),
+                        (from, to) -> {
+                            record(from, to);
+
+                            if (queries.size() < 3) {
+                                throw new BlockchainException("rate limit exceeded");
+                            }
+
+                            return List.of(from);
+                        });
+
+        assertEquals(List.of(BigInteger.ONE), logs);
+        assertEquals(
+                List.of("1-100", "1-100", "1-100"),
+                queries.stream().map(range -> range[0] + "-" + range[1]).toList());
+    }
+
+    @Test
+    void testRateLimitErrorIsRethrownAfterTheRetries() {
+        assertThrows(
+                BlockchainException.class,
+                () ->
+                        underTest.retrieve(
+                                RANGE_KEY,
+                                BigInteger.ONE,
+                                BigInteger.valueOf(100),
+                                (from, to) -> {
+                                    record(from, to);
+                                    throw new BlockchainException("Too Many Requests");
+                                }));
+
+        // The first query and 5 retries, all with the whole range
+        assertEquals(6, queries.size());
+    }
+
+    @Test
+    void testASingleRunOfFailuresOnlyShrinksTheLearnedRangeToAnEighth() throws IOException {
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.ONE,
+                BigInteger.valueOf(1024),
+                (from, to) -> {
+                    if (to.subtract(from).compareTo(BigInteger.valueOf(8)) >= 0) {
+                        throw new BlockchainException("request timed out");
+                    }
+                    return List.of(BigInteger.ZERO);
+                },
+                logs -> {});
+
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.valueOf(1025),
+                BigInteger.valueOf(2048),
+                (from, to) -> {
+                    record(from, to);
+                    return List.of();
+                });
+
+        // The run of timeouts got down to 8 blocks, but only 128 were learned
+        assertEquals(BigInteger.valueOf(1025), queries.getFirst()[0]);
+        assertEquals(BigInteger.valueOf(1152), queries.getFirst()[1]);
+    }
+
+    @Test
+    void testOtherErrorsAreRethrown() {
+        assertThrows(
+                BlockchainException.class,
+                () ->
+                        underTest.retrieve(
+                                RANGE_KEY,
+                                BigInteger.ONE,
+                                BigInteger.valueOf(100),
+                                (from, to) -> {
+                                    record(from, to);
+                                    throw new BlockchainException("invalid argument");
+                                }));
+
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void testRangeGrowsAfterSparseResponses() throws IOException {
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.ONE,
+                BigInteger.valueOf(10),
+                (from, to) -> {
+                    if (to.subtract(from).compareTo(BigInteger.ONE) > 0) {
+                        throw new BlockchainException("block range is too large");
+                    }
+                    return List.of();
+                });
+
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.valueOf(11),
+                BigInteger.valueOf(30),
+                (from, to) -> {
+                    record(from, to);
+                    return List.of();
+                });
+
+        // Continues from the learned 2 block range, doubled after every 3 sparse responses
+        assertEquals(
+                List.of("11-12", "13-16", "17-20", "21-24", "25-30"),
+                queries.stream().map(range -> range[0] + "-" + range[1]).toList());
+    }
+
+    @Test
+    void testLogsOfEachQueryAreHandedOverAsTheyArrive() throws IOException {
+        final List<List<BigInteger>> handedOver = new ArrayList<>();
+
+        underTest.retrieve(
+                RANGE_KEY,
+                BigInteger.ONE,
+                BigInteger.valueOf(100),
+                (from, to) -> {
+                    if (to.subtract(from).compareTo(BigInteger.valueOf(50)) > 0) {
+                        throw new BlockchainException("query returned more than 10000 results");
+                    }
+
+                    return List.of(from, to);
+                },
+                handedOver::add);
+
+        // The failed query hands nothing over
+        assertEquals(
+                List.of(
+                        List.of(BigInteger.ONE, BigInteger.valueOf(50)),
+                        List.of(BigInteger.valueOf(51), BigInteger.valueOf(100))),
+                handedOver);
+    }
+
+    @Test
+    void testRangeIsLearnedPerNodeAndContract() {
+        assertEquals(
+                RANGE_KEY,
+                AdaptiveLogRange.contractKey(
+                        "default", "0x7A55A28856D43BBA3C6A7E36F2CEE9A82923E99B"));
+        assertNotEquals(
+                RANGE_KEY,
+                AdaptiveLogRange.contractKey(
+                        "other", "0x7a55a28856d43bba3c6a7e36f2cee9a82923e99b"));
+    }
+
+    private void record(BigInteger from, BigInteger to) {
+        queries.add(new BigInteger[] {from, to});
+    }
+}
@@ -3,12 +3,16 @@ package io.librevents.chain.service;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.librevents.chain.factory.ContractEventDetailsFactory;
 import io.librevents.chain.service.block.EventBlockManagementService;
 import io.librevents.chain.service.domain.io.*;
+import io.librevents.chain.service.domain.wrapper.HederaBlock;
 import io.librevents.chain.settings.Node;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
@@ -19,12 +23,13 @@ import io.librevents.service.EventStoreService;
 import io.librevents.service.SubscriptionService;
 import io.librevents.service.exception.NotFoundException;
 import io.librevents.testutils.DummyAsyncTaskService;
+import io.reactivex.subscribers.TestSubscriber;
 import okhttp3.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.modelmapper.internal.util.Assert;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -45,30 +50,14 @@ class HederaServiceTest {
 
     private EventBlockManagementService mockBlockManagement;
 
+    private OkHttpClient okHttpClient;
+
     @BeforeEach
     public void init() {
-        final EventStoreService eventStoreService = mock(EventStoreService.class);
         contractEventDetailsFactory = mock(ContractEventDetailsFactory.class);
-        final OkHttpClient okHttpClient = mock(OkHttpClient.class);
-        ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
-        final SubscriptionService mockSubscriptionService = mock(SubscriptionService.class);
-        final ModelMapper modelMapper = new ModelMapper();
+        okHttpClient = mock(OkHttpClient.class);
         objectMapper = new ObjectMapper();
-        Node node = new Node();
-        node.setName(NODE_NAME);
-        node.setUrl(NODE_URL);
-        this.hederaService =
-                new HederaService(
-                        contractEventDetailsFactory,
-                        eventStoreService,
-                        objectMapper,
-                        node,
-                        executorService,
-                        modelMapper,
-                        okHttpClient,
-                        mockBlockManagement,
-                        new DummyAsyncTaskService(),
-                        mockSubscriptionService);
+        this.hederaService = createHederaService(mock(ScheduledExecutorService.class));
 
         remoteCall = mock(Call.class);
         when(okHttpClient.newCall(any())).thenReturn(remoteCall);
@@ -259,4 +248,120 @@ class HederaServiceTest {
         Assert.notNull(event);
         Assert.isTrue(event.equals(eventDetails));
     }
+
+    @Test
+    void blocksAreOnlyPolledOnDemand() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final HederaService underTest = spy(createHederaService(scheduler));
+        doNothing().when(underTest).processBlock(any());
+        doReturn(Map.of()).when(underTest).getContractResultsByBlocks(any());
+        doReturn(List.of(createBlockResponse(1), createBlockResponse(2)))
+                .when(underTest)
+                .getBlocks(BigInteger.ONE);
+        doReturn(List.of(createBlockResponse(3))).when(underTest).getBlocks(BigInteger.valueOf(3));
+        doThrow(new NotFoundException("Block 4 not found!"))
+                .when(underTest)
+                .getBlocks(BigInteger.valueOf(4));
+
+        try {
+            final TestSubscriber<HederaBlock> subscriber =
+                    underTest.blocksFlowable(BigInteger.ONE, 10L).test(2);
+
+            subscriber.awaitCount(2);
+            verify(underTest, never()).getBlocks(BigInteger.valueOf(3));
+
+            subscriber.requestMore(10);
+            subscriber.awaitCount(3);
+            // The head of the chain has been reached, the next block is polled periodically
+            verify(underTest, timeout(5000).atLeast(2)).getBlocks(BigInteger.valueOf(4));
+
+            assertEquals(
+                    List.of(1L, 2L, 3L),
+                    subscriber.values().stream()
+                            .map(block -> block.getNumber().longValue())
+                            .toList());
+            subscriber.cancel();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void contractResultsOfSeveralBlocksAreSplitByTimestamp() throws Exception {
+        final ContractResultsResponse contractResultsResponse = new ContractResultsResponse();
+        contractResultsResponse.setResults(
+                List.of(
+                        createContractResult("0x1", "1.100000000"),
+                        createContractResult("0x2", "2.000000000"),
+                        createContractResult("0x3", "2.999999999")));
+
+        final Response httpResponse =
+                new Response.Builder()
+                        .request(new Request.Builder().url("https://url.com").build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("")
+                        .body(
+                                ResponseBody.create(
+                                        this.objectMapper.writeValueAsString(
+                                                contractResultsResponse),
+                                        MediaType.parse("application/json")))
+                        .build();
+
+        when(remoteCall.execute()).thenReturn(httpResponse);
+
+        final Map<BigInteger, List<ContractResultResponse>> resultsByBlock =
+                hederaService.getContractResultsByBlocks(
+                        List.of(createBlockResponse(1), createBlockResponse(2)));
+
+        assertEquals(
+                List.of("0x1"),
+                resultsByBlock.get(BigInteger.ONE).stream()
+                        .map(ContractResultResponse::getHash)
+                        .toList());
+        assertEquals(
+                List.of("0x2", "0x3"),
+                resultsByBlock.get(BigInteger.TWO).stream()
+                        .map(ContractResultResponse::getHash)
+                        .toList());
+        verify(okHttpClient, times(1)).newCall(any());
+    }
+
+    private ContractResultResponse createContractResult(String hash, String timestamp) {
+        final ContractResultResponse contractResult = new ContractResultResponse();
+        contractResult.setHash(hash);
+        contractResult.setTimestamp(timestamp);
+
+        return contractResult;
+    }
+
+    private HederaService createHederaService(ScheduledExecutorService executorService) {
+        Node node = new Node();
+        node.setName(NODE_NAME);
+        node.setUrl(NODE_URL);
+
+        return new HederaService(
+                contractEventDetailsFactory,
+                mock(EventStoreService.class),
+                objectMapper,
+                node,
+                executorService,
+                okHttpClient,
+                mockBlockManagement,
+                new DummyAsyncTaskService(),
+                mock(SubscriptionService.class));
+    }
+
+    private BlockResponse createBlockResponse(int number) {
+        final TimestampResponse timestamp = new TimestampResponse();
+        timestamp.setFrom(number + ".000000000");
+        timestamp.setTo(number + ".999999999");
+
+        final BlockResponse blockResponse = new BlockResponse();
+        blockResponse.setNumber(BigInteger.valueOf(number));
+        blockResponse.setHash("0x" + number);
+        blockResponse.setTimestamp(timestamp);
+
+        return blockResponse;
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+
+import io.librevents.chain.service.block.TransactionReceiptCache;
+import io.librevents.chain.service.domain.TransactionReceipt;
+import io.librevents.chain.service.domain.wrapper.Web3jBlock;
+import io.librevents.monitoring.MicrometerValueMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class TransactionReceiptCacheTest {
+
+    private static final String NODE_NAME = "default";
+
+    private static final String TX_HASH = "0xabc";
+
+    private static final BigInteger BLOCK_NUMBER = BigInteger.TEN;
+
+    private TransactionReceiptCache underTest;
+
+    private Function<String, TransactionReceipt> mockReceiptLoader;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        underTest =
+                new TransactionReceiptCache(
+                        new MicrometerValueMonitor(new SimpleMeterRegistry()), 100, 60);
+        mockReceiptLoader = mock(Function.class);
+    }
+
+    @Test
+    void testReceiptIsOnlyRequestedOnce() {
+        final TransactionReceipt receipt = createReceipt("0x1");
+        when(mockReceiptLoader.apply(TX_HASH)).thenReturn(receipt);
+
+        assertEquals(receipt, getReceipt());
+        assertEquals(receipt, getReceipt());
+
+        verify(mockReceiptLoader, times(1)).apply(TX_HASH);
+    }
+
+    @Test
+    void testMissingReceiptIsNotCached() {
+        getReceipt();
+        getReceipt();
+
+        verify(mockReceiptLoader, times(2)).apply(TX_HASH);
+    }
+
+    @Test
+    void testReceiptIsInvalidatedWhenItsBlockIsReplaced() {
+        final TransactionReceipt orphanedReceipt = createReceipt("0x1");
+        final TransactionReceipt newReceipt = createReceipt("0x2");
+        when(mockReceiptLoader.apply(TX_HASH)).thenReturn(orphanedReceipt, newReceipt);
+
+        underTest.onBlock(createBlock(BLOCK_NUMBER, "0x1", "0x0"));
+        assertEquals(orphanedReceipt, getReceipt());
+
+        underTest.onBlock(createBlock(BLOCK_NUMBER, "0x2", "0x0"));
+        assertEquals(newReceipt, getReceipt());
+        assertEquals(newReceipt, getReceipt());
+
+        verify(mockReceiptLoader, times(2)).apply(TX_HASH);
+    }
+
+    @Test
+    void testReceiptIsInvalidatedWhenTheParentOfANewBlockDiffers() {
+        final TransactionReceipt orphanedReceipt = createReceipt("0x1");
+        final TransactionReceipt newReceipt = createReceipt("0x2");
+        when(mockReceiptLoader.apply(TX_HASH)).thenReturn(orphanedReceipt, newReceipt);
+
+        underTest.onBlock(createBlock(BLOCK_NUMBER, "0x1", "0x0"));
+        assertEquals(orphanedReceipt, getReceipt());
+
+        underTest.onBlock(createBlock(BLOCK_NUMBER.add(BigInteger.ONE), "0x3", "0x2"));
+        assertEquals(newReceipt, getReceipt());
+
+        verify(mockReceiptLoader, times(2)).apply(TX_HASH);
+    }
+
+    private TransactionReceipt getReceipt() {
+        return underTest.getTransactionReceipt(NODE_NAME, TX_HASH, mockReceiptLoader);
+    }
+
+    private TransactionReceipt createReceipt(String blockHash) {
+        final TransactionReceipt receipt = mock(TransactionReceipt.class);
+        when(receipt.getBlockNumber()).thenReturn(BLOCK_NUMBER);
+        when(receipt.getBlockHash()).thenReturn(blockHash);
+
+        return receipt;
+    }
+
+    private Web3jBlock createBlock(BigInteger number, String hash, String parentHash) {
+        final Web3jBlock block = new Web3jBlock(number, hash, BigInteger.ZERO, NODE_NAME);
+        block.setParentHash(parentHash);
+
+        return block;
+    }
+}
@@ -22,12 +22,21 @@ import java.util.Optional;
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.factory.ContractEventDetailsFactory;
 import io.librevents.chain.service.block.EventBlockManagementService;
+import io.librevents.chain.service.block.TransactionReceiptCache;
+import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.Log;
 import io.librevents.chain.service.domain.TransactionReceipt;
-import io.librevents.chain.service.domain.wrapper.Web3jTransactionReceipt;
+import io.librevents.chain.service.domain.wrapper.Web3jBlock;
+import io.librevents.chain.service.domain.wrapper.Web3jTransaction;
+import io.librevents.chain.settings.Node;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.chain.util.Web3jUtil;
 import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.dto.event.filter.ContractEventSpecification;
+import io.librevents.monitoring.MicrometerValueMonitor;
 import io.librevents.testutils.DummyAsyncTaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.Flowable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,11 +45,12 @@ import org.mockito.ArgumentCaptor;
 import org.reactivestreams.Subscriber;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
-import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.request.EthFilter;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
+import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +62,8 @@ class Web3jServiceTest {
 
     private static final BigInteger BLOCK_NUMBER = BigInteger.valueOf(123);
 
+    private static final BigInteger BLOCK_TIMESTAMP = BigInteger.valueOf(1700000000);
+
     private static final String CONTRACT_ADDRESS = "0x7a55a28856d43bba3c6a7e36f2cee9a82923e99b";
 
     private static final String REVERT_REASON = "error";
@@ -64,12 +76,17 @@ class Web3jServiceTest {
 
     private ContractEventDetails mockContractEventDetails;
 
+    private Node node;
+
     @BeforeEach
     public void init() throws IOException {
         mockWeb3j = mock(Web3j.class);
         mockContractEventDetailsFactory = mock(ContractEventDetailsFactory.class);
         mockContractEventDetails = mock(ContractEventDetails.class);
         EventBlockManagementService mockBlockManagement = mock(EventBlockManagementService.class);
+        NodeSettings mockNodeSettings = mock(NodeSettings.class);
+        node = new Node();
+        when(mockNodeSettings.getNode("test")).thenReturn(node);
 
         // Wire up getBlockNumber
         final Request mockRequest = mock(Request.class);
@@ -87,7 +104,10 @@ class Web3jServiceTest {
                         mockWeb3j,
                         mockContractEventDetailsFactory,
                         new DummyAsyncTaskService(),
-                        mockBlockManagement);
+                        mockBlockManagement,
+                        new TransactionReceiptCache(
+                                new MicrometerValueMonitor(new SimpleMeterRegistry()), 100, 60),
+                        mockNodeSettings);
     }
 
     @Test
@@ -193,6 +213,293 @@ class Web3jServiceTest {
                 underTest.getRevertReason(FROM_ADDRESS, TO_ADDRESS, BLOCK_NUMBER, "0x1"));
     }
 
+    @Test
+    void testGetEventsForFiltersRoutesLogsToMatchingFilters() throws IOException {
+        final ContractEventFilter transferFilter = createFilter("Transfer");
+        final ContractEventFilter approvalFilter = createFilter("Approval");
+        final ContractEventFilter otherFilter = createFilter("Other");
+
+        final EthLog.LogObject transferLog =
+                createLog(Web3jUtil.getSignature(transferFilter.getEventSpecification()));
+        final EthLog.LogObject approvalLog =
+                createLog(Web3jUtil.getSignature(approvalFilter.getEventSpecification()));
+
+        final EthLog ethLog = new EthLog();
+        ethLog.setResult(List.of(approvalLog, transferLog));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        mockReceipt();
+
+        final Block block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+        final ContractEventDetails transferDetails = mock(ContractEventDetails.class);
+        final ContractEventDetails approvalDetails = mock(ContractEventDetails.class);
+        doReturn(transferDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(transferFilter),
+                        eq(transferLog),
+                        eq(block),
+                        eq(FROM_ADDRESS));
+        doReturn(approvalDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(approvalFilter),
+                        eq(approvalLog),
+                        eq(block),
+                        eq(FROM_ADDRESS));
+
+        final List<ContractEventDetails> events =
+                underTest.getEventsForFilters(
+                        List.of(transferFilter, approvalFilter, otherFilter), block);
+
+        assertEquals(List.of(approvalDetails, transferDetails), events);
+        final ArgumentCaptor<EthFilter> filterCaptor = ArgumentCaptor.forClass(EthFilter.class);
+        verify(mockWeb3j, times(1)).ethGetLogs(filterCaptor.capture());
+        assertEquals(BLOCK_HASH, filterCaptor.getValue().getBlockHash());
+        assertNull(filterCaptor.getValue().getFromBlock());
+        verify(mockWeb3j, never()).ethGetBlockByNumber(any(DefaultBlockParameter.class), eq(false));
+        verify(mockWeb3j, never()).ethGetBlockByHash(any(String.class), eq(false));
+    }
+
+    @Test
+    void testGetEventsForFiltersLogsError() throws IOException {
+        final EthLog ethLog = new EthLog();
+        ethLog.setError(new Response.Error(-32005, "query returned more than 10000 results"));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        final Block block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+
+        Assertions.assertThrows(
+                BlockchainException.class,
+                () -> underTest.getEventsForFilters(List.of(createFilter("Transfer")), block));
+    }
+
+    @Test
+    void testGetEventsForFilterTakesSenderFromBlockTransactions() throws IOException {
+        final ContractEventFilter filter = createFilter("Transfer");
+
+        final EthLog.LogObject transferLog =
+                createLog(Web3jUtil.getSignature(filter.getEventSpecification()));
+        transferLog.setTransactionIndex(Numeric.encodeQuantity(TX_INDEX));
+
+        final EthLog ethLog = new EthLog();
+        ethLog.setResult(List.of(transferLog));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        final Web3jTransaction transaction = new Web3jTransaction();
+        transaction.setHash(TX_HASH);
+        transaction.setTransactionIndex(TX_INDEX.toString());
+        transaction.setFrom(FROM_ADDRESS);
+
+        final Web3jBlock block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+        block.setTransactions(List.of(transaction));
+
+        doReturn(mockContractEventDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(filter), eq(transferLog), eq(block), eq(FROM_ADDRESS.toLowerCase()));
+
+        assertEquals(
+                List.of(mockContractEventDetails), underTest.getEventsForFilter(filter, block));
+        verify(mockWeb3j, never()).ethGetTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    void testGetEventsForFiltersLoadsHeaderOnlyBlockTransactionsOnceForSenders()
+            throws IOException {
+        final ContractEventFilter filter = createFilter("Transfer");
+        final String signature = Web3jUtil.getSignature(filter.getEventSpecification());
+
+        final EthLog.LogObject firstLog = createLog(signature);
+        final EthLog.LogObject secondLog = createLog(signature);
+        secondLog.setTransactionHash(OTHER_TX_HASH);
+
+        final EthLog ethLog = new EthLog();
+        ethLog.setResult(List.of(firstLog, secondLog));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        final Web3jTransaction transaction = new Web3jTransaction();
+        transaction.setHash(TX_HASH);
+        transaction.setFrom(FROM_ADDRESS);
+
+        final Web3jTransaction otherTransaction = new Web3jTransaction();
+        otherTransaction.setHash(OTHER_TX_HASH);
+        otherTransaction.setFrom(FROM_ADDRESS);
+
+        // A block obtained without transaction objects, as when the node monitors no transactions
+        final Web3jBlock block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+        block.setTransactionsLoader(
+                () -> {
+                    mockWeb3j.ethGetBlockByHash(BLOCK_HASH, true);
+                    return List.of(transaction, otherTransaction);
+                });
+
+        doReturn(mockContractEventDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(filter),
+                        any(org.web3j.protocol.core.methods.response.Log.class),
+                        eq(block),
+                        eq(FROM_ADDRESS.toLowerCase()));
+
+        assertEquals(2, underTest.getEventsForFilters(List.of(filter), block).size());
+        verify(mockWeb3j, times(1)).ethGetBlockByHash(BLOCK_HASH, true);
+        verify(mockWeb3j, never()).ethGetTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    void testGetEventsForFilterPrefetchesBlockReceiptsAboveThreshold() throws IOException {
+        node.setBlockReceiptsThreshold(1);
+
+        final ContractEventFilter filter = createFilter("Transfer");
+        final String signature = Web3jUtil.getSignature(filter.getEventSpecification());
+
+        final EthLog.LogObject firstLog = createLog(signature);
+        final EthLog.LogObject secondLog = createLog(signature);
+        secondLog.setTransactionHash(OTHER_TX_HASH);
+
+        final EthLog ethLog = new EthLog();
+        ethLog.setResult(List.of(firstLog, secondLog));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        final org.web3j.protocol.core.methods.response.TransactionReceipt otherTxReceipt =
+                createMockTxReceipt();
+        when(otherTxReceipt.getTransactionHash()).thenReturn(OTHER_TX_HASH);
+
+        final EthGetBlockReceipts blockReceipts = mock(EthGetBlockReceipts.class);
+        when(blockReceipts.getBlockReceipts())
+                .thenReturn(Optional.of(List.of(createMockTxReceipt(), otherTxReceipt)));
+        final Request<?, EthGetBlockReceipts> mockBlockReceiptsRequest = mock(Request.class);
+        when(mockBlockReceiptsRequest.send()).thenReturn(blockReceipts);
+        doReturn(mockBlockReceiptsRequest)
+                .when(mockWeb3j)
+                .ethGetBlockReceipts(any(DefaultBlockParameter.class));
+
+        doReturn(mockContractEventDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(filter),
+                        any(org.web3j.protocol.core.methods.response.Log.class),
+                        any(Block.class),
+                        eq(FROM_ADDRESS));
+
+        final Block block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+
+        assertEquals(2, underTest.getEventsForFilter(filter, block).size());
+        verify(mockWeb3j, times(1)).ethGetBlockReceipts(any(DefaultBlockParameter.class));
+        verify(mockWeb3j, never()).ethGetTransactionReceipt(any(String.class));
+    }
+
+    @Test
+    void testFailedBlockReceiptsPrefetchIsRetried() throws IOException {
+        node.setBlockReceiptsThreshold(1);
+
+        final EthGetBlockReceipts blockReceipts = mock(EthGetBlockReceipts.class);
+        when(blockReceipts.getBlockReceipts())
+                .thenReturn(Optional.of(List.of(createMockTxReceipt())));
+        final Request<?, EthGetBlockReceipts> mockBlockReceiptsRequest = mock(Request.class);
+        when(mockBlockReceiptsRequest.send())
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(blockReceipts);
+        doReturn(mockBlockReceiptsRequest)
+                .when(mockWeb3j)
+                .ethGetBlockReceipts(any(DefaultBlockParameter.class));
+
+        final Block block = new Web3jBlock(BLOCK_NUMBER, BLOCK_HASH, BLOCK_TIMESTAMP, "test");
+
+        underTest.prefetchTransactionReceipts(block, 2);
+        underTest.prefetchTransactionReceipts(block, 2);
+        underTest.prefetchTransactionReceipts(block, 2);
+
+        // The failed prefetch is retried, the successful one is not repeated
+        verify(mockWeb3j, times(2)).ethGetBlockReceipts(any(DefaultBlockParameter.class));
+    }
+
+    @Test
+    void testRetrieveEventsFetchesEachBlockHeaderOnce() throws IOException {
+        final ContractEventFilter filter = createFilter("Transfer");
+        final String signature = Web3jUtil.getSignature(filter.getEventSpecification());
+
+        final EthLog ethLog = new EthLog();
+        ethLog.setResult(List.of(createLog(signature), createLog(signature)));
+        final Request<?, EthLog> mockLogsRequest = mock(Request.class);
+        when(mockLogsRequest.send()).thenReturn(ethLog);
+        doReturn(mockLogsRequest).when(mockWeb3j).ethGetLogs(any(EthFilter.class));
+
+        mockBlockHeader();
+        mockReceipt();
+
+        doReturn(mockContractEventDetails)
+                .when(mockContractEventDetailsFactory)
+                .createEventDetails(
+                        eq(filter),
+                        any(org.web3j.protocol.core.methods.response.Log.class),
+                        eq(BLOCK_TIMESTAMP),
+                        eq(FROM_ADDRESS));
+
+        final List<ContractEventDetails> events =
+                underTest.retrieveEvents(filter, BLOCK_NUMBER, BLOCK_NUMBER);
+
+        assertEquals(List.of(mockContractEventDetails, mockContractEventDetails), events);
+        verify(mockWeb3j, times(1)).ethGetBlockByHash(BLOCK_HASH, false);
+    }
+
+    private ContractEventFilter createFilter(String eventName) {
+        final ContractEventSpecification eventSpec = new ContractEventSpecification();
+        eventSpec.setEventName(eventName);
+
+        final ContractEventFilter filter = new ContractEventFilter();
+        filter.setId(eventName);
+        filter.setContractAddress(CONTRACT_ADDRESS);
+        filter.setEventSpecification(eventSpec);
+
+        return filter;
+    }
+
+    private EthLog.LogObject createLog(String eventSignature) {
+        final EthLog.LogObject log = new EthLog.LogObject();
+        log.setAddress(CONTRACT_ADDRESS);
+        log.setTopics(List.of(eventSignature));
+        log.setTransactionHash(TX_HASH);
+        log.setBlockNumber(BLOCK_NUMBER.toString());
+        log.setBlockHash(BLOCK_HASH);
+
+        return log;
+    }
+
+    private void mockBlockHeader() throws IOException {
+        final EthBlock.Block header = new EthBlock.Block();
+        header.setHash(BLOCK_HASH);
+        header.setTimestamp(Numeric.encodeQuantity(BLOCK_TIMESTAMP));
+
+        final EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(header);
+
+        final Request<?, EthBlock> mockBlockRequest = mock(Request.class);
+        when(mockBlockRequest.send()).thenReturn(ethBlock);
+        doReturn(mockBlockRequest).when(mockWeb3j).ethGetBlockByHash(BLOCK_HASH, false);
+    }
+
+    private void mockReceipt() throws IOException {
+        final Request<?, EthGetTransactionReceipt> mockReceiptRequest = mock(Request.class);
+        final EthGetTransactionReceipt mockGetTransactionReceipt =
+                mock(EthGetTransactionReceipt.class);
+        when(mockGetTransactionReceipt.getTransactionReceipt())
+                .thenReturn(Optional.of(createMockTxReceipt()));
+        when(mockReceiptRequest.send()).thenReturn(mockGetTransactionReceipt);
+        doReturn(mockReceiptRequest).when(mockWeb3j).ethGetTransactionReceipt(TX_HASH);
+    }
+
     private ContractEventDetails doRegisterEventListenerAndTrigger() throws IOException {
         final org.web3j.protocol.core.methods.response.Log mockLog =
                 mock(org.web3j.protocol.core.methods.response.Log.class);
@@ -201,39 +508,17 @@ class Web3jServiceTest {
                 new DummyFlowable<>(mockLog);
         when(mockWeb3j.ethLogFlowable(any(EthFilter.class))).thenReturn(flowable);
 
-        final Request<?, EthBlock> mockRequest = mock(Request.class);
-        final EthBlock mockBlock = mock(EthBlock.class);
-
-        final Request<?, EthGetTransactionReceipt> mockRequestGetTransactionReceipt =
-                mock(Request.class);
-        final EthGetTransactionReceipt mockGetTransactionReceipt =
-                mock(EthGetTransactionReceipt.class);
-        final Optional<org.web3j.protocol.core.methods.response.TransactionReceipt>
-                optionalTransactionReceipt =
-                        Optional.of(
-                                mock(
-                                        org.web3j.protocol.core.methods.response.TransactionReceipt
-                                                .class));
-
-        when(mockRequest.send()).thenReturn(mockBlock);
-        doReturn(mockRequest)
-                .when(mockWeb3j)
-                .ethGetBlockByNumber(any(DefaultBlockParameterNumber.class), eq(false));
-
         when(mockLog.getTransactionHash()).thenReturn(TX_HASH);
-        when(mockRequestGetTransactionReceipt.send()).thenReturn(mockGetTransactionReceipt);
-        when(mockGetTransactionReceipt.getTransactionReceipt())
-                .thenReturn(optionalTransactionReceipt);
-        doReturn(mockRequestGetTransactionReceipt)
-                .when(mockWeb3j)
-                .ethGetTransactionReceipt(TX_HASH);
+        when(mockLog.getBlockHash()).thenReturn(BLOCK_HASH);
+        mockBlockHeader();
+        mockReceipt();
 
         final ContractEventFilter filter = new ContractEventFilter();
 
         doReturn(mockContractEventDetails)
                 .when(mockContractEventDetailsFactory)
                 .createEventDetails(
-                        eq(filter), eq(mockLog), eq(mockBlock), any(Web3jTransactionReceipt.class));
+                        eq(filter), eq(mockLog), eq(BLOCK_TIMESTAMP), eq(FROM_ADDRESS));
 
         final ContractEventListener mockEventListener = mock(ContractEventListener.class);
         underTest.registerEventListener(filter, mockEventListener);
@@ -247,6 +532,8 @@ class Web3jServiceTest {
 
     private static final String TX_HASH =
             "0xc283f53461e98400619f3fcdc081e6f95848c7ad32f79718fcb77fe865e5b58a";
+    private static final String OTHER_TX_HASH =
+            "0xd283f53461e98400619f3fcdc081e6f95848c7ad32f79718fcb77fe865e5b58a";
     private static final BigInteger TX_INDEX = BigInteger.ONE;
     private static final BigInteger CUMULATIVE_GAS_USED = BigInteger.valueOf(123456);
     private static final BigInteger GAS_USED = BigInteger.valueOf(12345);
@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.librevents.chain.service.domain.wrapper;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import io.librevents.chain.service.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Keys;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class Web3jBlockTest {
+
+    private static final String FROM_ADDRESS = "0x2250683dbe4e0b90395c3c5d7def87784a2b916c";
+
+    private static final String TO_ADDRESS = "0x7a55a28856d43bba3c6a7e36f2cee9a82923e99b";
+
+    @Test
+    void testBlockAndTransactionsAreMapped() {
+        final EthBlock.Block ethBlock = new EthBlock.Block();
+        ethBlock.setNumber("0x3e8");
+        ethBlock.setHash("0xabc");
+        ethBlock.setParentHash("0xabb");
+        ethBlock.setNonce("0x0000000000000000");
+        ethBlock.setDifficulty("0x0");
+        ethBlock.setSize("0x10");
+        ethBlock.setGasLimit("0x1c9c380");
+        ethBlock.setGasUsed("0x5208");
+        ethBlock.setTimestamp("0x64");
+        ethBlock.setTransactions(List.of(createTransaction(), createTransaction()));
+
+        final Web3jBlock block = new Web3jBlock(ethBlock, "default");
+
+        assertEquals(BigInteger.valueOf(1000), block.getNumber());
+        assertEquals("0xabb", block.getParentHash());
+        assertEquals(BigInteger.valueOf(100), block.getTimestamp());
+        assertNull(block.getNonce());
+        assertNull(block.getTotalDifficulty());
+        assertEquals("default", block.getNodeName());
+        assertEquals(2, block.getTransactions().size());
+
+        final Transaction transaction = block.getTransactions().getFirst();
+
+        assertEquals("1000", transaction.getBlockNumber());
+        assertEquals("2", transaction.getTransactionIndex());
+        assertEquals("1000000000000000000", transaction.getValue());
+        assertEquals("21000", transaction.getGas());
+        assertEquals(Keys.toChecksumAddress(FROM_ADDRESS), transaction.getFrom());
+        assertEquals(Keys.toChecksumAddress(TO_ADDRESS), transaction.getTo());
+        assertEquals(27, transaction.getV());
+    }
+
+    private EthBlock.TransactionObject createTransaction() {
+        final EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+        transaction.setHash("0x1");
+        transaction.setNonce("0x1");
+        transaction.setBlockHash("0xabc");
+        transaction.setBlockNumber("0x3e8");
+        transaction.setTransactionIndex("0x2");
+        transaction.setFrom(FROM_ADDRESS);
+        transaction.setTo(TO_ADDRESS);
+        transaction.setValue("0xde0b6b3a7640000");
+        transaction.setGasPrice("0x1");
+        transaction.setGas("0x5208");
+        transaction.setInput("0x");
+        transaction.setV(27);
+
+        return transaction;
+    }
+}
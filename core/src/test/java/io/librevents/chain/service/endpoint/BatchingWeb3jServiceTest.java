@@ -0,0 +1,132 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.endpoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchingWeb3jServiceTest {
+
+    private BatchingWeb3jService underTest;
+
+    private Web3jService mockDelegate;
+
+    @BeforeEach
+    void init() {
+        mockDelegate = mock(Web3jService.class);
+
+        underTest = new BatchingWeb3jService("test", mockDelegate, 1000, 2);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        underTest.close();
+    }
+
+    @Test
+    void testConcurrentReadsAreSentAsOneBatch() throws Exception {
+        when(mockDelegate.sendBatch(any()))
+                .thenAnswer(
+                        invocation -> {
+                            final BatchRequest batch = invocation.getArgument(0);
+                            final List<Response<?>> responses = new ArrayList<>();
+
+                            // Nodes do not have to respond in the order of the requests
+                            batch.getRequests()
+                                    .forEach(request -> responses.addFirst(respondTo(request)));
+
+                            return new BatchResponse(batch.getRequests(), responses);
+                        });
+
+        final Request<?, EthGetTransactionReceipt> first = getReceipt("0x1");
+        final Request<?, EthGetTransactionReceipt> second = getReceipt("0x2");
+
+        final CompletableFuture<EthGetTransactionReceipt> firstResponse =
+                underTest.sendAsync(first, EthGetTransactionReceipt.class);
+        final CompletableFuture<EthGetTransactionReceipt> secondResponse =
+                underTest.sendAsync(second, EthGetTransactionReceipt.class);
+
+        assertEquals(first.getId(), firstResponse.get().getId());
+        assertEquals(second.getId(), secondResponse.get().getId());
+        verify(mockDelegate, times(1)).sendBatch(any());
+        verify(mockDelegate, never()).send(any(), any());
+    }
+
+    @Test
+    void testOtherRequestsAreSentStraightAway() throws IOException {
+        final Request<?, EthBlockNumber> request =
+                new Request<>("eth_blockNumber", Arrays.asList(), null, EthBlockNumber.class);
+
+        underTest.send(request, EthBlockNumber.class);
+
+        verify(mockDelegate, times(1)).send(request, EthBlockNumber.class);
+        verify(mockDelegate, never()).sendBatch(any());
+    }
+
+    @Test
+    void testRequestsAreSentOneByOneWhenBatchesAreNotSupported() throws Exception {
+        when(mockDelegate.sendBatch(any())).thenThrow(new ClassCastException("not an array"));
+        when(mockDelegate.sendAsync(any(), eq(EthGetTransactionReceipt.class)))
+                .thenAnswer(
+                        invocation ->
+                                CompletableFuture.completedFuture(
+                                        respondTo(invocation.getArgument(0))));
+
+        final CompletableFuture<EthGetTransactionReceipt> firstResponse =
+                underTest.sendAsync(getReceipt("0x1"), EthGetTransactionReceipt.class);
+        final CompletableFuture<EthGetTransactionReceipt> secondResponse =
+                underTest.sendAsync(getReceipt("0x2"), EthGetTransactionReceipt.class);
+
+        assertNotNull(firstResponse.get());
+        assertNotNull(secondResponse.get());
+
+        underTest.sendAsync(getReceipt("0x3"), EthGetTransactionReceipt.class).get();
+
+        verify(mockDelegate, times(1)).sendBatch(any());
+        verify(mockDelegate, times(3)).sendAsync(any(), eq(EthGetTransactionReceipt.class));
+    }
+
+    private Request<?, EthGetTransactionReceipt> getReceipt(String txHash) {
+        return new Request<>(
+                "eth_getTransactionReceipt",
+                Arrays.asList(txHash),
+                null,
+                EthGetTransactionReceipt.class);
+    }
+
+    private EthGetTransactionReceipt respondTo(Request<?, ?> request) {
+        final EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setId(request.getId());
+
+        return response;
+    }
+}
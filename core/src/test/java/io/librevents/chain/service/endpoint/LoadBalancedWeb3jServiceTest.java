@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.endpoint;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoadBalancedWeb3jServiceTest {
+
+    private static final String BLOCK_HASH = "0x123";
+
+    private LoadBalancedWeb3jService underTest;
+
+    private Web3jService mockPrimary;
+    private Web3jService mockSecondary;
+
+    @BeforeEach
+    void init() throws IOException {
+        mockPrimary = mock(Web3jService.class);
+        mockSecondary = mock(Web3jService.class);
+
+        final EthBlockNumber head = new EthBlockNumber();
+        head.setResult("0x64");
+        when(mockSecondary.send(any(), eq(EthBlockNumber.class))).thenReturn(head);
+
+        underTest =
+                new LoadBalancedWeb3jService(
+                        "test",
+                        "http://primary",
+                        mockPrimary,
+                        Map.of("http://secondary", mockSecondary),
+                        0,
+                        Long.MAX_VALUE);
+        underTest.probeHeads();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        underTest.close();
+    }
+
+    @Test
+    void testRequestsOtherThanReadsGoToThePrimaryEndpoint() throws IOException {
+        final Request<?, EthBlockNumber> request =
+                new Request<>("eth_blockNumber", Arrays.asList(), null, EthBlockNumber.class);
+
+        underTest.send(request, EthBlockNumber.class);
+
+        verify(mockPrimary, times(1)).send(request, EthBlockNumber.class);
+        verify(mockSecondary, never()).send(request, EthBlockNumber.class);
+    }
+
+    @Test
+    void testBlocksBeyondTheHeadOfAnEndpointAreNotReadFromIt() throws IOException {
+        final EthBlock block = createEthBlock(BLOCK_HASH);
+        when(mockPrimary.send(any(), eq(EthBlock.class))).thenReturn(block);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(block, underTest.send(getBlockByNumber(101), EthBlock.class));
+        }
+
+        verify(mockSecondary, never()).send(any(), eq(EthBlock.class));
+    }
+
+    @Test
+    void testMissingResultOfASecondaryEndpointIsReadFromThePrimary() throws IOException {
+        final EthBlock block = createEthBlock(BLOCK_HASH);
+        when(mockPrimary.send(any(), eq(EthBlock.class))).thenReturn(block);
+        when(mockSecondary.send(any(), eq(EthBlock.class))).thenReturn(new EthBlock());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(block, underTest.send(getBlockByNumber(100), EthBlock.class));
+        }
+    }
+
+    @Test
+    void testFailingEndpointIsFailedOver() throws IOException {
+        final EthBlock block = createEthBlock(BLOCK_HASH);
+        when(mockPrimary.send(any(), eq(EthBlock.class))).thenReturn(block);
+        when(mockSecondary.send(any(), eq(EthBlock.class)))
+                .thenThrow(new SocketTimeoutException("timeout"));
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(block, underTest.send(getBlockByNumber(100), EthBlock.class));
+        }
+
+        // The failing endpoint is cooled down after its first failure
+        verify(mockSecondary, atMost(1)).send(any(), eq(EthBlock.class));
+    }
+
+    private Request<?, EthBlock> getBlockByNumber(long number) {
+        return new Request<>(
+                "eth_getBlockByNumber",
+                Arrays.asList(DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), false),
+                null,
+                EthBlock.class);
+    }
+
+    private EthBlock createEthBlock(String hash) {
+        final EthBlock.Block block = new EthBlock.Block();
+        block.setHash(hash);
+
+        final EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+
+        return ethBlock;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.strategy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.librevents.chain.service.domain.Block;
+import io.librevents.service.VirtualThreadAsyncTaskService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BlockStageTest {
+
+    private final BlockStage underTest =
+            new BlockStage("STAGE", "default", new VirtualThreadAsyncTaskService(), 2);
+
+    @Test
+    void testSubmittingToAFullStageWaitsForRoom() throws Exception {
+        final AtomicLong depth = new AtomicLong(0);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Block> processed = new CopyOnWriteArrayList<>();
+        underTest.setDepth(depth);
+
+        final List<Block> blocks = List.of(mock(Block.class), mock(Block.class), mock(Block.class));
+        underTest.submit(blocks.get(0), block -> await(release, processed, block));
+        underTest.submit(blocks.get(1), processed::add);
+
+        final CompletableFuture<Void> thirdSubmitted =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                underTest.submit(blocks.get(2), processed::add);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+
+        assertThrows(TimeoutException.class, () -> thirdSubmitted.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(2, depth.get());
+
+        release.countDown();
+        thirdSubmitted.get(10, TimeUnit.SECONDS);
+        final CountDownLatch drained = new CountDownLatch(1);
+        underTest.submit(mock(Block.class), block -> drained.countDown());
+
+        assertTrue(drained.await(10, TimeUnit.SECONDS));
+        assertEquals(blocks, processed);
+    }
+
+    private void await(CountDownLatch latch, List<Block> processed, Block block) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        processed.add(block);
+    }
+}
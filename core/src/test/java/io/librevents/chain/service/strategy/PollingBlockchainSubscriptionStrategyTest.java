@@ -14,10 +14,15 @@
 
 package io.librevents.chain.service.strategy;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import io.librevents.chain.block.BlockListener;
+import io.librevents.chain.block.PreparingBlockListener;
 import io.librevents.chain.service.HederaService;
 import io.librevents.chain.service.block.BlockNumberService;
 import io.librevents.chain.service.domain.Block;
@@ -25,13 +30,17 @@ import io.librevents.chain.service.domain.wrapper.HederaBlock;
 import io.librevents.chain.settings.NodeType;
 import io.librevents.settings.LibreventsSettings;
 import io.librevents.testutils.DummyAsyncTaskService;
+import io.librevents.utils.ExecutorNameFactory;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.processors.PublishProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.EthBlock;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +52,9 @@ public class PollingBlockchainSubscriptionStrategyTest {
     private static final String BLOCK_HASH =
             "0xc0e07697167c58f2a173df45f5c9b2c46ca0941cdf0bf79616d53dc92f62aebd";
 
+    private static final String TX_HASH =
+            "0x3f2a0c1f3c8e0d7a6a6f0e7d3f0a5b3c2d1e0f9a8b7c6d5e4f3a2b1c0d9e8f7a";
+
     private static final BigInteger BLOCK_NUMBER = BigInteger.valueOf(1);
 
     private static final BigInteger BLOCK_TIMESTAMP = BigInteger.valueOf(12345678);
@@ -102,6 +114,7 @@ public class PollingBlockchainSubscriptionStrategyTest {
                         mockBlockNumberService,
                         mockHederaService,
                         POLLING_INTERVAL);
+        underTest.setFullTransactionObjects(true);
     }
 
     @Test
@@ -192,6 +205,147 @@ public class PollingBlockchainSubscriptionStrategyTest {
         assertEquals(NODE_NAME, block.getNodeName());
     }
 
+    @Test
+    void testMissingBlocksAreProcessedInOrder() {
+        underTest.setCatchUpPrefetchWindow(2);
+        underTest.subscribe();
+        mockBlockListener = mock(BlockListener.class);
+        underTest.addBlockListener(mockBlockListener);
+
+        doAnswer(
+                        invocation -> {
+                            final DefaultBlockParameterNumber blockParam =
+                                    invocation.getArgument(0);
+                            final Request mockRequest = mock(Request.class);
+                            when(mockRequest.send())
+                                    .thenReturn(
+                                            createEthBlock(
+                                                    blockParam.getBlockNumber().intValue()));
+
+                            return mockRequest;
+                        })
+                .when(mockWeb3j)
+                .ethGetBlockByNumber(any(), eq(true));
+
+        blockPublishProcessor.onNext(mockEthBlock);
+        blockPublishProcessor.onNext(createEthBlock(5));
+
+        final ArgumentCaptor<Block> captor = ArgumentCaptor.forClass(Block.class);
+        verify(mockBlockListener, times(5)).onBlock(captor.capture());
+
+        assertEquals(
+                List.of(1L, 2L, 3L, 4L, 5L),
+                captor.getAllValues().stream()
+                        .map(block -> block.getNumber().longValue())
+                        .toList());
+    }
+
+    @Test
+    void testBlocksArePreparedBeforeTheyArePassedToTheListeners() {
+        underTest.subscribe();
+        final PreparingBlockListener mockPreparingListener = mock(PreparingBlockListener.class);
+        underTest.addBlockListener(mockPreparingListener);
+
+        blockPublishProcessor.onNext(mockEthBlock);
+
+        final InOrder inOrder = inOrder(mockPreparingListener);
+        inOrder.verify(mockPreparingListener).prepareBlock(any());
+        inOrder.verify(mockPreparingListener).onBlock(any());
+    }
+
+    @Test
+    void testTransactionsOfHeaderOnlyBlocksAreLoadedOnDemand() throws IOException {
+        underTest.setFullTransactionObjects(false);
+        when(mockWeb3j.replayPastAndFutureBlocksFlowable(any(), eq(false)))
+                .thenReturn(blockPublishProcessor);
+        underTest.subscribe();
+        mockBlockListener = mock(BlockListener.class);
+        underTest.addBlockListener(mockBlockListener);
+
+        final EthBlock.Block headerOnlyBlock = mockEthBlock.getBlock();
+        when(headerOnlyBlock.getTransactions())
+                .thenReturn(List.of(new EthBlock.TransactionHash(TX_HASH)));
+
+        final EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+        transaction.setHash(TX_HASH);
+        transaction.setFrom("0x2250683dbe4e0b90395c3c5d7def87784a2b916c");
+        final EthBlock fullEthBlock = mock(EthBlock.class);
+        final EthBlock.Block fullBlock = mock(EthBlock.Block.class);
+        when(fullBlock.getTransactions()).thenReturn(List.of(transaction));
+        when(fullEthBlock.getBlock()).thenReturn(fullBlock);
+        final Request mockRequest = mock(Request.class);
+        when(mockRequest.send()).thenReturn(fullEthBlock);
+        doReturn(mockRequest).when(mockWeb3j).ethGetBlockByHash(BLOCK_HASH, true);
+
+        blockPublishProcessor.onNext(mockEthBlock);
+
+        final ArgumentCaptor<Block> captor = ArgumentCaptor.forClass(Block.class);
+        verify(mockBlockListener, times(1)).onBlock(captor.capture());
+        verify(mockWeb3j, never()).ethGetBlockByHash(any(), anyBoolean());
+
+        assertEquals(TX_HASH, captor.getValue().getTransactions().getFirst().getHash());
+        verify(mockWeb3j, times(1)).ethGetBlockByHash(BLOCK_HASH, true);
+    }
+
+    @Test
+    void testBlocksOfAFailedSubscriptionAreNotDeliveredAfterResubscribing() {
+        final HoldingDeliveryAsyncTaskService asyncService = new HoldingDeliveryAsyncTaskService();
+        underTest =
+                new PollingBlockSubscriptionStrategy(
+                        mockWeb3j,
+                        NODE_NAME,
+                        NodeType.NORMAL.name(),
+                        asyncService,
+                        mockBlockNumberService,
+                        mockHederaService,
+                        POLLING_INTERVAL);
+        underTest.setFullTransactionObjects(true);
+        underTest.subscribe();
+
+        mockBlockListener = mock(BlockListener.class);
+        doThrow(new RuntimeException("Listener failure"))
+                .doNothing()
+                .when(mockBlockListener)
+                .onBlock(any());
+        underTest.addBlockListener(mockBlockListener);
+
+        blockPublishProcessor.onNext(mockEthBlock);
+        blockPublishProcessor.onNext(createEthBlock(2));
+        blockPublishProcessor.onNext(createEthBlock(3));
+
+        // Block 1 fails while blocks 2 and 3 are still waiting to be delivered
+        asyncService.deliverNext();
+        underTest.unsubscribe();
+        underTest.subscribe();
+        asyncService.deliverAll();
+
+        // The new subscription replays from its start block
+        blockPublishProcessor.onNext(mockEthBlock);
+        asyncService.deliverAll();
+
+        final ArgumentCaptor<Block> captor = ArgumentCaptor.forClass(Block.class);
+        verify(mockBlockListener, times(2)).onBlock(captor.capture());
+
+        assertEquals(
+                List.of(1L, 1L),
+                captor.getAllValues().stream()
+                        .map(block -> block.getNumber().longValue())
+                        .toList());
+    }
+
+    private EthBlock createEthBlock(int number) {
+        final EthBlock ethBlock = mock(EthBlock.class);
+        final EthBlock.Block block = mock(EthBlock.Block.class);
+
+        when(block.getNumber()).thenReturn(BigInteger.valueOf(number));
+        when(block.getHash()).thenReturn("0x" + number);
+        when(block.getParentHash()).thenReturn(number == 2 ? BLOCK_HASH : "0x" + (number - 1));
+        when(block.getTimestamp()).thenReturn(BLOCK_TIMESTAMP);
+        when(ethBlock.getBlock()).thenReturn(block);
+
+        return ethBlock;
+    }
+
     private Block doRegisterBlockListenerAndTrigger() {
 
         mockBlockListener = mock(BlockListener.class);
@@ -210,4 +364,29 @@ public class PollingBlockchainSubscriptionStrategyTest {
 
         return captor.getValue();
     }
+
+    /** Runs every task at once, except the deliveries of blocks, which wait to be released. */
+    private static class HoldingDeliveryAsyncTaskService extends DummyAsyncTaskService {
+
+        private final Deque<Runnable> deliveries = new ArrayDeque<>();
+
+        @Override
+        public void execute(String executorName, Runnable task) {
+            if (executorName.equals(ExecutorNameFactory.build("BLOCK", NODE_NAME))) {
+                deliveries.add(task);
+            } else {
+                task.run();
+            }
+        }
+
+        void deliverNext() {
+            deliveries.remove().run();
+        }
+
+        void deliverAll() {
+            while (!deliveries.isEmpty()) {
+                deliverNext();
+            }
+        }
+    }
 }
@@ -104,6 +104,7 @@ class PubSubBlockchainSubscriptionStrategyTest {
                         NodeType.NORMAL.getNodeName(),
                         new DummyAsyncTaskService(),
                         mockBlockNumberService);
+        underTest.setFullTransactionObjects(true);
     }
 
     @Test
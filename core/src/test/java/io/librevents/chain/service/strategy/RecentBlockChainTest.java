@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.chain.service.strategy;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import io.librevents.chain.service.domain.wrapper.Web3jBlock;
+import io.librevents.model.RecentBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentBlockChainTest {
+
+    private static final String NODE_NAME = "default";
+
+    private RecentBlockChain underTest;
+
+    @BeforeEach
+    void init() {
+        underTest = new RecentBlockChain(4);
+    }
+
+    @Test
+    void testExtendingTheChainOrphansNothing() {
+        assertTrue(add(1, "0x1", "0x0").isEmpty());
+        assertTrue(add(2, "0x2", "0x1").isEmpty());
+        assertTrue(add(2, "0x2", "0x1").isEmpty());
+    }
+
+    @Test
+    void testReplacedBlockAtTheSameHeightIsOrphaned() {
+        add(1, "0x1", "0x0");
+        add(2, "0x2", "0x1");
+
+        assertEquals(List.of("0x2"), hashes(add(2, "0x2b", "0x1")));
+    }
+
+    @Test
+    void testParentMismatchWalksBackToTheCommonAncestor() {
+        add(1, "0x1", "0x0");
+        add(2, "0x2", "0x1");
+        add(3, "0x3", "0x2");
+
+        final Map<String, RecentBlock> newChain =
+                Map.of(
+                        "0x3b", new RecentBlock(BigInteger.valueOf(3), "0x3b", "0x2b"),
+                        "0x2b", new RecentBlock(BigInteger.valueOf(2), "0x2b", "0x1"));
+
+        final List<RecentBlock> orphaned =
+                underTest.add(createBlock(4, "0x4b", "0x3b"), newChain::get);
+
+        assertEquals(List.of("0x3", "0x2"), hashes(orphaned));
+        assertEquals(
+                List.of("0x1", "0x2b", "0x3b", "0x4b"), hashes(underTest.getBlocks()));
+    }
+
+    @Test
+    void testChainIsBounded() {
+        for (int i = 1; i <= 6; i++) {
+            add(i, "0x" + i, "0x" + (i - 1));
+        }
+
+        assertEquals(List.of("0x3", "0x4", "0x5", "0x6"), hashes(underTest.getBlocks()));
+    }
+
+    @Test
+    void testRestoreOrdersTheBlocksByNumber() {
+        underTest.restore(
+                List.of(
+                        new RecentBlock(BigInteger.valueOf(3), "0x3", "0x2"),
+                        new RecentBlock(BigInteger.valueOf(1), "0x1", "0x0"),
+                        new RecentBlock(BigInteger.valueOf(2), "0x2", "0x1")));
+
+        assertTrue(add(4, "0x4", "0x3").isEmpty());
+        assertEquals(List.of("0x1", "0x2", "0x3", "0x4"), hashes(underTest.getBlocks()));
+    }
+
+    private List<RecentBlock> add(int number, String hash, String parentHash) {
+        return underTest.add(createBlock(number, hash, parentHash), blockHash -> null);
+    }
+
+    private List<String> hashes(List<RecentBlock> blocks) {
+        return blocks.stream().map(RecentBlock::getHash).toList();
+    }
+
+    private Web3jBlock createBlock(int number, String hash, String parentHash) {
+        final Web3jBlock block =
+                new Web3jBlock(BigInteger.valueOf(number), hash, BigInteger.ZERO, NODE_NAME);
+        block.setParentHash(parentHash);
+
+        return block;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Collections;
 
 import io.librevents.chain.block.BlockListener;
+import io.librevents.chain.contract.BloomFilterIndex;
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.service.BlockchainService;
 import io.librevents.chain.service.container.ChainServicesContainer;
@@ -108,7 +109,8 @@ class DefaultSubscriptionServiceTest {
                         Arrays.asList(mockBlockListener1, mockBlockListener2),
                         Arrays.asList(mockEventListener1, mockEventListener2),
                         mockRetryTemplate,
-                        mockEventSyncService);
+                        mockEventSyncService,
+                        new BloomFilterIndex());
     }
 
     @Test
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadAsyncTaskServiceTest {
+
+    private final VirtualThreadAsyncTaskService underTest = new VirtualThreadAsyncTaskService();
+
+    @Test
+    void testTasksOfTheSameNameRunInOrder() throws Exception {
+        final List<Integer> executed = new CopyOnWriteArrayList<>();
+
+        IntStream.range(0, 1000)
+                .forEach(i -> underTest.execute("BLOCK-NODE", () -> executed.add(i)));
+
+        underTest.submit("BLOCK-NODE", () -> true).get(10, TimeUnit.SECONDS);
+
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), executed);
+    }
+
+    @Test
+    void testTasksOfDifferentNamesOverlap() throws Exception {
+        final CountDownLatch bothRunning = new CountDownLatch(2);
+
+        final Runnable task =
+                () -> {
+                    bothRunning.countDown();
+                    try {
+                        bothRunning.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                };
+
+        underTest
+                .executeWithCompletableFuture("BLOCK-NODE", task)
+                .runAfterBoth(underTest.executeWithCompletableFuture("EVENT-NODE", task), () -> {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopTheQueue() throws Exception {
+        underTest.execute(
+                "EVENT-NODE",
+                () -> {
+                    throw new IllegalStateException("failed");
+                });
+
+        assertTrue(underTest.submit("EVENT-NODE", () -> true).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTaskThrowingAnErrorDoesNotStopTheQueue() throws Exception {
+        underTest.execute(
+                "BLOCK-NODE",
+                () -> {
+                    throw new AssertionError("failed");
+                });
+
+        assertTrue(underTest.submit("BLOCK-NODE", () -> true).get(10, TimeUnit.SECONDS));
+    }
+}
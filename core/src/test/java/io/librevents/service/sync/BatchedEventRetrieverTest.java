@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.service.sync;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.librevents.chain.service.BlockchainService;
+import io.librevents.chain.service.container.ChainServicesContainer;
+import io.librevents.chain.service.container.NodeServices;
+import io.librevents.chain.settings.Node;
+import io.librevents.chain.settings.NodeSettings;
+import io.librevents.constant.Constants;
+import io.librevents.dto.event.ContractEventDetails;
+import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.monitoring.MicrometerValueMonitor;
+import io.librevents.service.VirtualThreadAsyncTaskService;
+import io.librevents.settings.LibreventsSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class BatchedEventRetrieverTest {
+
+    private BatchedEventRetriever underTest;
+
+    private BlockchainService mockBlockchainService;
+
+    private ContractEventFilter filter;
+
+    @BeforeEach
+    void init() {
+        mockBlockchainService = mock(BlockchainService.class);
+
+        final ChainServicesContainer mockChainServicesContainer =
+                mock(ChainServicesContainer.class);
+        final NodeServices mockNodeServices = mock(NodeServices.class);
+        final NodeSettings mockNodeSettings = mock(NodeSettings.class);
+
+        when(mockChainServicesContainer.getNodeServices(Constants.DEFAULT_NODE_NAME))
+                .thenReturn(mockNodeServices);
+        when(mockNodeServices.getBlockchainService()).thenReturn(mockBlockchainService);
+
+        final Node node = new Node();
+        node.setSyncConcurrency(3);
+        when(mockNodeSettings.getNode(Constants.DEFAULT_NODE_NAME)).thenReturn(node);
+
+        filter = new ContractEventFilter();
+        filter.setId("filter");
+        filter.setNode(Constants.DEFAULT_NODE_NAME);
+
+        underTest =
+                new BatchedEventRetriever(
+                        mockChainServicesContainer,
+                        new LibreventsSettings(false, "10", 4, 1000, 10),
+                        mockNodeSettings,
+                        new MicrometerValueMonitor(new SimpleMeterRegistry()),
+                        new VirtualThreadAsyncTaskService());
+    }
+
+    @Test
+    void testChunksAreConsumedInBlockOrder() {
+        when(mockBlockchainService.retrieveEvents(eq(filter), any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            final BigInteger start = invocation.getArgument(1);
+
+                            // The first chunk completes last
+                            if (start.signum() == 0) {
+                                Thread.sleep(200);
+                            }
+
+                            return List.of(createEvent(start));
+                        });
+
+        final List<BigInteger> consumed = new ArrayList<>();
+
+        underTest.retrieveEvents(
+                List.of(filter),
+                BigInteger.ZERO,
+                BigInteger.valueOf(35),
+                (events, batchEndBlock) ->
+                        events.forEach(event -> consumed.add(event.getBlockNumber())));
+
+        assertEquals(
+                List.of(
+                        BigInteger.ZERO,
+                        BigInteger.valueOf(11),
+                        BigInteger.valueOf(22),
+                        BigInteger.valueOf(33)),
+                consumed);
+        verify(mockBlockchainService)
+                .retrieveEvents(filter, BigInteger.valueOf(33), BigInteger.valueOf(35));
+    }
+
+    @Test
+    void testChunkFailureIsRethrown() {
+        when(mockBlockchainService.retrieveEvents(eq(filter), any(), any()))
+                .thenThrow(new IllegalStateException("node down"));
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        underTest.retrieveEvents(
+                                List.of(filter),
+                                BigInteger.ZERO,
+                                BigInteger.valueOf(35),
+                                (events, batchEndBlock) -> {}));
+    }
+
+    private ContractEventDetails createEvent(BigInteger blockNumber) {
+        final ContractEventDetails event = new ContractEventDetails();
+        event.setBlockNumber(blockNumber);
+
+        return event;
+    }
+}
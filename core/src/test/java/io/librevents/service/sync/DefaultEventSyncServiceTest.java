@@ -0,0 +1,227 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.librevents.service.sync;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import io.librevents.chain.contract.ContractEventProcessor;
+import io.librevents.chain.service.block.BlockNumberService;
+import io.librevents.dto.event.ContractEventDetails;
+import io.librevents.dto.event.filter.ContractEventFilter;
+import io.librevents.model.EventFilterSyncStatus;
+import io.librevents.model.SyncStatus;
+import io.librevents.repository.EventFilterSyncStatusRepository;
+import io.librevents.service.VirtualThreadAsyncTaskService;
+import io.librevents.settings.LibreventsSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class DefaultEventSyncServiceTest {
+
+    private static final String FILTER_ID = "filter";
+
+    private DefaultEventSyncService underTest;
+
+    private EventRetriever mockEventRetriever;
+
+    private EventFilterSyncStatusRepository mockSyncStatusRepository;
+
+    private ContractEventProcessor mockContractEventProcessor;
+
+    private List<String> savedStatuses;
+
+    @BeforeEach
+    void init() {
+        final BlockNumberService mockBlockNumberService = mock(BlockNumberService.class);
+        mockEventRetriever = mock(EventRetriever.class);
+        mockSyncStatusRepository = mock(EventFilterSyncStatusRepository.class);
+        mockContractEventProcessor = mock(ContractEventProcessor.class);
+        savedStatuses = new ArrayList<>();
+
+        when(mockBlockNumberService.getStartBlockForNode(any()))
+                .thenReturn(BigInteger.valueOf(200));
+        when(mockSyncStatusRepository.findById(FILTER_ID)).thenReturn(Optional.empty());
+        // The same status instance is saved every time, so record what it held
+        when(mockSyncStatusRepository.save(any()))
+                .thenAnswer(
+                        invocation -> {
+                            final EventFilterSyncStatus status = invocation.getArgument(0);
+                            savedStatuses.add(
+                                    status.getLastBlockNumber() + ":" + status.getSyncStatus());
+                            return status;
+                        });
+
+        underTest =
+                new DefaultEventSyncService(
+                        mockBlockNumberService,
+                        mockEventRetriever,
+                        mockSyncStatusRepository,
+                        mockContractEventProcessor,
+                        new RetryTemplate(),
+                        new VirtualThreadAsyncTaskService(),
+                        new LibreventsSettings(false, "100000", 1, 2, 3600));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStatusIsCheckpointedPerBatchAndEveryNEvents() {
+        doAnswer(
+                        invocation -> {
+                            final BiConsumer<List<ContractEventDetails>, BigInteger> consumer =
+                                    invocation.getArgument(3);
+
+                            consumer.accept(
+                                    List.of(
+                                            createEvent(FILTER_ID, 10),
+                                            createEvent(FILTER_ID, 20),
+                                            createEvent(FILTER_ID, 30)),
+                                    BigInteger.valueOf(100));
+                            consumer.accept(List.of(), BigInteger.valueOf(200));
+                            return null;
+                        })
+                .when(mockEventRetriever)
+                .retrieveEvents(any(), any(), any(), any());
+
+        underTest.sync(List.of(createFilter(FILTER_ID, BigInteger.ONE)));
+
+        verify(mockContractEventProcessor, times(3)).processContractEvent(any());
+        verify(mockSyncStatusRepository, times(1)).findById(FILTER_ID);
+        assertEquals(
+                List.of(
+                        "19:" + SyncStatus.NOT_SYNCED,
+                        "100:" + SyncStatus.NOT_SYNCED,
+                        "200:" + SyncStatus.NOT_SYNCED,
+                        "200:" + SyncStatus.SYNCED),
+                savedStatuses);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncResumesAfterTheLastFullyProcessedBlock() {
+        final Map<String, EventFilterSyncStatus> storedStatuses = new HashMap<>();
+        when(mockSyncStatusRepository.save(any()))
+                .thenAnswer(
+                        invocation -> {
+                            final EventFilterSyncStatus status = invocation.getArgument(0);
+                            storedStatuses.put(
+                                    status.getFilterId(),
+                                    new EventFilterSyncStatus(
+                                            status.getFilterId(),
+                                            status.getLastBlockNumber(),
+                                            status.getSyncStatus()));
+                            return status;
+                        });
+        when(mockSyncStatusRepository.findById(FILTER_ID))
+                .thenAnswer(invocation -> Optional.ofNullable(storedStatuses.get(FILTER_ID)));
+
+        final ContractEventDetails firstEvent = createEvent(FILTER_ID, 10);
+        final ContractEventDetails secondEvent = createEvent(FILTER_ID, 20);
+        final ContractEventDetails laterEvent = createEvent(FILTER_ID, 150);
+
+        doAnswer(
+                        invocation -> {
+                            final BiConsumer<List<ContractEventDetails>, BigInteger> consumer =
+                                    invocation.getArgument(3);
+
+                            consumer.accept(
+                                    List.of(firstEvent, secondEvent), BigInteger.valueOf(100));
+                            throw new IllegalStateException("Node went away");
+                        })
+                .doAnswer(
+                        invocation -> {
+                            final BiConsumer<List<ContractEventDetails>, BigInteger> consumer =
+                                    invocation.getArgument(3);
+
+                            consumer.accept(List.of(laterEvent), BigInteger.valueOf(200));
+                            return null;
+                        })
+                .when(mockEventRetriever)
+                .retrieveEvents(any(), any(), any(), any());
+
+        // The failed attempt is retried from the stored status, as it would be after a restart
+        underTest.sync(List.of(createFilter(FILTER_ID, BigInteger.ONE)));
+
+        verify(mockEventRetriever)
+                .retrieveEvents(
+                        any(), eq(BigInteger.valueOf(101)), eq(BigInteger.valueOf(200)), any());
+        verify(mockContractEventProcessor, times(1)).processContractEvent(firstEvent);
+        verify(mockContractEventProcessor, times(1)).processContractEvent(secondEvent);
+        verify(mockContractEventProcessor, times(1)).processContractEvent(laterEvent);
+        assertEquals(SyncStatus.SYNCED, storedStatuses.get(FILTER_ID).getSyncStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFiltersOfTheSameContractAreSyncedTogether() {
+        final ContractEventFilter filter = createFilter(FILTER_ID, BigInteger.ONE);
+        final ContractEventFilter laterFilter = createFilter("later", BigInteger.valueOf(50));
+        final ContractEventDetails event = createEvent(FILTER_ID, 10);
+        final ContractEventDetails eventBeforeStart = createEvent("later", 20);
+        final ContractEventDetails laterEvent = createEvent("later", 60);
+
+        doAnswer(
+                        invocation -> {
+                            final BiConsumer<List<ContractEventDetails>, BigInteger> consumer =
+                                    invocation.getArgument(3);
+
+                            consumer.accept(
+                                    List.of(event, eventBeforeStart, laterEvent),
+                                    BigInteger.valueOf(200));
+                            return null;
+                        })
+                .when(mockEventRetriever)
+                .retrieveEvents(any(), any(), any(), any());
+
+        underTest.sync(List.of(filter, laterFilter));
+
+        verify(mockEventRetriever, times(1))
+                .retrieveEvents(
+                        eq(List.of(filter, laterFilter)),
+                        eq(BigInteger.ONE),
+                        eq(BigInteger.valueOf(200)),
+                        any());
+        verify(mockContractEventProcessor).processContractEvent(event);
+        verify(mockContractEventProcessor).processContractEvent(laterEvent);
+        verify(mockContractEventProcessor, never()).processContractEvent(eventBeforeStart);
+    }
+
+    private ContractEventFilter createFilter(String id, BigInteger startBlock) {
+        final ContractEventFilter filter = new ContractEventFilter();
+        filter.setId(id);
+        filter.setNode("default");
+        filter.setContractAddress("0xabc");
+        filter.setStartBlock(startBlock);
+
+        return filter;
+    }
+
+    private ContractEventDetails createEvent(String filterId, long blockNumber) {
+        final ContractEventDetails event = new ContractEventDetails();
+        event.setFilterId(filterId);
+        event.setBlockNumber(BigInteger.valueOf(blockNumber));
+
+        return event;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.web3j.protocol.http;
+
+import java.math.BigInteger;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LibreventsHttpServiceTest {
+
+    private static final String LOGS_RESPONSE =
+            """
+            {"jsonrpc":"2.0","id":1,"result":[
+            {"address":"0xabc","blockNumber":"0x1","logIndex":"0x0","topics":[]},
+            {"address":"0xabc","blockNumber":"0x2","logIndex":"0x0","topics":[]}]}
+            """;
+
+    private WireMockServer wireMockServer;
+
+    private Web3j web3j;
+
+    @BeforeEach
+    void init() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+
+        web3j =
+                Web3j.build(
+                        new LibreventsHttpService(wireMockServer.baseUrl(), new OkHttpClient()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        web3j.shutdown();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testResponseIsParsedAndRequestedCompressed() throws Exception {
+        wireMockServer.stubFor(post(anyUrl()).willReturn(okJson(LOGS_RESPONSE)));
+
+        final EthLog ethLog = web3j.ethGetLogs(createFilter()).send();
+
+        assertEquals(2, ethLog.getLogs().size());
+        wireMockServer.verify(
+                postRequestedFor(anyUrl()).withHeader("Accept-Encoding", containing("gzip")));
+    }
+
+    @Test
+    void testUnsuccessfulResponseIsAConnectionError() {
+        wireMockServer.stubFor(
+                post(anyUrl()).willReturn(aResponse().withStatus(429).withBody("rate limited")));
+
+        final ClientConnectionException error =
+                assertThrows(
+                        ClientConnectionException.class,
+                        () -> web3j.ethGetLogs(createFilter()).send());
+
+        assertTrue(error.getMessage().contains("429"));
+    }
+
+    private EthFilter createFilter() {
+        return new EthFilter(
+                DefaultBlockParameter.valueOf(BigInteger.ONE),
+                DefaultBlockParameter.valueOf(BigInteger.TWO),
+                "0xabc");
+    }
+}
@@ -3,6 +3,7 @@ package io.librevents.privacy.chain.block.tx;
 import java.util.List;
 import java.util.Optional;
 
+import io.librevents.chain.block.ConfirmationScheduler;
 import io.librevents.chain.block.tx.DefaultTransactionMonitoringBlockListener;
 import io.librevents.chain.block.tx.criteria.TransactionMatchingCriteria;
 import io.librevents.chain.factory.TransactionDetailsFactory;
@@ -35,13 +36,15 @@ public class EeaTransactionMonitoringBlockListener
             BlockchainEventBroadcaster broadcaster,
             TransactionDetailsFactory transactionDetailsFactory,
             BlockCache blockCache,
-            NodeSettings nodeSettings) {
+            NodeSettings nodeSettings,
+            ConfirmationScheduler confirmationScheduler) {
         super(
                 chainServicesContainer,
                 broadcaster,
                 transactionDetailsFactory,
                 blockCache,
-                nodeSettings);
+                nodeSettings,
+                confirmationScheduler);
         this.nodeSettings = nodeSettings;
         this.chainServicesContainer = chainServicesContainer;
         this.transactionDetailsFactory = transactionDetailsFactory;
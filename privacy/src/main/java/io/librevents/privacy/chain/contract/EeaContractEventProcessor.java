@@ -3,6 +3,7 @@ package io.librevents.privacy.chain.contract;
 import java.util.List;
 import java.util.Objects;
 
+import io.librevents.chain.contract.BloomFilterIndex;
 import io.librevents.chain.contract.ContractEventListener;
 import io.librevents.chain.contract.DefaultContractEventProcessor;
 import io.librevents.chain.service.BlockchainService;
@@ -10,6 +11,7 @@ import io.librevents.chain.service.container.ChainServicesContainer;
 import io.librevents.chain.service.container.NodeServices;
 import io.librevents.chain.service.domain.Block;
 import io.librevents.chain.service.domain.TransactionReceipt;
+import io.librevents.chain.settings.NodeSettings;
 import io.librevents.chain.settings.NodeType;
 import io.librevents.dto.event.filter.ContractEventFilter;
 import io.librevents.privacy.chain.service.Web3JEeaService;
@@ -29,8 +31,15 @@ public class EeaContractEventProcessor extends DefaultContractEventProcessor {
     public EeaContractEventProcessor(
             ChainServicesContainer chainServices,
             AsyncTaskService asyncTaskService,
-            List<ContractEventListener> contractEventListeners) {
-        super(chainServices, asyncTaskService, contractEventListeners);
+            List<ContractEventListener> contractEventListeners,
+            NodeSettings nodeSettings,
+            BloomFilterIndex bloomFilterIndex) {
+        super(
+                chainServices,
+                asyncTaskService,
+                contractEventListeners,
+                nodeSettings,
+                bloomFilterIndex);
         this.asyncTaskService = asyncTaskService;
     }
 
@@ -55,6 +64,11 @@ public class EeaContractEventProcessor extends DefaultContractEventProcessor {
                 .join();
     }
 
+    @Override
+    public void prepareLogsInBlock(Block block, List<ContractEventFilter> contractEventFilters) {
+        // Private transaction logs are matched and decoded when the block is processed
+    }
+
     private void processLogsInNormalNodeBlock(
             Block block, List<ContractEventFilter> contractEventFilters) {
         final BlockchainService blockchainService = getBlockchainService(block.getNodeName());
@@ -86,12 +100,6 @@ public class EeaContractEventProcessor extends DefaultContractEventProcessor {
     private void processWeb3LogsForFilter(
             ContractEventFilter filter, Block block, BlockchainService blockchainService) {
 
-        blockchainService
-                .getEventsForFilter(filter, block.getNumber())
-                .forEach(
-                        event -> {
-                            event.setTimestamp(block.getTimestamp());
-                            super.triggerListeners(event);
-                        });
+        blockchainService.getEventsForFilter(filter, block).forEach(super::triggerListeners);
     }
 }
@@ -2,7 +2,6 @@ package io.librevents.privacy.chain.service;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,11 +9,11 @@ import io.librevents.chain.factory.ContractEventDetailsFactory;
 import io.librevents.chain.service.BlockchainException;
 import io.librevents.chain.service.Web3jService;
 import io.librevents.chain.service.block.EventBlockManagementService;
+import io.librevents.chain.service.block.TransactionReceiptCache;
 import io.librevents.chain.service.domain.Transaction;
 import io.librevents.chain.service.domain.TransactionReceipt;
 import io.librevents.chain.service.domain.wrapper.Web3jTransactionReceipt;
 import io.librevents.chain.settings.NodeSettings;
-import io.librevents.dto.event.ContractEventDetails;
 import io.librevents.dto.event.filter.ContractEventFilter;
 import io.librevents.privacy.chain.model.PrivacyConfFilter;
 import io.librevents.privacy.chain.model.PrivacyConfNode;
@@ -28,9 +27,7 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.besu.Besu;
 import org.web3j.protocol.besu.response.privacy.PrivGetPrivateTransaction;
 import org.web3j.protocol.besu.response.privacy.PrivGetTransactionReceipt;
-import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.methods.request.EthFilter;
-import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.utils.Async;
@@ -39,7 +36,6 @@ import org.web3j.utils.Async;
 public class Web3JEeaService extends Web3jService {
 
     private final Web3j web3j;
-    private final ContractEventDetailsFactory eventDetailsFactory;
     private final NodeSettings nodeSettings;
     private PrivacyConfNode privacyConf;
     private Besu web3JEea;
@@ -51,11 +47,18 @@ public class Web3JEeaService extends Web3jService {
             ContractEventDetailsFactory eventDetailsFactory,
             AsyncTaskService asyncTaskService,
             EventBlockManagementService blockManagement,
+            TransactionReceiptCache receiptCache,
             NodeSettings nodeSettings) {
 
-        super(nodeName, web3j, eventDetailsFactory, asyncTaskService, blockManagement);
+        super(
+                nodeName,
+                web3j,
+                eventDetailsFactory,
+                asyncTaskService,
+                blockManagement,
+                receiptCache,
+                nodeSettings);
         this.web3j = web3j;
-        this.eventDetailsFactory = eventDetailsFactory;
         this.nodeSettings = nodeSettings;
     }
 
@@ -72,8 +75,7 @@ public class Web3JEeaService extends Web3jService {
     }
 
     @Override
-    protected List<ContractEventDetails> extractEventDetailsFromLogs(
-            EthFilter ethFilter, ContractEventFilter eventFilter, BigInteger blockNumber)
+    protected List<Log> getLogs(EthFilter ethFilter, ContractEventFilter eventFilter)
             throws IOException {
 
         PrivacyConfFilter privateData =
@@ -82,22 +84,10 @@ public class Web3JEeaService extends Web3jService {
         if (privateData != null && privateData.isEnabled() && isPrivacyEnabled()) {
             final EthLog logs =
                     web3JEea.privGetLogs(privateData.getPrivacyGroupID(), ethFilter).send();
-            DefaultBlockParameterNumber blockParameterNumber =
-                    new DefaultBlockParameterNumber(blockNumber);
-            EthBlock ethBlock = this.web3j.ethGetBlockByNumber(blockParameterNumber, false).send();
-            return logs.getLogs().stream()
-                    .map(
-                            logResult ->
-                                    eventDetailsFactory.createEventDetails(
-                                            eventFilter,
-                                            (Log) logResult.get(),
-                                            ethBlock,
-                                            getTransactionReceipt(
-                                                    ((Log) logResult.get()).getTransactionHash())))
-                    .toList();
+            return logs.getLogs().stream().map(logResult -> (Log) logResult.get()).toList();
         }
 
-        return super.extractEventDetailsFromLogs(ethFilter, eventFilter, blockNumber);
+        return super.getLogs(ethFilter, eventFilter);
     }
 
     /** {inheritDoc} */